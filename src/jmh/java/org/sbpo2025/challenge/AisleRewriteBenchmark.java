@@ -0,0 +1,66 @@
+package org.sbpo2025.challenge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Etapas que reescrevem A (capacidades, corredores repetidos, pré-processamento completo).
+// Cada chamada recebe uma cópia nova de A, preparada fora da medição.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class AisleRewriteBenchmark {
+
+    @Param({"instance_0001.txt", "instance_0002.txt", "instance_0003.txt", "instance_0004.txt",
+            "instance_0005.txt", "instance_0006.txt", "instance_0007.txt", "instance_0008.txt",
+            "instance_0009.txt", "instance_0010.txt", "instance_0011.txt", "instance_0012.txt",
+            "instance_0013.txt", "instance_0014.txt", "instance_0015.txt", "instance_0016.txt",
+            "instance_0017.txt", "instance_0018.txt", "instance_0019.txt", "instance_0020.txt"})
+    public String instancia;
+
+    private BenchmarkData dados;
+    private List<List<List<Integer>>> corredores;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dados = new BenchmarkData(instancia);
+    }
+
+    @Setup(Level.Invocation)
+    public void copiarCorredores() {
+        corredores = dados.corredoresAntesDoPreprocessamento();
+    }
+
+    @Benchmark
+    public Object limitarCapacidades() {
+        Preprocessing.limitarCapacidades(corredores, dados.Ia, dados.d);
+        return corredores;
+    }
+
+    @Benchmark
+    public Object removerCorredoresRepetidos() {
+        Preprocessing.removerCorredoresRepetidos(corredores);
+        return corredores;
+    }
+
+    @Benchmark
+    public Object preprocessamentoCompleto() {
+        Preprocessing.removerCorredoresRepetidos(corredores);
+        return Preprocessing.preprocessar(dados.NO, dados.NI, dados.NA, dados.O, corredores, dados.Io, dados.d);
+    }
+}
@@ -0,0 +1,74 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Instância lida e pré-processada como no ChallengeSolver.solve, para os benchmarks.
+// Diretórios: -Dsbpo.datasets (padrão datasets/a) e -Dsbpo.resultados (padrão Resultados).
+class BenchmarkData {
+
+    final Challenge challenge;
+    final int NO, NI, NA, LB, UB;
+    final List<List<List<Integer>>> O;
+    final List<List<List<Integer>>> A;
+    final List<List<Integer>> Io;
+    final List<List<Integer>> Ia;
+    final int[] F;
+    final int[] d;
+    final ChallengeSolver.PreprocessingResult pre;
+
+    BenchmarkData(String instancia) {
+        challenge = new Challenge();
+        challenge.readInput(caminhoInstancia(instancia));
+        NI = challenge.getnItems();
+        LB = challenge.getWaveSizeLB();
+        UB = challenge.getWaveSizeUB();
+        O = Preprocessing.converterPares(challenge.getOrders());
+        NO = O.size();
+        Io = Preprocessing.buildIo(O, NI);
+        A = Preprocessing.converterPares(challenge.getAisles());
+        NA = A.size();
+        Ia = Preprocessing.buildIa(A, NI);
+        F = Preprocessing.calcularF(O);
+        d = Preprocessing.calcularDemanda(O, Io, NI);
+        Preprocessing.limitarCapacidades(A, Ia, d);
+        Preprocessing.removerCorredoresRepetidos(A);
+        pre = Preprocessing.preprocessar(NO, NI, NA, O, A, Io, d);
+    }
+
+    // Corredores capados e sem repetidos, mas antes do pré-processamento (cópia nova a cada chamada)
+    List<List<List<Integer>>> corredoresAntesDoPreprocessamento() {
+        List<List<List<Integer>>> copia = Preprocessing.converterPares(challenge.getAisles());
+        Preprocessing.limitarCapacidades(copia, Ia, d);
+        return copia;
+    }
+
+    // Solução gravada em Resultados/solutionN.txt para a instância instance_000N.txt
+    ChallengeSolution solucaoGravada(String instancia) throws IOException {
+        int n = Integer.parseInt(instancia.replaceAll("\\D", ""));
+        String caminho = Paths.get(System.getProperty("sbpo.resultados", "Resultados"), "solution" + n + ".txt").toString();
+        try (BufferedReader reader = new BufferedReader(new FileReader(caminho))) {
+            Set<Integer> pedidos = lerIndices(reader);
+            Set<Integer> corredores = lerIndices(reader);
+            return new ChallengeSolution(pedidos, corredores);
+        }
+    }
+
+    static String caminhoInstancia(String instancia) {
+        return Paths.get(System.getProperty("sbpo.datasets", "datasets/a"), instancia).toString();
+    }
+
+    private static Set<Integer> lerIndices(BufferedReader reader) throws IOException {
+        int n = Integer.parseInt(reader.readLine().trim());
+        Set<Integer> indices = new HashSet<>();
+        for (int k = 0; k < n; k++) {
+            indices.add(Integer.parseInt(reader.readLine().trim()));
+        }
+        return indices;
+    }
+}
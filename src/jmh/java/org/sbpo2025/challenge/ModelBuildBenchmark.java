@@ -0,0 +1,58 @@
+package org.sbpo2025.challenge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Construção do modelo do runModel (WaveModel) sem resolver, com o CI da primeira fase
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ModelBuildBenchmark {
+
+    @Param({"instance_0001.txt", "instance_0002.txt", "instance_0003.txt", "instance_0004.txt",
+            "instance_0005.txt", "instance_0006.txt", "instance_0007.txt", "instance_0008.txt",
+            "instance_0009.txt", "instance_0010.txt", "instance_0011.txt", "instance_0012.txt",
+            "instance_0013.txt", "instance_0014.txt", "instance_0015.txt", "instance_0016.txt",
+            "instance_0017.txt", "instance_0018.txt", "instance_0019.txt", "instance_0020.txt"})
+    public String instancia;
+
+    @Param({"1", "5"})
+    public int L;
+
+    private BenchmarkData dados;
+    private List<Integer> CI;
+    private List<Integer> ITEM_N;
+    private Set<Integer> O_N;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dados = new BenchmarkData(instancia);
+        CI = ChallengeSolver.menoresIndices(dados.pre.CAP, 0.8);
+        CI.addAll(dados.pre.aux);
+        ITEM_N = Preprocessing.calcularItemN(dados.Ia, CI);
+        O_N = Preprocessing.calcularON(dados.Io, ITEM_N);
+    }
+
+    @Benchmark
+    public WaveModel construirModelo() {
+        return WaveModel.construir(0, dados.LB, dados.UB, dados.NO, dados.NA, dados.NI, Math.min(L, dados.NA),
+            dados.F, dados.pre.A, dados.Ia, dados.O, dados.Io, CI, dados.pre.G, dados.pre.fff, ITEM_N, O_N);
+    }
+}
@@ -0,0 +1,100 @@
+package org.sbpo2025.challenge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Etapas do pré-processamento que não alteram A, cada uma sobre as entradas já calculadas
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PreprocessingBenchmark {
+
+    @Param({"instance_0001.txt", "instance_0002.txt", "instance_0003.txt", "instance_0004.txt",
+            "instance_0005.txt", "instance_0006.txt", "instance_0007.txt", "instance_0008.txt",
+            "instance_0009.txt", "instance_0010.txt", "instance_0011.txt", "instance_0012.txt",
+            "instance_0013.txt", "instance_0014.txt", "instance_0015.txt", "instance_0016.txt",
+            "instance_0017.txt", "instance_0018.txt", "instance_0019.txt", "instance_0020.txt"})
+    public String instancia;
+
+    private BenchmarkData dados;
+    private List<List<List<Integer>>> corredores;  // A antes dos Passos 1-4
+    private List<CompressedBitmap> ITEM_A;
+    private List<CompressedBitmap> ITEM_B;
+    private List<List<Integer>> IaValidos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dados = new BenchmarkData(instancia);
+        corredores = dados.corredoresAntesDoPreprocessamento();
+        Preprocessing.removerCorredoresRepetidos(corredores);
+        ITEM_A = Preprocessing.calcularItemA(corredores, dados.d);
+        ITEM_B = Preprocessing.calcularItemB(corredores);
+        IaValidos = Preprocessing.recalcularIa(dados.pre.A, dados.NI);
+    }
+
+    @Benchmark
+    public Object buildIo() {
+        return Preprocessing.buildIo(dados.O, dados.NI);
+    }
+
+    @Benchmark
+    public Object buildIa() {
+        return Preprocessing.buildIa(corredores, dados.NI);
+    }
+
+    @Benchmark
+    public Object demandaF() {
+        return new Object[] { Preprocessing.calcularF(dados.O), Preprocessing.calcularDemanda(dados.O, dados.Io, dados.NI) };
+    }
+
+    @Benchmark
+    public Object itemAB() {
+        return new Object[] { Preprocessing.calcularItemA(corredores, dados.d), Preprocessing.calcularItemB(corredores) };
+    }
+
+    @Benchmark
+    public Object dom() {
+        return Preprocessing.calcularDOM(ITEM_A, ITEM_B);
+    }
+
+    @Benchmark
+    public Object itemO() {
+        return Preprocessing.calcularItemO(dados.O);
+    }
+
+    @Benchmark
+    public Object fff() {
+        return Preprocessing.calcularFff(dados.pre.A, dados.pre.ITEM_A, dados.pre.ITEM_O);
+    }
+
+    @Benchmark
+    public Object ggg() {
+        return Preprocessing.calcularGgg(dados.NA, dados.NI, IaValidos, dados.Io);
+    }
+
+    @Benchmark
+    public Object G() {
+        return Preprocessing.calcularG(dados.NA, dados.pre.fff, dados.pre.ggg);
+    }
+
+    @Benchmark
+    public Object CAP() {
+        return Preprocessing.calcularCAP(dados.pre.A, dados.d, dados.NA);
+    }
+}
@@ -0,0 +1,177 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Ajuste offline da estratégia do solver (frações de CI, margem de segurança, corte das
+// fases e ordem das varreduras) por successive halving sobre um conjunto de instâncias.
+//
+// Cada rodada resolve os candidatos restantes, com o mesmo orçamento de tempo, nas
+// primeiras n instâncias (embaralhadas), em paralelo. A pontuação de um candidato é a média
+// de objetivo / melhor objetivo da instância entre todos os candidatos que a resolveram.
+// A metade pior é descartada e n dobra, até sobrar um. O vencedor é gravado num arquivo
+// que o solver carrega com -Dsbpo.config=<arquivo>.
+public class AutoTuner {
+
+    private static final long[] MARGENS_MS = {1000, 2000, 3000, 5000};
+    private static final long[] CORTES_MS = {250, 500, 1000, 2000};
+
+    private final SolverConfig base;
+    private final int nCandidatos;
+    private final long orcamentoMs;
+    private final long seed;
+
+    public AutoTuner(SolverConfig base, int nCandidatos, long orcamentoMs, long seed) {
+        this.base = base;
+        this.nCandidatos = Math.max(1, nCandidatos);
+        this.orcamentoMs = orcamentoMs;
+        this.seed = seed;
+    }
+
+    public void executar(String diretorioEntrada, String arquivoSaida)
+            throws IOException, InterruptedException {
+        File[] arquivos = new File(diretorioEntrada).listFiles(f -> f.isFile() && f.getName().endsWith(".txt"));
+        if (arquivos == null || arquivos.length == 0) {
+            System.err.println("Nenhuma instância em " + diretorioEntrada);
+            return;
+        }
+        Arrays.sort(arquivos);
+        List<File> instancias = new ArrayList<>(Arrays.asList(arquivos));
+        Collections.shuffle(instancias, new Random(seed));
+        int nI = instancias.size();
+
+        List<SolverConfig> candidatos = gerarCandidatos();
+        double[][] objetivo = new double[candidatos.size()][nI];
+        for (double[] linha : objetivo) Arrays.fill(linha, Double.NaN);
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int paralelos = base.lote > 0 ? base.lote : Math.max(1, nucleos / 4);
+        int threadsPorSolve = base.threads > 0 ? base.threads : Math.max(1, nucleos / paralelos);
+        ExecutorService pool = Executors.newFixedThreadPool(paralelos);
+
+        // n inicial tal que a última rodada (um ou dois candidatos, a rodada número rodadas)
+        // use todas as instâncias; com nI fora de potência de 2 ela é forçada a nI no laço
+        int rodadas = 32 - Integer.numberOfLeadingZeros(candidatos.size() - 1);
+        int n = Math.max(1, nI >> Math.max(0, rodadas - 1));
+        List<Integer> vivos = new ArrayList<>();
+        for (int c = 0; c < candidatos.size(); c++) vivos.add(c);
+        System.out.println("[TUNER] " + candidatos.size() + " candidatos, " + nI + " instâncias, "
+            + orcamentoMs + "ms por solve, " + paralelos + " solves simultâneos");
+
+        try {
+            for (int rodada = 1; ; rodada++) {
+                if (vivos.size() <= 2) n = nI;
+                List<Future<?>> futuros = new ArrayList<>();
+                for (int c : vivos) {
+                    for (int i = 0; i < n; i++) {
+                        if (!Double.isNaN(objetivo[c][i])) continue;
+                        SolverConfig config = candidatos.get(c);
+                        File arquivo = instancias.get(i);
+                        int ci = c, ii = i;
+                        futuros.add(pool.submit(() -> objetivo[ci][ii] = resolver(arquivo, config, threadsPorSolve)));
+                    }
+                }
+                for (Future<?> futuro : futuros) {
+                    try {
+                        futuro.get();
+                    } catch (ExecutionException e) {
+                        System.err.println("[TUNER] Erro: " + e.getCause());
+                    }
+                }
+
+                double[] pontuacao = pontuar(objetivo, n);
+                vivos.sort((x, y) -> Double.compare(pontuacao[y], pontuacao[x]));
+                System.out.println(String.format(Locale.ROOT, "[TUNER] Rodada %d: %d candidatos em %d instâncias, melhor %.4f (%s)",
+                    rodada, vivos.size(), n, pontuacao[vivos.get(0)], candidatos.get(vivos.get(0)).estrategia()));
+                vivos = new ArrayList<>(vivos.subList(0, (vivos.size() + 1) / 2));
+                if (vivos.size() == 1) {
+                    gravar(candidatos.get(vivos.get(0)), pontuacao[vivos.get(0)], n, arquivoSaida);
+                    return;
+                }
+                n = Math.min(nI, 2 * n);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Candidato 0 é a estratégia atual; os outros são sorteados
+    private List<SolverConfig> gerarCandidatos() {
+        Random rnd = new Random(seed);
+        List<SolverConfig> candidatos = new ArrayList<>();
+        candidatos.add(base.copia());
+        while (candidatos.size() < nCandidatos) {
+            SolverConfig c = base.copia();
+            int nFracoes = 2 + rnd.nextInt(4);
+            c.fracoes = rnd.ints(nFracoes, 2, 19).distinct().sorted()
+                .mapToDouble(k -> k * 0.05).toArray();
+            for (int a = 0, b = c.fracoes.length - 1; a < b; a++, b--) {
+                double t = c.fracoes[a];
+                c.fracoes[a] = c.fracoes[b];
+                c.fracoes[b] = t;
+            }
+            c.margemSegurancaMs = MARGENS_MS[rnd.nextInt(MARGENS_MS.length)];
+            c.corteFaseMs = CORTES_MS[rnd.nextInt(CORTES_MS.length)];
+            c.crescentePrimeiro = rnd.nextBoolean();
+            candidatos.add(c);
+        }
+        return candidatos;
+    }
+
+    // Objetivo do candidato na instância (0 se inviável)
+    private double resolver(File arquivo, SolverConfig candidato, int threads) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        SolverConfig config = candidato.copia();
+        config.tempoMaximoMs = orcamentoMs;
+        config.threads = threads;
+        config.telemetria = "";
+        config.depuracao = "";
+
+        Challenge challenge = new Challenge();
+        challenge.readInput(arquivo.getPath());
+        ChallengeSolver solver = new ChallengeSolver(
+            challenge.getOrders(), challenge.getAisles(), challenge.getnItems(),
+            challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), config);
+        ChallengeSolution solucao = solver.solve(stopWatch);
+        return solver.isSolutionFeasible(solucao) ? solver.computeObjectiveFunction(solucao) : 0.0;
+    }
+
+    // Média, nas n primeiras instâncias, do objetivo relativo ao melhor já visto na instância
+    private static double[] pontuar(double[][] objetivo, int n) {
+        double[] pontuacao = new double[objetivo.length];
+        for (int i = 0; i < n; i++) {
+            double melhor = 0.0;
+            for (double[] linha : objetivo) {
+                if (!Double.isNaN(linha[i])) melhor = Math.max(melhor, linha[i]);
+            }
+            for (int c = 0; c < objetivo.length; c++) {
+                double v = objetivo[c][i];
+                pontuacao[c] += Double.isNaN(v) ? 0.0 : (melhor > 0 ? v / melhor : 1.0) / n;
+            }
+        }
+        return pontuacao;
+    }
+
+    private static void gravar(SolverConfig vencedor, double pontuacao, int n, String arquivoSaida) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivoSaida))) {
+            writer.write(String.format(Locale.ROOT, "# AutoTuner: pontuação %.4f em %d instâncias", pontuacao, n));
+            writer.newLine();
+            vencedor.escreverEstrategia(writer);
+        }
+        System.out.println("[TUNER] Melhor estratégia gravada em " + arquivoSaida + ": " + vencedor.estrategia());
+    }
+}
@@ -0,0 +1,131 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Modo lote: resolve todas as instâncias de um diretório na mesma JVM.
+// As instâncias rodam num pool limitado e os núcleos são divididos entre os solves simultâneos.
+public class BatchRunner {
+
+    private static final Pattern NUMERO = Pattern.compile("(\\d+)\\D*$");
+
+    // Resultado de uma instância (uma linha do CSV)
+    private static class Linha {
+        String instancia;
+        double objetivo;
+        boolean viavel;
+        int pedidos;
+        int corredores;
+        long tempoMelhorMs;
+        long tempoTotalMs;
+    }
+
+    private final SolverConfig config;
+
+    public BatchRunner(SolverConfig config) {
+        this.config = config;
+    }
+
+    public void executar(String diretorioEntrada, String diretorioSaida, String arquivoResumo)
+            throws IOException, InterruptedException {
+        File[] arquivos = new File(diretorioEntrada).listFiles(f -> f.isFile() && f.getName().endsWith(".txt"));
+        if (arquivos == null || arquivos.length == 0) {
+            System.err.println("Nenhuma instância em " + diretorioEntrada);
+            return;
+        }
+        Arrays.sort(arquivos);
+        new File(diretorioSaida).mkdirs();
+
+        // Divide os núcleos entre os solves simultâneos
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int paralelos = config.lote > 0 ? config.lote : Math.max(1, nucleos / 4);
+        paralelos = Math.min(paralelos, arquivos.length);
+        int threadsPorSolve = config.threads > 0 ? config.threads : Math.max(1, nucleos / paralelos);
+        System.out.println("[LOTE] " + arquivos.length + " instâncias, " + paralelos
+            + " simultâneas, " + threadsPorSolve + " threads cada");
+
+        ExecutorService pool = Executors.newFixedThreadPool(paralelos);
+        List<Future<Linha>> futuros = new ArrayList<>();
+        for (File arquivo : arquivos) {
+            futuros.add(pool.submit(() -> resolver(arquivo, diretorioSaida, threadsPorSolve)));
+        }
+        pool.shutdown();
+
+        List<Linha> linhas = new ArrayList<>();
+        for (Future<Linha> futuro : futuros) {
+            try {
+                linhas.add(futuro.get());
+            } catch (java.util.concurrent.ExecutionException e) {
+                System.err.println("[LOTE] Erro: " + e.getCause());
+                e.getCause().printStackTrace();
+            }
+        }
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        escreverResumo(linhas, arquivoResumo);
+        System.out.println("[LOTE] Resumo escrito em " + arquivoResumo);
+    }
+
+    private Linha resolver(File arquivo, String diretorioSaida, int threads) {
+        StopWatch stopWatch = StopWatch.createStarted();
+
+        SolverConfig configInstancia = config.copia();
+        configInstancia.threads = threads;
+        if (!configInstancia.telemetria.isEmpty()) {
+            configInstancia.telemetria = configInstancia.telemetria + "." + arquivo.getName() + ".jsonl";
+        }
+
+        Challenge challenge = new Challenge();
+        challenge.readInput(arquivo.getPath());
+        ChallengeSolver solver = new ChallengeSolver(
+            challenge.getOrders(), challenge.getAisles(), challenge.getnItems(),
+            challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), configInstancia);
+        ChallengeSolution solucao = solver.solve(stopWatch);
+        challenge.writeOutput(solucao, new File(diretorioSaida, nomeSaida(arquivo.getName())).getPath());
+
+        Linha linha = new Linha();
+        linha.instancia = arquivo.getName();
+        linha.viavel = solver.isSolutionFeasible(solucao);
+        linha.objetivo = linha.viavel ? solver.computeObjectiveFunction(solucao) : 0.0;
+        linha.pedidos = solucao.orders().size();
+        linha.corredores = solucao.aisles().size();
+        linha.tempoMelhorMs = solver.getTempoMelhorMs();
+        linha.tempoTotalMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        return linha;
+    }
+
+    // instance_0007.txt -> solution7.txt (mesma numeração de Resultados/)
+    static String nomeSaida(String instancia) {
+        Matcher m = NUMERO.matcher(instancia);
+        if (m.find()) {
+            return "solution" + Integer.parseInt(m.group(1)) + ".txt";
+        }
+        return "solution_" + instancia;
+    }
+
+    private static void escreverResumo(List<Linha> linhas, String arquivoResumo) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivoResumo))) {
+            writer.write("instancia,objetivo,viavel,pedidos,corredores,tempo_melhor_ms,tempo_total_ms");
+            writer.newLine();
+            for (Linha l : linhas) {
+                writer.write(String.format(Locale.ROOT, "%s,%.4f,%b,%d,%d,%d,%d",
+                    l.instancia, l.objetivo, l.viavel, l.pedidos, l.corredores, l.tempoMelhorMs, l.tempoTotalMs));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -1,128 +1,261 @@
-package org.sbpo2025.challenge;
-
-import org.apache.commons.lang3.time.StopWatch;
-
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-public class Challenge {
-
-    private List<Map<Integer, Integer>> orders;
-    private List<Map<Integer, Integer>> aisles;
-    private int nItems;
-    private int waveSizeLB;
-    private int waveSizeUB;
-
-    public void readInput(String inputFilePath) {
-        try {
-            BufferedReader reader = new BufferedReader(new FileReader(inputFilePath));
-            String line = reader.readLine();
-            String[] firstLine = line.split(" ");
-            int nOrders = Integer.parseInt(firstLine[0]);
-            int nItems = Integer.parseInt(firstLine[1]);
-            int nAisles = Integer.parseInt(firstLine[2]);
-
-            // Initialize orders and aisles arrays
-            orders = new ArrayList<>(nOrders);
-            aisles = new ArrayList<>(nAisles);
-            this.nItems = nItems;
-
-            // Read orders
-            readItemQuantityPairs(reader, nOrders, orders);
-
-            // Read aisles
-            readItemQuantityPairs(reader, nAisles, aisles);
-
-            // Read wave size bounds
-            line = reader.readLine();
-            String[] bounds = line.split(" ");
-            waveSizeLB = Integer.parseInt(bounds[0]);
-            waveSizeUB = Integer.parseInt(bounds[1]);
-
-            reader.close();
-        } catch (IOException e) {
-            System.err.println("Error reading input from " + inputFilePath);
-            e.printStackTrace();
-        }
-    }
-
-    private void readItemQuantityPairs(BufferedReader reader, int nLines, List<Map<Integer, Integer>> orders) throws IOException {
-        String line;
-        for (int orderIndex = 0; orderIndex < nLines; orderIndex++) {
-            line = reader.readLine();
-            String[] orderLine = line.split(" ");
-            int nOrderItems = Integer.parseInt(orderLine[0]);
-            Map<Integer, Integer> orderMap = new HashMap<>();
-            for (int k = 0; k < nOrderItems; k++) {
-                int itemIndex = Integer.parseInt(orderLine[2 * k + 1]);
-                int itemQuantity = Integer.parseInt(orderLine[2 * k + 2]);
-                orderMap.put(itemIndex, itemQuantity);
-            }
-            orders.add(orderMap);
-        }
-    }
-
-    public void writeOutput(ChallengeSolution challengeSolution, String outputFilePath) {
-        if (challengeSolution == null) {
-            System.err.println("Solution not found");
-            return;
-        }
-        try {
-            BufferedWriter writer = new BufferedWriter(new FileWriter(outputFilePath));
-            var orders = challengeSolution.orders();
-            var aisles = challengeSolution.aisles();
-
-            // Write the number of orders
-            writer.write(String.valueOf(orders.size()));
-            writer.newLine();
-
-            // Write each order
-            for (int order : orders) {
-                writer.write(String.valueOf(order));
-                writer.newLine();
-            }
-
-            // Write the number of aisles
-            writer.write(String.valueOf(aisles.size()));
-            writer.newLine();
-
-            // Write each aisle
-            for (int aisle : aisles) {
-                writer.write(String.valueOf(aisle));
-                writer.newLine();
-            }
-
-            writer.close();
-            System.out.println("Output written to " + outputFilePath);
-
-        } catch (IOException e) {
-            System.err.println("Error writing output to " + outputFilePath);
-            e.printStackTrace();
-        }
-    }
-
-    public static void main(String[] args) {
-        // Start the stopwatch to track the running time
-        StopWatch stopWatch = StopWatch.createStarted();
-
-        if (args.length != 2) {
-            System.out.println("Usage: java -jar target/ChallengeSBPO2025-1.0.jar <inputFilePath> <outputFilePath>");
-            return;
-        }
-
-        Challenge challenge = new Challenge();
-        challenge.readInput(args[0]);
-        var challengeSolver = new ChallengeSolver(
-                challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
-        ChallengeSolution challengeSolution = challengeSolver.solve(stopWatch);
-
-        challenge.writeOutput(challengeSolution, args[1]);
-    }
-}
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Challenge {
+
+    private List<Map<Integer, Integer>> orders;
+    private List<Map<Integer, Integer>> aisles;
+    private int nItems;
+    private int waveSizeLB;
+    private int waveSizeUB;
+
+    public void readInput(String inputFilePath) {
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(inputFilePath));
+            String line = reader.readLine();
+            String[] firstLine = line.split(" ");
+            int nOrders = Integer.parseInt(firstLine[0]);
+            int nItems = Integer.parseInt(firstLine[1]);
+            int nAisles = Integer.parseInt(firstLine[2]);
+
+            // Initialize orders and aisles arrays
+            orders = new ArrayList<>(nOrders);
+            aisles = new ArrayList<>(nAisles);
+            this.nItems = nItems;
+
+            // Read orders
+            readItemQuantityPairs(reader, nOrders, orders);
+
+            // Read aisles
+            readItemQuantityPairs(reader, nAisles, aisles);
+
+            // Read wave size bounds
+            line = reader.readLine();
+            String[] bounds = line.split(" ");
+            waveSizeLB = Integer.parseInt(bounds[0]);
+            waveSizeUB = Integer.parseInt(bounds[1]);
+
+            reader.close();
+        } catch (IOException e) {
+            System.err.println("Error reading input from " + inputFilePath);
+            e.printStackTrace();
+        }
+    }
+
+    private void readItemQuantityPairs(BufferedReader reader, int nLines, List<Map<Integer, Integer>> orders) throws IOException {
+        String line;
+        for (int orderIndex = 0; orderIndex < nLines; orderIndex++) {
+            line = reader.readLine();
+            String[] orderLine = line.split(" ");
+            int nOrderItems = Integer.parseInt(orderLine[0]);
+            Map<Integer, Integer> orderMap = new HashMap<>();
+            for (int k = 0; k < nOrderItems; k++) {
+                int itemIndex = Integer.parseInt(orderLine[2 * k + 1]);
+                int itemQuantity = Integer.parseInt(orderLine[2 * k + 2]);
+                orderMap.put(itemIndex, itemQuantity);
+            }
+            orders.add(orderMap);
+        }
+    }
+
+    // Reads an instance in the same text format from the first length bytes of buffer
+    public void readInput(byte[] buffer, int length) {
+        int[] pos = {0};
+        int nOrders = nextInt(buffer, length, pos);
+        nItems = nextInt(buffer, length, pos);
+        int nAisles = nextInt(buffer, length, pos);
+
+        orders = new ArrayList<>(nOrders);
+        aisles = new ArrayList<>(nAisles);
+        readItemQuantityPairs(buffer, length, pos, nOrders, orders);
+        readItemQuantityPairs(buffer, length, pos, nAisles, aisles);
+
+        waveSizeLB = nextInt(buffer, length, pos);
+        waveSizeUB = nextInt(buffer, length, pos);
+    }
+
+    private static void readItemQuantityPairs(byte[] buffer, int length, int[] pos, int nLines,
+                                              List<Map<Integer, Integer>> orders) {
+        for (int orderIndex = 0; orderIndex < nLines; orderIndex++) {
+            int nOrderItems = nextInt(buffer, length, pos);
+            Map<Integer, Integer> orderMap = new HashMap<>();
+            for (int k = 0; k < nOrderItems; k++) {
+                int itemIndex = nextInt(buffer, length, pos);
+                int itemQuantity = nextInt(buffer, length, pos);
+                orderMap.put(itemIndex, itemQuantity);
+            }
+            orders.add(orderMap);
+        }
+    }
+
+    // Next (non-negative) integer starting at pos[0]; advances pos[0] past it
+    private static int nextInt(byte[] buffer, int length, int[] pos) {
+        int i = pos[0];
+        while (i < length && (buffer[i] < '0' || buffer[i] > '9')) i++;
+        if (i >= length) {
+            throw new IllegalArgumentException("Unexpected end of input at byte " + i);
+        }
+        int value = 0;
+        while (i < length && buffer[i] >= '0' && buffer[i] <= '9') {
+            value = value * 10 + (buffer[i] - '0');
+            i++;
+        }
+        pos[0] = i;
+        return value;
+    }
+
+    public List<Map<Integer, Integer>> getOrders() { return orders; }
+    public List<Map<Integer, Integer>> getAisles() { return aisles; }
+    public int getnItems() { return nItems; }
+    public int getWaveSizeLB() { return waveSizeLB; }
+    public int getWaveSizeUB() { return waveSizeUB; }
+
+    public void writeOutput(ChallengeSolution challengeSolution, String outputFilePath) {
+        if (challengeSolution == null) {
+            System.err.println("Solution not found");
+            return;
+        }
+        try {
+            BufferedWriter writer = new BufferedWriter(new FileWriter(outputFilePath));
+            writeSolution(challengeSolution, writer);
+            writer.close();
+            System.out.println("Output written to " + outputFilePath);
+
+        } catch (IOException e) {
+            System.err.println("Error writing output to " + outputFilePath);
+            e.printStackTrace();
+        }
+    }
+
+    // Writes the solution in the output file format
+    public static void writeSolution(ChallengeSolution challengeSolution, BufferedWriter writer) throws IOException {
+        var orders = challengeSolution.orders();
+        var aisles = challengeSolution.aisles();
+
+        // Write the number of orders
+        writer.write(String.valueOf(orders.size()));
+        writer.newLine();
+
+        // Write each order
+        for (int order : orders) {
+            writer.write(String.valueOf(order));
+            writer.newLine();
+        }
+
+        // Write the number of aisles
+        writer.write(String.valueOf(aisles.size()));
+        writer.newLine();
+
+        // Write each aisle
+        for (int aisle : aisles) {
+            writer.write(String.valueOf(aisle));
+            writer.newLine();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Start the stopwatch to track the running time
+        StopWatch stopWatch = StopWatch.createStarted();
+
+        // Batch mode: every instance of a directory in the same JVM
+        if (args.length >= 3 && args[0].equals("--batch")) {
+            String summaryPath = args.length >= 4 ? args[3] : new java.io.File(args[2], "resumo.csv").getPath();
+            new BatchRunner(SolverConfig.doSistema()).executar(args[1], args[2], summaryPath);
+            return;
+        }
+
+        // Server mode: keeps the JVM warm and solves instances posted to localhost
+        if (args.length >= 1 && args[0].equals("--server")) {
+            int port = args.length >= 2 ? Integer.parseInt(args[1]) : 8080;
+            new SolverServer(SolverConfig.doSistema()).iniciar(port);
+            return;
+        }
+
+        // Multi-wave mode: plans a sequence of waves until the backlog is exhausted
+        if (args.length == 3 && args[0].equals("--waves")) {
+            Challenge challenge = new Challenge();
+            challenge.readInput(args[1]);
+            new MultiWavePlanner(SolverConfig.doSistema()).executar(challenge, args[2]);
+            return;
+        }
+
+        // Tuning mode: races solver strategies over a directory of instances (successive halving)
+        if (args.length >= 3 && args[0].equals("--tune")) {
+            int candidates = args.length >= 4 ? Integer.parseInt(args[3]) : 16;
+            long budgetMs = args.length >= 5 ? Long.parseLong(args[4]) : 30000;
+            new AutoTuner(SolverConfig.doSistema(), candidates, budgetMs, 42).executar(args[1], args[2]);
+            return;
+        }
+
+        // Formulation comparison: LP bound, nodes and time to best of each model variant
+        if (args.length == 3 && args[0].equals("--formulations")) {
+            new FormulationComparison(SolverConfig.doSistema()).executar(args[1], args[2]);
+            return;
+        }
+
+        // Regression mode: incumbent trajectories per time budget against a baseline; exits 1 on regressions
+        if (args.length >= 4 && args[0].equals("--regression")) {
+            long[] budgetsMs = args.length >= 5
+                ? Arrays.stream(args[4].split(",")).mapToLong(b -> Long.parseLong(b.trim())).toArray()
+                : new long[] {10000, 30000, 60000};
+            double tolerance = args.length >= 6 ? Double.parseDouble(args[5]) : 0.01;
+            boolean ok = new RegressionHarness(SolverConfig.doSistema(), budgetsMs, tolerance)
+                .executar(args[1], args[2], args[3]);
+            if (!ok) System.exit(1);
+            return;
+        }
+
+        // Synthetic instance: --generate <output.txt> [key=value ...] (see InstanceGenerator.Parametros)
+        if (args.length >= 2 && args[0].equals("--generate")) {
+            InstanceGenerator.Parametros params = InstanceGenerator.Parametros.de(Arrays.copyOfRange(args, 2, args.length));
+            InstanceGenerator.gerar(params, args[1]);
+            System.out.println("Instance written to " + args[1] + " (" + params + ")");
+            return;
+        }
+
+        // Scaling report: parse, preprocessing and solve times of synthetic instances of growing size
+        if (args.length >= 3 && args[0].equals("--scaling")) {
+            double[] scales = args.length >= 4
+                ? Arrays.stream(args[3].split(",")).mapToDouble(e -> Double.parseDouble(e.trim())).toArray()
+                : new double[] {1, 2, 5, 10};
+            long budgetMs = args.length >= 5 ? Long.parseLong(args[4]) : 10000;
+            InstanceGenerator.Parametros params = InstanceGenerator.Parametros.de(
+                args.length > 5 ? Arrays.copyOfRange(args, 5, args.length) : new String[0]);
+            new ScalingReport(SolverConfig.doSistema(), params, scales, budgetMs).executar(args[1], args[2]);
+            return;
+        }
+
+        if (args.length != 2) {
+            System.out.println("Usage: java -jar target/ChallengeSBPO2025-1.0.jar <inputFilePath> <outputFilePath>");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --server [port]");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --batch <inputDir> <outputDir> [summary.csv]");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --waves <inputFilePath> <outputDir>");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --tune <inputDir> <output.properties> [candidates] [budgetMs]");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --formulations <inputDir> <output.csv>");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --regression <inputDir> <baselineDir|summary.csv> <outputDir> [budgetsMs] [tolerance]");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --generate <output.txt> [key=value ...]");
+            System.out.println("       java -jar target/ChallengeSBPO2025-1.0.jar --scaling <instanceDir> <report.csv> [scales] [budgetMs] [key=value ...]");
+            return;
+        }
+
+        Challenge challenge = new Challenge();
+        challenge.readInput(args[0]);
+        var challengeSolver = new ChallengeSolver(
+                challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+        ChallengeSolution challengeSolution = challengeSolver.solve(stopWatch);
+
+        challenge.writeOutput(challengeSolution, args[1]);
+    }
+}
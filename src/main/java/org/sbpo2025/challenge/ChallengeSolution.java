@@ -1,6 +1,6 @@
-package org.sbpo2025.challenge;
-
-import java.util.Set;
-
-public record ChallengeSolution(Set<Integer> orders, Set<Integer> aisles) {
-}
+package org.sbpo2025.challenge;
+
+import java.util.Set;
+
+public record ChallengeSolution(Set<Integer> orders, Set<Integer> aisles) {
+}
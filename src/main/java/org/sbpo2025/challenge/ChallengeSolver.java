@@ -1,1402 +1,999 @@
-package org.sbpo2025.challenge;
-
-import org.apache.commons.lang3.time.StopWatch;
-
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.ArrayList;
-import java.util.concurrent.TimeUnit;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.HashMap;
-import java.util.Collections;
-import java.util.Comparator;
-import ilog.concert.*;
-import ilog.cplex.*;
-
-
-
-
-
-
-public class ChallengeSolver {
-    private final long MAX_RUNTIME = 600000; // milliseconds; 10 minutes
-
-    protected List<Map<Integer, Integer>> orders;
-    protected List<Map<Integer, Integer>> aisles;
-    protected int nItems;
-    protected int waveSizeLB;
-    protected int waveSizeUB;
-
-    public ChallengeSolver(
-            List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB) {
-        this.orders = orders;
-        this.aisles = aisles;
-        this.nItems = nItems;
-        this.waveSizeLB = waveSizeLB;
-        this.waveSizeUB = waveSizeUB;
-    }
-
-
-public static class OptimizationResult {
-    private final double objectiveValue;
-    private final List<Integer> selectedOrders;
-    private final List<Integer> selectedAisles;
-
-    public OptimizationResult(double objectiveValue, 
-                            List<Integer> selectedOrders, 
-                            List<Integer> selectedAisles) {
-        this.objectiveValue = objectiveValue;
-        this.selectedOrders = selectedOrders;
-        this.selectedAisles = selectedAisles;
-    }
-
-    public double getObjectiveValue() { return objectiveValue; }
-    public List<Integer> getSelectedOrders() { return selectedOrders; }
-    public List<Integer> getSelectedAisles() { return selectedAisles; }
-}
-
-public static OptimizationResult runModel(
-    double CB, int LB, int UB,
-    int NO, int NA, int NI, int L,
-    int[] F,
-    List<List<List<Integer>>> A,
-    List<List<Integer>> Ia,
-    List<List<List<Integer>>> O,
-    List<List<Integer>> Io,
-    List<Integer> CI,
-    List<List<Integer>> G,
-    List<List<Integer>> fff,
-    List<Integer> ITEM_N,
-    Set<Integer> O_N,
-    double timeLimit) {
-        
-    IloCplex cplex = null;
-    try {
-        cplex = new IloCplex();
-        
-        // 1. Variáveis de decisão
-        IloIntVar[] p = cplex.boolVarArray(NO);
-        IloIntVar[] c = cplex.boolVarArray(NA);  // Corrigido para NA
-
-
-// Definindo nomes para as variáveis de p
-for (int i = 0; i < NO; i++) {
-    p[i].setName("p_" + i);
-}
-
-// Definindo nomes para as variáveis de c
-for (int j = 0; j < NA; j++) {
-    c[j].setName("c_" + j);
-}
-        // 2. Função objetivo
-        IloLinearNumExpr objective = cplex.linearNumExpr();
-        for (int o = 0; o < NO; o++) {
-            objective.addTerm((double) F[o]/L, p[o]); // Cast para double
-        }
-        cplex.addMaximize(objective);
-
-        // 3. Restrições
-        // 3.1 Corredores fixos
-        for (int a : CI) {
-            if (a < NA) cplex.addEq(c[a], 0);
-        }
-
-        // 3.2 Relação pedidos-corredores
-        for (int i = 0; i < G.size(); i++) {
-            List<Integer> group = G.get(i);
-            if (!group.isEmpty() && i < NA) {
-                IloLinearNumExpr expr = cplex.linearNumExpr();
-                for (int o : group) {
-                    expr.addTerm(1.0, p[o]);
-                }
-                cplex.addEq(expr, cplex.prod(group.size(), c[i]));
-            }
-        }
-
-        // 3.3 Pedidos excluídos
-        for (int o : O_N) {
-            if (o < NO) cplex.addEq(p[o], 0);
-        }
-
-        // 3.4 Restrição fff
-        for (int i = 0; i < fff.size(); i++) {
-            List<Integer> group = fff.get(i);
-            if (!group.isEmpty()) {
-                IloLinearNumExpr expr = cplex.linearNumExpr();
-                for (int o : group) {
-                    expr.addTerm(1.0, p[o]);
-                }
-                cplex.addGe(expr, cplex.prod(group.size(), c[i]));
-            }
-        }
-
-        // 3.5 Limites de produção
-        IloLinearNumExpr productionExpr = cplex.linearNumExpr();
-        for (int o = 0; o < NO; o++) {
-            productionExpr.addTerm(F[o], p[o]);
-        }
-        cplex.addGe(productionExpr, CB * L + 1);
-        cplex.addGe(productionExpr, LB);
-        cplex.addLe(productionExpr, UB);  // Corrigido para addLe
-
-       // 3.6 Capacidade dos itens (versão corrigida)
-for (int i = 0; i < NI; i++) {
-    if (!ITEM_N.contains(i)) {
-        // Demanda total do item i nos pedidos selecionados
-        IloLinearNumExpr demandaTotal = cplex.linearNumExpr();
-        for (int o : Io.get(i)) {  // Pedidos que usam o item i
-            int qtdPedido = getItemQuantity(O, o, i);
-            demandaTotal.addTerm(qtdPedido, p[o]);
-        }
-        
-
-
-        // Capacidade total do item i nos corredores selecionados
-        IloLinearNumExpr capacidadeTotal = cplex.linearNumExpr();
-        for (int a : Ia.get(i)) {  // Corredores que contêm o item i
-            int capCorredor = getAisleCapacity(A, a, i);
-            capacidadeTotal.addTerm(capCorredor, c[a]);
-        }
-        
-        // Restrição: Σ(qtd_pedido * p_o) <= Σ(cap_corredor * c_a)
-        cplex.addLe(demandaTotal, capacidadeTotal);
-    }
-}
-
-
-
-        // 3.7 Número de corredores
-        IloLinearNumExpr aisleCount = cplex.linearNumExpr();
-        for (int a = 0; a < NA; a++) {
-            aisleCount.addTerm(1.0, c[a]);
-        }
-        cplex.addEq(aisleCount, L);
-
-        // 4. Configurações do solver
-        cplex.setParam(IloCplex.Param.TimeLimit, timeLimit);
-        cplex.setParam(IloCplex.Param.MIP.Display, 2);
-
-
-cplex.exportModel("modelo.lp");
-
-        // 5. Resolver
-        if (cplex.solve()) {
-            List<Integer> selectedOrders = new ArrayList<>();
-            List<Integer> selectedAisles = new ArrayList<>();
-
-            for (int o = 0; o < NO; o++) {
-                if (cplex.getValue(p[o]) > 0.9) selectedOrders.add(o);
-            }
-
-            for (int a = 0; a < NA; a++) {
-                if (cplex.getValue(c[a]) > 0.9) selectedAisles.add(a);
-            }
-
-            return new OptimizationResult(
-                cplex.getObjValue(),
-                selectedOrders,
-                selectedAisles
-            );
-        }
-        return new OptimizationResult(0.0, Collections.emptyList(), Collections.emptyList());
-        
-    } catch (IloException e) {
-        System.err.println("Erro CPLEX: " + e.getMessage());
-        return new OptimizationResult(0.0, Collections.emptyList(), Collections.emptyList());
-    } finally {
-        if (cplex != null) cplex.end();
-    }
-}
-
-// Métodos auxiliares necessários
-private static int getItemQuantity(List<List<List<Integer>>> orders, int orderIndex, int itemId) {
-    for (List<Integer> pair : orders.get(orderIndex)) {
-        if (pair.get(0) == itemId) {
-            return pair.get(1);
-        }
-    }
-    return 0;
-}
-
-private static int getAisleCapacity(List<List<List<Integer>>> aisles, int aisleIndex, int itemId) {
-    for (List<Integer> pair : aisles.get(aisleIndex)) {
-        if (pair.get(0) == itemId) {
-            return pair.get(1);
-        }
-    }
-    return 0;
-
-}  // Classe interna para estado da heurística
-    private static class HeuristicState {
-        double FO;
-        Object ySolution;
-        List<Double> SolF = new ArrayList<>();
-        List<Integer> SolL = new ArrayList<>();
-        double LMax;
-        int L;
-    }
-
-
-
-   // Classe de resultado do pré-processamento (mantida única)
-    public static class PreprocessingResult {
-        public List<List<List<Integer>>> A;
-        public int[] d;
-        public int[] CAP;
-        public List<Set<Integer>> ITEM_A;
-        public List<Set<Integer>> ITEM_B;
-        public List<List<Integer>> DOM;
-        public Set<Integer> aux;
-        public List<Set<Integer>> ITEM_O;
-        public List<List<Integer>> fff;
-        public List<List<Integer>> ggg;
-        public List<List<Integer>> G;
-
-        public PreprocessingResult(
-            List<List<List<Integer>>> A, 
-            int[] d, 
-            int[] CAP,
-            List<Set<Integer>> ITEM_A,
-            List<Set<Integer>> ITEM_B,
-            List<List<Integer>> DOM,
-            Set<Integer> aux,
-            List<Set<Integer>> ITEM_O,
-            List<List<Integer>> fff,
-            List<List<Integer>> ggg,
-            List<List<Integer>> G) {
-            
-            this.A = A;
-            this.d = d;
-            this.CAP = CAP;
-            this.ITEM_A = ITEM_A;
-            this.ITEM_B = ITEM_B;
-            this.DOM = DOM;
-            this.aux = aux;
-            this.ITEM_O = ITEM_O;
-            this.fff = fff;
-            this.ggg = ggg;
-            this.G = G;
-        }
-    }
-
-
-//------------------------------------------------------------
-
-
-//-------------------------------------------------------------
-
-//------------------------------------------------------------
-
-
-//-------------------------------------------------------------
-
-//------------------------------------------------------------
-
-
-//-------------------------------------------------------------
-
-
- // Método principal para resolver o problema
-
-    public ChallengeSolution solve(StopWatch stopWatch) {
-        // Passo 1: Converter para a nossa notação: Aqui faz o O ficar do jeito que usamos
-        List<List<List<Integer>>> O = new ArrayList<>();
-
-        for (Map<Integer, Integer> map : orders) {
-            List<List<Integer>> listOfPairs = new ArrayList<>();
-            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
-                listOfPairs.add(Arrays.asList(entry.getKey(), entry.getValue()));
-            }
-            O.add(listOfPairs);
-        }
-
-        // Passo 2: Determinar o NO (número de pedidos)
-        int NO = O.size();
-        int NI = nItems;
-
-
-
-
-
-        // Passo 3: Determinar o Io
-        List<List<Integer>> Io = buildIo(O, nItems);
-
-        // Imprimir o Io para verificar o resultado
-        for (int i = 0; i < Io.size(); i++) {
-            System.out.println("Io[" + i + "]: " + Io.get(i));
-        }
-
-        
-         // Passo 4: Determinar A
-List<List<List<Integer>>> A = new ArrayList<>();  // Inicializando A
-
-for (Map<Integer, Integer> map : aisles) {
-    List<List<Integer>> listOfPairs = new ArrayList<>();
-    for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
-        // Adicionando o par (item, capacidade) à lista de pares
-        listOfPairs.add(Arrays.asList(entry.getKey(), entry.getValue()));
-    }
-    // Adicionando a lista de pares ao corredor
-    A.add(listOfPairs);
-}
-
-int NA = A.size();
-int LB = waveSizeLB;
-int UB = waveSizeUB;
-
-// Passo 5: Inicializando Ia
-List<List<Integer>> Ia = new ArrayList<>();  // Inicializando a lista de listas de corredores para cada item
-
-// Inicializa a lista de corredores para cada item
-for (int i = 0; i < NI; i++) {
-    Ia.add(new ArrayList<>());  // Cada item começa com uma lista vazia de corredores
-}
-
-// Preenchendo Ia com os corredores que possuem cada item
-for (int a = 0; a < A.size(); a++) {
-    List<List<Integer>> aisle = A.get(a);  // Pega o corredor a (cada corredor é uma lista de pares [item, capacidade])
-
-    for (List<Integer> pair : aisle) {
-        int item = pair.get(0);  // Pega o item (primeiro valor do par)
-        Ia.get(item).add(a);  // Adiciona o corredor a à lista do item correspondente
-    }
-}
-
-// Imprimir Ia para verificar o resultado
-System.out.println("Corredores Ia:");
-for (int i = 0; i < Ia.size(); i++) {
-    System.out.println("Ia[" + i + "]: " + Ia.get(i));
-}
-
-// Passo 6: Gerando o vetor F
-int[] F = new int[NO];
-for (int i = 0; i < NO; i++) {
-    int soma = 0;
-    for (List<Integer> pair : O.get(i)) {
-        soma += pair.get(1);
-    }
-    F[i] = soma;
-}
-
-//Passo 6:gera d----------------------------------------------------------------------------------------------
-
-     int[] d = new int[NI]; // Vetor para armazenar a demanda total de cada item
-
-        // Para cada item (i)
-        for (int i = 0; i < NI; i++) {
-            List<Integer> Io_aux = Io.get(i); // Todos os pedidos que requerem o item i
-            int soma_d = 0; // Variável para acumular a soma da demanda de cada item
-
-            // Para cada pedido j que requer o item i
-            for (int j = 0; j < Io_aux.size(); j++) {
-                int pedidoIndex = Io_aux.get(j); // Índice do pedido
-                int sd = buscarValor(O.get(pedidoIndex), i); // Valor da demanda para o item i no pedido
-                soma_d += sd; // Soma a demanda
-            }
-
-            // Atribui a soma da demanda do item i ao vetor d
-            d[i] = soma_d;
-        }
-
-
-// Passo 8: Preprocessamento dos corredores--------------------------------------------------------------------
-for (int i = 0; i < NI; i++) { // Para todos os itens
-    List<Integer> Ia_aux = Ia.get(i); // Todos os corredores que contêm o item i
-
-    for (int j = 0; j < Ia_aux.size(); j++) {
-        int corredor = Ia_aux.get(j); // Índice do corredor
-        List<List<Integer>> aisle = A.get(corredor); // Obtém a lista de pares do corredor
-
-        for (List<Integer> pair : aisle) {
-            if (pair.get(0) == i && pair.get(1) > d[i]) { // Se a capacidade do item no corredor for maior que d[i]
-                pair.set(1, d[i]); // Ajusta a capacidade na variável A
-            }
-        }
-    }
-}
-// Passo 8: Remover corredores repetidos
-for (int i = 0; i < NA - 1; i++) { // Para cada corredor
-    for (int j = i + 1; j < NA; j++) { // Compara com todos os corredores seguintes
-        if (A.get(i).equals(A.get(j))) { // Se o corredor j é igual ao corredor i
-            A.set(j, new ArrayList<>(Arrays.asList(Arrays.asList(1, -1)))); // Define como corredor removido (substitui com [1, -1])
-        }
-    }
-}
-
-
-
-
-
- // Passo 9: Executar o novo pré-processamento
-    PreprocessingResult preprocessResult = preprocessing(
-        NO,         // Número de pedidos (já calculado)
-        NI,         // Número de itens (nItems)
-        NA,         // Número original de corredores (A.size())
-        O,          // Lista de pedidos convertida (List<List<List<Integer>>>)
-        A,          // Lista de corredores convertida (List<List<List<Integer>>>)
-        waveSizeLB, // Lower bound do tamanho da onda (int)
-        waveSizeUB, // Upper bound do tamanho da onda (int)
-        Io,         // Lista de pedidos por item (List<List<Integer>>)
-        Ia,         // Lista de corredores por item (List<List<Integer>>)
-        d           // Vetor de demandas (int[])
-    );
-
-
-    // Passo 10: Atualizar estruturas com os resultados
-    A = preprocessResult.A;       // Corredores atualizados (com [1, -1] nos inválidos)
-    d = preprocessResult.d;       // Demandas (inalteradas)
-    int[] CAP = preprocessResult.CAP; // Novas capacidades
-    List<Set<Integer>> ITEM_A = preprocessResult.ITEM_A; // Itens válidos por corredor
-    List<List<Integer>> G = preprocessResult.G;         // Grupos de pedidos viáveis
-    List<List<Integer>> fff = preprocessResult.fff;         // Grupos de pedidos viáveis
-
-//  Preprocessamento dos corredores--------------------------------------------------------------------
-for (int i = 0; i < NI; i++) { // Para todos os itens
-    List<Integer> Ia_aux = Ia.get(i); // Todos os corredores que contêm o item i
-
-    for (int j = 0; j < Ia_aux.size(); j++) {
-        int corredor = Ia_aux.get(j); // Índice do corredor
-        List<List<Integer>> aisle = A.get(corredor); // Obtém a lista de pares do corredor
-
-        for (List<Integer> pair : aisle) {
-            if (pair.get(0) == i && pair.get(1) > d[i]) { // Se a capacidade do item no corredor for maior que d[i]
-                pair.set(1, d[i]); // Ajusta a capacidade na variável A
-            }
-        }
-    }
-}
-
-
-// Passo 11: Calcular CI e processar dados
-        List<Integer> CI = menoresIndices(CAP, 0.8); // 1 - 0.2 = 80%
-        Set<Integer> auxSet = new HashSet<>(preprocessResult.aux);
-        CI.addAll(auxSet);
-
-
-        
-        // Calcular ITEM_N
-        List<Integer> ITEM_N = new ArrayList<>();
-        for (int i = 0; i < Ia.size(); i++) {
-            if (Ia.get(i).size() == 1 && CI.contains(Ia.get(i).get(0))) {
-                ITEM_N.add(i);
-            }
-        }
-        
-        // Calcular O_N
-        Set<Integer> O_N = new HashSet<>();
-        for (int item : ITEM_N) {
-            O_N.addAll(Io.get(item));
-        }
-
-        // Passo 12: Imprimir dados(opcional)
-
-// ADICIONE AQUI (logo no início do método, antes da criação do modelo)
-    System.out.println("\n=== DADOS DE ENTRADA ===");
-    
-    System.out.println("\n=== INÍCIO DA EXECUÇÃO ===");
-
-
-
-  // Passo 13: Executar a heuristica
-  // Buscar solução para valores crescentes de L (Primeira iteração)
-    int L = 1;
-    int L_INICIAL = -1;  // Inicializado com -1 (valor inválido para indicar que ainda não foi encontrado)
-    double CB = 0.0;  // Alterado para double para manter precisão
-    int maxL = NA;
-    List<Integer> bestOrders = new ArrayList<>();
-    List<Integer> bestAisles = new ArrayList<>();
-   // ============= CONFIGURAÇÃO DE TEMPO =============
-    final long SAFETY_MARGIN = 5000; // 5 segundos em milissegundos
-    final long EFFECTIVE_MAX_TIME = MAX_RUNTIME - SAFETY_MARGIN;
-
-    // ============= PRIMEIRA FASE (L CRESCENTE) =============
-    
-    while (L <= maxL && L <= NA) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        // Verificação de tempo crítico
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 1] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        // Atualizar L_INICIAL
-        if (L_INICIAL == -1 && result.getObjectiveValue() > 0) {
-            L_INICIAL = L;
-            System.out.println("[FASE 1] Primeira solução factível em L=" + L);
-        }
-
-        // Atualizar melhor solução
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        // Verificação pós-execução
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 1] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L++;
-    }
-
-    // ============= SEGUNDA FASE (L DECRESCENTE) =============
-    CI = menoresIndices(CAP, 0.6);
-    CI.addAll(new HashSet<>(preprocessResult.aux));
-    
-    ITEM_N.clear();
-    for (int i = 0; i < Ia.size(); i++) {
-        if (Ia.get(i).size() == 1 && CI.contains(Ia.get(i).get(0))) {
-            ITEM_N.add(i);
-        }
-    }
-    
-    O_N.clear();
-    for (int item : ITEM_N) {
-        O_N.addAll(Io.get(item));
-    }
-
-    L = (L_INICIAL > 0) ? L_INICIAL - 1 : 1;
-    while (L > 0) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 2] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if (result.getObjectiveValue() > 0) {
-            L_INICIAL = Math.min(L_INICIAL, L);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 2] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L--;
-    }
-
-    // ============= SEGUNDA FASE (L CRESCENTE OTIMIZADO) =============
-    L = L_INICIAL;
-    
-    while (L <= maxL && L <= NA) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 3] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 3] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L++;
-    }
-
-
-
-
-// ============= TERCEIRA FASE (L DECRESCENTE) =============
-    CI = menoresIndices(CAP, 0.4);
-    CI.addAll(new HashSet<>(preprocessResult.aux));
-    
-    ITEM_N.clear();
-    for (int i = 0; i < Ia.size(); i++) {
-        if (Ia.get(i).size() == 1 && CI.contains(Ia.get(i).get(0))) {
-            ITEM_N.add(i);
-        }
-    }
-    
-    O_N.clear();
-    for (int item : ITEM_N) {
-        O_N.addAll(Io.get(item));
-    }
-
-    L = (L_INICIAL > 0) ? L_INICIAL - 1 : 1;
-    
-    while (L > 0) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 2] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if (result.getObjectiveValue() > 0) {
-            L_INICIAL = Math.min(L_INICIAL, L);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 2] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L--;
-    }
-
-    // ============= TERCEIRA FASE (L CRESCENTE OTIMIZADO) =============
-    L = L_INICIAL;
-    
-    while (L <= maxL && L <= NA) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 3] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 3] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L++;
-    }
-
-
-
-
-
-// ============= QUARTA FASE (L DECRESCENTE) =============
-    CI = menoresIndices(CAP, 0.2);
-    CI.addAll(new HashSet<>(preprocessResult.aux));
-    
-    ITEM_N.clear();
-    for (int i = 0; i < Ia.size(); i++) {
-        if (Ia.get(i).size() == 1 && CI.contains(Ia.get(i).get(0))) {
-            ITEM_N.add(i);
-        }
-    }
-    
-    O_N.clear();
-    for (int item : ITEM_N) {
-        O_N.addAll(Io.get(item));
-    }
-
-    L = (L_INICIAL > 0) ? L_INICIAL - 1 : 1;
-    
-    while (L > 0) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 2] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if (result.getObjectiveValue() > 0) {
-            L_INICIAL = Math.min(L_INICIAL, L);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 2] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L--;
-    }
-
-    // ============= QUARTA FASE (L CRESCENTE OTIMIZADO) =============
-    L = (L_INICIAL > 0) ? L_INICIAL - 1 : 1;
-    
-    while (L <= maxL && L <= NA) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 3] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 3] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L++;
-    }
-
-
-
-// ============= ULTIMA FASE (L DECRESCENTE) =============
-CI.clear();  // Limpa a lista existente
-CI.addAll(preprocessResult.aux);  // Adiciona todos elementos do Set
-        
-
-
-    ITEM_N.clear();
-    for (int i = 0; i < Ia.size(); i++) {
-        if (Ia.get(i).size() == 1 && CI.contains(Ia.get(i).get(0))) {
-            ITEM_N.add(i);
-        }
-    }
-    
-    O_N.clear();
-    for (int item : ITEM_N) {
-        O_N.addAll(Io.get(item));
-    }
-
-    L = (L_INICIAL > 0) ? L_INICIAL - 1 : 1;
-    
-    while (L > 0) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 2] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if (result.getObjectiveValue() > 0) {
-            L_INICIAL = Math.min(L_INICIAL, L);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 2] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L--;
-    }
-
-    // ============= TERCEIRA FASE (L CRESCENTE OTIMIZADO) =============
-    L = L_INICIAL;
-    
-    while (L <= maxL && L <= NA) {
-        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
-        
-        if (remainingTimeMs < 1000) {
-            System.out.println("[FASE 3] Tempo crítico - retornando solução atual");
-            break;
-        }
-        
-        OptimizationResult result = runModel(
-            (int) Math.ceil(CB), LB, UB, NO, NA, NI, L,
-            F, A, Ia, O, Io, CI, G, fff,
-            ITEM_N, O_N, remainingTimeMs / 1000.0
-        );
-
-        if (result.getObjectiveValue() > CB) {
-            CB = result.getObjectiveValue();
-            bestOrders = new ArrayList<>(result.getSelectedOrders());
-            bestAisles = new ArrayList<>(result.getSelectedAisles());
-            maxL = Math.min((int) (UB / CB), NA);
-        }
-
-        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < 1000) {
-            System.out.println("[FASE 3] Tempo crítico pós-execucao - saindo");
-            break;
-        }
-        
-        L++;
-    }
-
-
-
-
-
-
-
-    System.out.println("Tempo total usado: " + stopWatch.getTime(TimeUnit.SECONDS) + "s");
-    return new ChallengeSolution(
-        new HashSet<>(bestOrders),
-        new HashSet<>(bestAisles)
-    );
-
-
-
-
- // Acho que está ok, conferir dpz se precisa atualizar Ia, neste caso tomar cuidado com Ia duplicado.
-//
-//
-//
-    // Passo 7: Recalcular Ia
-   // List<List<Integer>> newIa = new ArrayList<>();
-   // for (int i = 0; i < NI; i++) newIa.add(new ArrayList<>());
-   // for (int a = 0; a < A.size(); a++) {
-       // if (isInvalidAisle(A.get(a))) continue;
-       // for (List<Integer> pair : A.get(a)) {
-     //       int item = pair.get(0);
-   //         if (item < NI) newIa.get(item).add(a);
-  //     }
- //   }
-//    Ia = newIa;
-
-    }
-
-
-
-
-public class HeuristicSolver {
-    
-    public static class HeuristicResult {
-        public double bestObjective;  // Melhor valor FO encontrado
-        public List<Integer> selectedAisles;  // Corredores selecionados (A_solution)
-        public List<Integer> selectedOrders;   // Pedidos selecionados (O_solution)
-        
-        public HeuristicResult(double bestObjective, 
-                             List<Integer> selectedAisles, 
-                             List<Integer> selectedOrders) {
-            this.bestObjective = bestObjective;
-            this.selectedAisles = selectedAisles;
-            this.selectedOrders = selectedOrders;
-        }
-    }
-
-    public HeuristicResult runHeuristic(double initialFO, double timeLimit, int initialL, 
-                                      int numOrders, int numItems, int numAisles,
-                                      List<List<List<Integer>>> orders, 
-                                      List<List<List<Integer>>> aisles,
-                                      int lowerBound, int upperBound,
-                                      List<List<Integer>> itemToOrdersMap,
-                                      List<List<Integer>> itemToAislesMap,
-                                      List<Integer> fixedAisles,
-                                      List<List<Integer>> orderGroups,
-                                      List<List<Integer>> additionalConstraints,
-                                      List<Integer> restrictedItems,
-                                      Set<Integer> excludedOrders,
-                                      StopWatch timer) {
-        
-        double bestFO = initialFO;
-        List<Integer> bestAisles = new ArrayList<>();
-        List<Integer> bestOrders = new ArrayList<>();
-        double maxL = upperBound / initialFO;
-        int currentL = initialL;
-
-        // Primeira fase: testa valores de L decrescentes
-        while (currentL > 0) {
-            if (timer.getTime(TimeUnit.SECONDS) >= timeLimit) {
-                System.out.println("Tempo esgotado - Fase decrescente");
-                break;
-            }
-
-            OptimizationResult result = solveModel((int)initialFO, lowerBound, upperBound, 
-                                                 numOrders, numAisles, numItems, currentL,
-                                                 orders, aisles, itemToOrdersMap, itemToAislesMap,
-                                                 fixedAisles, orderGroups, additionalConstraints,
-                                                 restrictedItems, excludedOrders, 
-                                                 timeLimit - timer.getTime(TimeUnit.SECONDS));
-
-            // Atualiza a melhor solução se encontrou uma melhor
-            if (result.getObjectiveValue() > bestFO) {
-                bestFO = result.getObjectiveValue();
-                bestAisles = result.getSelectedAisles();
-                bestOrders = result.getSelectedOrders();
-                maxL = upperBound / bestFO;
-            }
-
-            currentL--;
-            if (result.getObjectiveValue() == 0) {
-                break;
-            }
-        }
-
-        // Segunda fase: testa valores de L crescentes
-        currentL = initialL + 1;
-        while (currentL <= maxL && currentL <= numAisles) {
-            if (timer.getTime(TimeUnit.SECONDS) >= timeLimit) {
-                System.out.println("Tempo esgotado - Fase crescente");
-                break;
-            }
-
-            OptimizationResult result = solveModel((int)initialFO, lowerBound, upperBound,
-                                                numOrders, numAisles, numItems, currentL,
-                                                orders, aisles, itemToOrdersMap, itemToAislesMap,
-                                                fixedAisles, orderGroups, additionalConstraints,
-                                                restrictedItems, excludedOrders,
-                                                timeLimit - timer.getTime(TimeUnit.SECONDS));
-
-            // Atualiza a melhor solução se encontrou uma melhor
-            if (result.getObjectiveValue() > bestFO) {
-                bestFO = result.getObjectiveValue();
-                bestAisles = result.getSelectedAisles();
-                bestOrders = result.getSelectedOrders();
-                maxL = upperBound / bestFO;
-            }
-
-            currentL++;
-        }
-
-        return new HeuristicResult(bestFO, bestAisles, bestOrders);
-    }
-
-    private OptimizationResult solveModel(int currentBest, int lb, int ub,
-                                       int no, int na, int ni, int l,
-                                       List<List<List<Integer>>> O,
-                                       List<List<List<Integer>>> A,
-                                       List<List<Integer>> Io,
-                                       List<List<Integer>> Ia,
-                                       List<Integer> CI,
-                                       List<List<Integer>> G,
-                                       List<List<Integer>> fff,
-                                       List<Integer> ITEM_N,
-                                       Set<Integer> O_N,
-                                       double remainingTime) {
-        // Implementação do seu solver de otimização
-        // Retorna um OptimizationResult contendo:
-        // - Valor objetivo
-        // - Lista de corredores selecionados
-        // - Lista de pedidos selecionados
-        return new OptimizationResult(0.0, new ArrayList<>(), new ArrayList<>());
-    }
-}
-
-
-
-
-
-
-
-
-
-public static List<Integer> menoresIndices(int[] maxC, double frac) {
-    List<Integer> indices = new ArrayList<>();
-    for (int i = 0; i < maxC.length; i++) indices.add(i);
-    Collections.sort(indices, Comparator.comparingInt(i -> maxC[i]));
-    int k = Math.max(0, Math.min((int) Math.floor(frac * maxC.length), maxC.length));
-    return indices.subList(0, k); 
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-private void printPreprocessingData(PreprocessingResult result) {
-    System.out.println("\n========== DADOS DO PRÉ-PROCESSAMENTO ==========");
-    
-    // 1. Imprimir A (corredores)
-    System.out.println("\nA (Corredores):");
-    for (int i = 0; i < result.A.size(); i++) {
-        System.out.println("Corredor " + i + ": " + result.A.get(i));
-    }
-    
-    // 2. Imprimir d (demandas)
-    System.out.println("\nd (Demandas): " + Arrays.toString(result.d));
-    
-    // 3. Imprimir CAP (capacidades)
-    System.out.println("\nCAP (Capacidades): " + Arrays.toString(result.CAP));
-    
-    // 4. Imprimir ITEM_A (itens com capacidade suficiente)
-    System.out.println("\nITEM_A:");
-    for (int i = 0; i < result.ITEM_A.size(); i++) {
-        System.out.println("Corredor " + i + ": " + result.ITEM_A.get(i));
-    }
-    
-    // 5. Imprimir ITEM_B (todos os itens)
-    System.out.println("\nITEM_B:");
-    for (int i = 0; i < result.ITEM_B.size(); i++) {
-        System.out.println("Corredor " + i + ": " + result.ITEM_B.get(i));
-    }
-    
-    // 6. Imprimir DOM (subconjuntos)
-    System.out.println("\nDOM (Subconjuntos):");
-    for (int i = 0; i < result.DOM.size(); i++) {
-        System.out.println("Corredor " + i + " domina: " + result.DOM.get(i));
-    }
-    
-    // 7. Imprimir aux (corredores marcados)
-    System.out.println("\naux (Corredores Invalidos): " + result.aux);
-    
-    // 8. Imprimir ITEM_O (itens por pedido)
-    System.out.println("\nITEM_O (Itens por Pedido):");
-    for (int i = 0; i < result.ITEM_O.size(); i++) {
-        System.out.println("Pedido " + i + ": " + result.ITEM_O.get(i));
-    }
-    
-    // 9. Imprimir fff (pedidos que cabem nos corredores)
-    System.out.println("\nfff:");
-    for (int i = 0; i < result.fff.size(); i++) {
-        System.out.println("Corredor " + i + ": " + result.fff.get(i));
-    }
-    
-    // 10. Imprimir ggg (pedidos exclusivos)
-    System.out.println("\nggg:");
-    for (int i = 0; i < result.ggg.size(); i++) {
-        System.out.println("Corredor " + i + ": " + result.ggg.get(i));
-    }
-    
-    // 11. Imprimir G (grupos viáveis)
-    System.out.println("\nG (Grupos Viáveis):");
-    for (int i = 0; i < result.G.size(); i++) {
-        System.out.println("Corredor " + i + ": " + result.G.get(i));
-    }
-    
-    System.out.println("==============================================\n");
-}
-
-
-    // Método para buscar o valor de um item em uma lista de pedidos
-    private int buscarValor(List<List<Integer>> pedidos, int item) {
-        int valor = 0;
-        for (List<Integer> pedido : pedidos) {
-            int pedidoItem = pedido.get(0);  
-            int quantidade = pedido.get(1);  
-
-            if (pedidoItem == item) {
-                valor = quantidade;  
-                break;  
-            }
-        }
-        return valor;  
-    }
-
-private PreprocessingResult preprocessing(
-    int NO, int NI, int NA, 
-    List<List<List<Integer>>> O, 
-    List<List<List<Integer>>> A,
-    int LB, int UB,
-    List<List<Integer>> Io,
-    List<List<Integer>> Ia,
-    int[] d) {
-
-    // Passo 1: Calcular ITEM_A e ITEM_B
-    List<Set<Integer>> ITEM_A = new ArrayList<>();
-    List<Set<Integer>> ITEM_B = new ArrayList<>();
-    for (List<List<Integer>> aisle : A) {
-        Set<Integer> aItems = new HashSet<>();
-        Set<Integer> bItems = new HashSet<>();
-        for (List<Integer> pair : aisle) {
-            int item = pair.get(0);
-            bItems.add(item);
-            if (pair.get(1) >= d[item]) {
-                aItems.add(item);
-            }
-        }
-        ITEM_A.add(aItems);
-        ITEM_B.add(bItems);
-    }
-
-    // Passo 2: Calcular DOM
-    List<List<Integer>> DOM = new ArrayList<>();
-    for (int j = 0; j < ITEM_A.size(); j++) {
-        List<Integer> indices = new ArrayList<>();
-        Set<Integer> baseSet = ITEM_A.get(j);
-        for (int i = 0; i < ITEM_B.size(); i++) {
-            if (i != j && baseSet.containsAll(ITEM_B.get(i))) {
-                indices.add(i);
-            }
-        }
-        DOM.add(indices);
-    }
-
-    // Passo 3: Calcular aux
-    Set<Integer> aux = new HashSet<>();
-    for (List<Integer> list : DOM) aux.addAll(list);
-    
-    Set<Integer> aux2 = new HashSet<>();
-    for (int i = 0; i < A.size(); i++) {
-        for (List<Integer> pair : A.get(i)) {
-            if (pair.get(0) == 1 && pair.get(1) == -1) {
-                aux2.add(i);
-                break;
-            }
-        }
-    }
-    aux.addAll(aux2);
-
-    // Passo 4: Marcar corredores inválidos
-for (Integer invalidIdx : aux) {
-    if (invalidIdx < A.size()) {
-        A.set(invalidIdx, new ArrayList<>(Arrays.asList(Arrays.asList(1, -1))));
-        //                                                              ↑↑ Correção aqui
-    }
-}
-
-    // Passo 5: Calcular ITEM_O
-    List<Set<Integer>> ITEM_O = new ArrayList<>();
-    for (List<List<Integer>> order : O) {
-        ITEM_O.add(order.stream()
-            .map(pair -> pair.get(0))
-            .collect(Collectors.toSet()));
-    }
-
-    // Passo 6: Calcular fff
-    List<List<Integer>> fff = new ArrayList<>();
-    for (int i = 0; i < A.size(); i++) {
-        List<Integer> indices = new ArrayList<>();
-        if (!isInvalidAisle(A.get(i))) {
-            Set<Integer> aItems = ITEM_A.get(i);
-            for (int j = 0; j < ITEM_O.size(); j++) {
-                if (aItems.containsAll(ITEM_O.get(j))) {
-                    indices.add(j);
-                }
-            }
-        }
-        fff.add(indices);
-    }
-
-    // Passo 7: Recalcular Ia
-    List<List<Integer>> newIa = new ArrayList<>();
-    for (int i = 0; i < NI; i++) newIa.add(new ArrayList<>());
-    for (int a = 0; a < A.size(); a++) {
-        if (isInvalidAisle(A.get(a))) continue;
-        for (List<Integer> pair : A.get(a)) {
-            int item = pair.get(0);
-            if (item < NI) newIa.get(item).add(a);
-        }
-    }
-    Ia = newIa;
-
-    // Passo 8: Calcular ggg
-    List<List<Integer>> ggg = new ArrayList<>();
-    for (int i = 0; i < NA; i++) ggg.add(new ArrayList<>());
-    for (int item = 0; item < NI; item++) {
-        if (Ia.get(item).size() == 1) {
-            int aisleIdx = Ia.get(item).get(0);
-            if (aisleIdx < NA && !Io.get(item).isEmpty()) {
-                ggg.get(aisleIdx).add(Io.get(item).get(0));
-            }
-        }
-    }
-
-    // Passo 9: Calcular G
-    List<List<Integer>> G = new ArrayList<>();
-    for (int i = 0; i < NA; i++) {
-        Set<Integer> intersection = new HashSet<>(fff.get(i));
-        intersection.retainAll(new HashSet<>(ggg.get(i)));
-        G.add(new ArrayList<>(intersection));
-    }
-
-
-// Passo 10: Recalcular CAP garantindo CAP <= d
-int[] CAP = new int[NA];
-for (int a = 0; a < NA; a++) {
-    if (isInvalidAisle(A.get(a))) {
-        CAP[a] = -1;
-    } else {
-        // Calcula a capacidade original do corredor
-        int originalCap = A.get(a).stream()
-                          .mapToInt(p -> p.get(1))
-                          .sum();
-        
-        // Para cada item no corredor, verifica a demanda
-        int limitedCap = originalCap;
-        for (List<Integer> item : A.get(a)) {
-            int itemId = item.get(0);
-            int itemCap = item.get(1);
-            
-            // Se a capacidade do item no corredor > demanda total, ajusta
-            if (itemCap > d[itemId]) {
-                limitedCap = limitedCap - itemCap + d[itemId];
-            }
-        }
-        
-        CAP[a] = limitedCap;
-    }
-}
-    return new PreprocessingResult(
-        A, d, CAP, ITEM_A, ITEM_B, DOM, aux, ITEM_O, fff, ggg, G
-    );
-}
-
-private boolean isInvalidAisle(List<List<Integer>> aisle) {
-    return aisle.size() == 1 && 
-           aisle.get(0).get(0) == 1 && 
-           aisle.get(0).get(1) == -1;
-}
-
-    // Método para construir a lista Io
-    public static List<List<Integer>> buildIo(List<List<List<Integer>>> O, int nItems) {
-        // Inicializa Io com nItems listas vazias
-        List<List<Integer>> Io = new ArrayList<>();
-        for (int i = 0; i < nItems; i++) {
-            Io.add(new ArrayList<>());  // Cada tipo de item recebe uma lista vazia
-        }
-
-        // Preenche Io conforme os pedidos em O
-        for (int o = 0; o < O.size(); o++) {
-            List<List<Integer>> order = O.get(o);  // Pega o pedido o
-            for (List<Integer> itemPair : order) {
-                int item = itemPair.get(0);  // Pega o item (primeiro valor do par)
-                Io.get(item).add(o);  // Adiciona o pedido o à lista correspondente ao item
-            }
-        }
-
-        return Io;  // Retorna a lista Io preenchida
-    }
-
-    /*
-     * Get the remaining time in seconds
-     */
-    protected long getRemainingTime(StopWatch stopWatch) {
-        return Math.max(
-                TimeUnit.SECONDS.convert(MAX_RUNTIME - stopWatch.getTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
-                0);
-    }
-
-    protected boolean isSolutionFeasible(ChallengeSolution challengeSolution) {
-        Set<Integer> selectedOrders = challengeSolution.orders();
-        Set<Integer> visitedAisles = challengeSolution.aisles();
-        if (selectedOrders == null || visitedAisles == null || selectedOrders.isEmpty() || visitedAisles.isEmpty()) {
-            return false;
-        }
-
-        int[] totalUnitsPicked = new int[nItems];
-        int[] totalUnitsAvailable = new int[nItems];
-
-        // Calculate total units picked
-        for (int order : selectedOrders) {
-            for (Map.Entry<Integer, Integer> entry : orders.get(order).entrySet()) {
-                totalUnitsPicked[entry.getKey()] += entry.getValue();
-            }
-        }
-
-        // Calculate total units available
-        for (int aisle : visitedAisles) {
-            for (Map.Entry<Integer, Integer> entry : aisles.get(aisle).entrySet()) {
-                totalUnitsAvailable[entry.getKey()] += entry.getValue();
-            }
-        }
-
-        // Check if the total units picked are within bounds
-        int totalUnits = Arrays.stream(totalUnitsPicked).sum();
-        if (totalUnits < waveSizeLB || totalUnits > waveSizeUB) {
-            return false;
-        }
-
-        // Check if the units picked do not exceed the units available
-        for (int i = 0; i < nItems; i++) {
-            if (totalUnitsPicked[i] > totalUnitsAvailable[i]) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    protected double computeObjectiveFunction(ChallengeSolution challengeSolution) {
-        Set<Integer> selectedOrders = challengeSolution.orders();
-        Set<Integer> visitedAisles = challengeSolution.aisles();
-        if (selectedOrders == null || visitedAisles == null || selectedOrders.isEmpty() || visitedAisles.isEmpty()) {
-            return 0.0;
-        }
-        int totalUnitsPicked = 0;
-
-        // Calculate total units picked
-        for (int order : selectedOrders) {
-            totalUnitsPicked += orders.get(order).values().stream()
-                    .mapToInt(Integer::intValue)
-                    .sum();
-        }
-
-        // Calculate the number of visited aisles
-        int numVisitedAisles = visitedAisles.size();
-
-        // Objective function: total units picked / number of visited aisles
-        return (double) totalUnitsPicked / numVisitedAisles;
-    }
-}
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+
+
+
+
+
+
+public class ChallengeSolver {
+    private final long MAX_RUNTIME; // milliseconds; 10 minutes por padrão (SolverConfig.tempoMaximoMs)
+
+    protected List<Map<Integer, Integer>> orders;
+    protected List<Map<Integer, Integer>> aisles;
+    protected int nItems;
+    protected int waveSizeLB;
+    protected int waveSizeUB;
+    protected SolverConfig config;
+
+    // Estado de uma execução do solve
+    private SubproblemCache cache;
+    private VariableFixing fixacao;
+    private ElitePool elite;
+    private IncumbentExchange troca;   // Portfólio heurístico (null se desligado)
+    private SolverTelemetry telemetria = SolverTelemetry.DESATIVADA;
+    private DebugArtifacts depuracao = DebugArtifacts.DESATIVADO;
+    private double melhorObjetivo = 0.0;
+    private long tempoMelhorMs = -1;  // Instante (ms do stopWatch) em que a melhor solução foi encontrada
+    private List<Melhoria> trajetoria = new ArrayList<>();  // Cada troca do incumbente, na ordem em que ocorreu
+    private long nos;                 // Nós de branch-and-bound somados sobre os subproblemas resolvidos
+    private boolean linhasRelatadas;  // Redução das linhas de capacidade já foi para o log
+    private ComponentDecomposition.Curva curva;  // Curva do grupo quando resolvido pela decomposição
+    private ForkJoinPool poolPreprocessamento;   // Pool compartilhado do pré-processamento (null: um por solve)
+    private PreprocessingPipeline.Resultado preprocessado;  // Pré-processamento pronto (null: roda o pipeline)
+    private ChallengeSolution partida;           // Onda de onde a busca recomeça (null: só a gulosa)
+
+    public ChallengeSolver(
+            List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB) {
+        this(orders, aisles, nItems, waveSizeLB, waveSizeUB, SolverConfig.doSistema());
+    }
+
+    public ChallengeSolver(
+            List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB,
+            SolverConfig config) {
+        this.orders = orders;
+        this.aisles = aisles;
+        this.nItems = nItems;
+        this.waveSizeLB = waveSizeLB;
+        this.waveSizeUB = waveSizeUB;
+        this.config = config;
+        this.MAX_RUNTIME = config.tempoMaximoMs;
+    }
+
+    public double getMelhorObjetivo() { return melhorObjetivo; }
+    public long getTempoMelhorMs() { return tempoMelhorMs; }
+    public List<Melhoria> getTrajetoria() { return trajetoria; }
+
+    // Troca do incumbente: instante (ms do stopWatch) e objetivo. A onda da elite entra com o
+    // instante em que foi achada, que pode ser anterior ao da troca anterior
+    public record Melhoria(long tempoMs, double objetivo) {
+    }
+    public long getNos() { return nos; }
+
+
+public static class OptimizationResult {
+    // Situação do subproblema ao final do solve
+    public enum Status { OPTIMAL, FEASIBLE, INFEASIBLE, UNKNOWN }
+
+    private final double objectiveValue;
+    private final List<Integer> selectedOrders;
+    private final List<Integer> selectedAisles;
+    private final Status status;
+    private final double bound;  // Limitante superior provado para o subproblema
+    // Tamanho do modelo e tempos (preenchidos pelo runModel)
+    private int rows, cols, nnz;
+    private long buildMs, solveMs;
+    private long nodes;  // Nós de branch-and-bound (0 se o backend não informa)
+
+    public OptimizationResult(double objectiveValue, 
+                            List<Integer> selectedOrders, 
+                            List<Integer> selectedAisles) {
+        this(objectiveValue, selectedOrders, selectedAisles, Status.UNKNOWN, Double.POSITIVE_INFINITY);
+    }
+
+    public OptimizationResult(double objectiveValue,
+                            List<Integer> selectedOrders,
+                            List<Integer> selectedAisles,
+                            Status status,
+                            double bound) {
+        this.objectiveValue = objectiveValue;
+        this.selectedOrders = selectedOrders;
+        this.selectedAisles = selectedAisles;
+        this.status = status;
+        this.bound = bound;
+    }
+
+    public double getObjectiveValue() { return objectiveValue; }
+    public List<Integer> getSelectedOrders() { return selectedOrders; }
+    public List<Integer> getSelectedAisles() { return selectedAisles; }
+    public Status getStatus() { return status; }
+    public double getBound() { return bound; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getNnz() { return nnz; }
+    public long getBuildMs() { return buildMs; }
+    public long getSolveMs() { return solveMs; }
+    public long getNodes() { return nodes; }
+
+    public OptimizationResult withModelStats(int rows, int cols, int nnz, long buildMs, long solveMs) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nnz = nnz;
+        this.buildMs = buildMs;
+        this.solveMs = solveMs;
+        return this;
+    }
+
+    public OptimizationResult withNodes(long nodes) {
+        this.nodes = nodes;
+        return this;
+    }
+}
+
+public static OptimizationResult runModel(
+    double CB, int LB, int UB,
+    int NO, int NA, int NI, int L,
+    int[] F,
+    List<List<List<Integer>>> A,
+    List<List<Integer>> Ia,
+    List<List<List<Integer>>> O,
+    List<List<Integer>> Io,
+    List<Integer> CI,
+    List<? extends Collection<Integer>> G,
+    List<? extends Collection<Integer>> fff,
+    List<Integer> ITEM_N,
+    Set<Integer> O_N,
+    double timeLimit) {
+        
+    WaveModel modelo = WaveModel.construir(
+        CB, LB, UB, NO, NA, NI, L, F, A, Ia, O, Io, CI, G, fff, ITEM_N, O_N);
+    return MipBackend.padrao().resolver(modelo, timeLimit, 0);
+}
+
+// Linhas de capacidade descartadas na construção do modelo (uma vez por solve; não dependem de L)
+private void relatarLinhas(WaveModel modelo, int NI) {
+    if (linhasRelatadas) return;
+    linhasRelatadas = true;
+    System.out.println("[MODELO] Linhas de capacidade: " + modelo.getLinhasCapacidadeRemovidas() + " de " + NI
+        + " itens removidas (sem pedidos, repetidas ou implicadas por outro item de mesmo suporte)");
+    telemetria.registrar("linhas_capacidade",
+        "itens", NI,
+        "removidas", modelo.getLinhasCapacidadeRemovidas());
+}
+
+// Consulta o cache antes de resolver o subproblema (L, CI), guarda o resultado depois
+// e registra o subproblema na telemetria
+private OptimizationResult resolverSubproblema(
+    String fase,
+    double CB, int LB, int UB,
+    int NO, int NA, int NI, int L,
+    int[] F,
+    List<List<List<Integer>>> A,
+    List<List<Integer>> Ia,
+    List<List<List<Integer>>> O,
+    List<List<Integer>> Io,
+    List<Integer> CI,
+    List<? extends Collection<Integer>> G,
+    List<? extends Collection<Integer>> fff,
+    List<Integer> ITEM_N,
+    Set<Integer> O_N,
+    double timeLimit) {
+
+    // O alvo também considera a melhor onda da elite (path relinking em segundo plano)
+    // e a do portfólio heurístico
+    double melhorConhecido = Math.max(CB, elite.getMelhorObjetivo());
+    if (troca != null) melhorConhecido = Math.max(melhorConhecido, troca.getMelhorObjetivo());
+    // Com curva (grupo da decomposição) o subproblema não exige superar o incumbente: a mochila
+    // que combina os grupos precisa da melhor onda de cada L, não só das que melhoram a razão
+    int cbInt = curva != null ? 0 : (int) Math.ceil(melhorConhecido);
+    // Na formulação RAZAO, L é o mínimo de corredores (até UB / CB): o cache guarda a faixa
+    // [L, Lmax] (os L seguintes da fase caem nela) e as fixações, que supõem L fixo, ficam de fora
+    boolean razao = config.formulacao == WaveModel.Formulacao.RAZAO;
+    int Lmax = razao && cbInt > 0 ? Math.min(NA, UB / cbInt) : razao ? NA : L;
+    OptimizationResult result = razao ? cache.consultarFaixa(L, Lmax, CI, cbInt) : cache.consultar(L, CI, cbInt);
+    boolean doCache = result != null;
+    if (!doCache) {
+        if (razao) {
+            WaveModel modelo = WaveModel.construir(cbInt, LB, UB, NO, NA, NI, L, F, A, Ia, O, Io, CI, G, fff,
+                ITEM_N, O_N, config.formulacao, Lmax);
+            definirInicio(modelo, L, Lmax);
+            relatarLinhas(modelo, NI);
+            depuracao.modelo(fase, modelo);
+            result = modelo.resolverRazao(MipBackend.padrao(), timeLimit, config.threads);
+        } else {
+            // Fixações acumuladas de L (sondagem + custo reduzido), atualizadas para o CB atual
+            VariableFixing.Fixacoes fix = fixacao.fixacoes(L);
+            int antes = fix.total();
+            long inicioFixacao = System.nanoTime();
+            fixacao.atualizar(L, cbInt, Math.min(timeLimit / 10, 10.0), config.threads);
+            // O MIP fica com o que sobrou depois da relaxação (timeLimit é o orçamento do subproblema)
+            double tempoMip = Math.max(0.0, timeLimit - (System.nanoTime() - inicioFixacao) / 1e9);
+            if (fix.total() > antes || fix.inviavel) {
+                System.out.println("[FIXACAO] L=" + L + ": " + fix.pedidos.cardinality() + " pedidos e "
+                    + fix.corredores.cardinality() + " corredores fixados em zero (" + fix.porCustoReduzido
+                    + " por custo reduzido, " + fix.porSondagem + " por sondagem)"
+                    + (fix.inviavel ? " - L sem onda melhor que o incumbente" : ""));
+                telemetria.registrar("fixacao",
+                    "L", L,
+                    "pedidos", fix.pedidos.cardinality(),
+                    "corredores", fix.corredores.cardinality(),
+                    "custo_reduzido", fix.porCustoReduzido,
+                    "sondagem", fix.porSondagem,
+                    "inviavel", fix.inviavel);
+            }
+            if (fix.inviavel) {
+                result = new OptimizationResult(0.0, new ArrayList<>(), new ArrayList<>(),
+                    OptimizationResult.Status.INFEASIBLE, Double.NEGATIVE_INFINITY);
+            } else {
+                WaveModel modelo = WaveModel.construir(cbInt, LB, UB, NO, NA, NI, L, F, A, Ia, O, Io, CI, G, fff,
+                    ITEM_N, O_N, config.formulacao, L);
+                fixacao.aplicar(modelo, fix);
+                definirInicio(modelo, L, L);
+                relatarLinhas(modelo, NI);
+                depuracao.modelo(fase, modelo);
+                if (config.kernel > 0) {
+                    // Sequência de MIPs restritos (kernel + um balde de corredores por vez)
+                    if (troca != null) troca.definirAlvo(modelo, cbInt);
+                    result = new KernelSearch(MipBackend.padrao(), config.kernel, config.threads, troca)
+                        .resolver(modelo, fix.relaxacaoOtima(), tempoMip);
+                    if (troca != null) troca.limparAlvo();
+                } else if (troca != null) {
+                    // As threads heurísticas passam a trabalhar neste subproblema
+                    troca.definirAlvo(modelo, cbInt);
+                    result = MipBackend.padrao().resolver(modelo, tempoMip, config.threads, troca);
+                    troca.limparAlvo();
+                } else {
+                    result = MipBackend.padrao().resolver(modelo, tempoMip, config.threads);
+                }
+            }
+        }
+        nos += result.getNodes();
+        if (razao) cache.registrarFaixa(L, Lmax, CI, cbInt, result);
+        else cache.registrar(L, CI, cbInt, result);
+        elite.oferecer(result.getSelectedOrders(), result.getSelectedAisles(), result.getObjectiveValue());
+        if (curva != null) curva.oferecer(result.getSelectedOrders(), result.getSelectedAisles());
+    }
+    telemetria.subproblema(fase, L, CI.size(), result, doCache, Math.max(CB, result.getObjectiveValue()));
+    return result;
+}
+
+// A onda de partida entra como início do MIP nos subproblemas cujo número de corredores a admite
+private void definirInicio(WaveModel modelo, int L, int Lmax) {
+    if (partida == null) return;
+    int n = partida.aisles().size();
+    if (n >= L && n <= Lmax) modelo.definirInicio(partida.orders(), partida.aisles());
+}
+
+// Roda o pré-processamento no pool dado em vez de criar um por solve (modo servidor)
+void usarPoolPreprocessamento(ForkJoinPool pool) {
+    this.poolPreprocessamento = pool;
+}
+
+// Usa o pré-processamento dado em vez de rodar o pipeline (IncrementalSolver, que o mantém entre solves)
+void usarPreprocessamento(PreprocessingPipeline.Resultado etapas) {
+    this.preprocessado = etapas;
+}
+
+// Onda de partida: vira o incumbente se é viável e supera a gulosa; o L dela é resolvido antes das
+// fases, e ela é o início do MIP nos subproblemas desse L (o solver a repara se preciso)
+void definirPartida(ChallengeSolution onda) {
+    this.partida = onda;
+}
+
+// Registra as ondas vistas no solve (família gulosa, subproblemas e onda final) na curva
+void registrarCurva(ComponentDecomposition.Curva curva) {
+    this.curva = curva;
+}
+
+// Maior L que ainda pode superar CB (UB / CB); com curva a varredura vai até NA
+private int limiteL(double CB, int UB, int NA) {
+    return curva != null ? NA : Math.min((int) (UB / CB), NA);
+}
+
+// Solve por componentes conexas; null se a instância não se divide
+private ChallengeSolution resolverComponentes(StopWatch stopWatch) {
+    ComponentDecomposition decomposicao = new ComponentDecomposition(orders, aisles, nItems, waveSizeLB,
+        waveSizeUB, config);
+    ChallengeSolution solucao = decomposicao.resolver(stopWatch);
+    if (solucao != null) {
+        melhorObjetivo = decomposicao.getObjetivo();
+        tempoMelhorMs = decomposicao.getTempoMelhorMs();
+        trajetoria = new ArrayList<>(List.of(new Melhoria(tempoMelhorMs, melhorObjetivo)));
+        nos = decomposicao.getNos();
+    }
+    return solucao;
+}
+
+// Solve com itens, pedidos e corredores renumerados por RCM; a onda volta nos ids originais
+private ChallengeSolution resolverRenumerado(StopWatch stopWatch) {
+    long inicioMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+    Renumbering renumeracao = Renumbering.calcular(orders, aisles, nItems);
+    List<Map<Integer, Integer>> pedidos = renumeracao.pedidos(orders);
+    List<Map<Integer, Integer>> corredores = renumeracao.corredores(aisles);
+    System.out.println("[RCM] " + (stopWatch.getTime(TimeUnit.MILLISECONDS) - inicioMs) + "ms, espalhamento"
+        + " dos itens por pedido " + String.format("%.1f -> %.1f", Renumbering.espalhamento(orders),
+            Renumbering.espalhamento(pedidos))
+        + ", por corredor " + String.format("%.1f -> %.1f", Renumbering.espalhamento(aisles),
+            Renumbering.espalhamento(corredores)));
+
+    SolverConfig interno = config.copia();
+    interno.renumerar = false;
+    ChallengeSolver solver = new ChallengeSolver(pedidos, corredores, nItems, waveSizeLB, waveSizeUB, interno);
+    solver.usarPoolPreprocessamento(poolPreprocessamento);
+    ChallengeSolution solucao = solver.solve(stopWatch);
+    melhorObjetivo = solver.melhorObjetivo;
+    tempoMelhorMs = solver.tempoMelhorMs;
+    trajetoria = solver.trajetoria;
+    nos = solver.nos;
+    return new ChallengeSolution(
+        renumeracao.pedidosOriginais(solucao.orders()),
+        renumeracao.corredoresOriginais(solucao.aisles()));
+}
+
+// Classe interna para estado da heurística
+    private static class HeuristicState {
+        double FO;
+        Object ySolution;
+        List<Double> SolF = new ArrayList<>();
+        List<Integer> SolL = new ArrayList<>();
+        double LMax;
+        int L;
+    }
+
+
+
+   // Classe de resultado do pré-processamento (mantida única)
+    public static class PreprocessingResult {
+        public List<List<List<Integer>>> A;
+        public int[] d;
+        public int[] CAP;
+        // Relações entre corredores, itens e pedidos (CompressedBitmap)
+        public List<CompressedBitmap> ITEM_A;
+        public List<CompressedBitmap> ITEM_B;
+        public List<CompressedBitmap> DOM;
+        public Set<Integer> aux;
+        public List<CompressedBitmap> ITEM_O;
+        public List<CompressedBitmap> fff;
+        public List<CompressedBitmap> ggg;
+        public List<CompressedBitmap> G;
+
+        // Corredores removidos por regra: repetidos e DOM (demanda completa)
+        public int removidosRepetidos;
+        public int removidosDominancia;
+
+        public PreprocessingResult(
+            List<List<List<Integer>>> A, 
+            int[] d, 
+            int[] CAP,
+            List<CompressedBitmap> ITEM_A,
+            List<CompressedBitmap> ITEM_B,
+            List<CompressedBitmap> DOM,
+            Set<Integer> aux,
+            List<CompressedBitmap> ITEM_O,
+            List<CompressedBitmap> fff,
+            List<CompressedBitmap> ggg,
+            List<CompressedBitmap> G) {
+            
+            this.A = A;
+            this.d = d;
+            this.CAP = CAP;
+            this.ITEM_A = ITEM_A;
+            this.ITEM_B = ITEM_B;
+            this.DOM = DOM;
+            this.aux = aux;
+            this.ITEM_O = ITEM_O;
+            this.fff = fff;
+            this.ggg = ggg;
+            this.G = G;
+        }
+    }
+
+
+//------------------------------------------------------------
+
+
+//-------------------------------------------------------------
+
+//------------------------------------------------------------
+
+
+//-------------------------------------------------------------
+
+//------------------------------------------------------------
+
+
+//-------------------------------------------------------------
+
+
+ // Método principal para resolver o problema
+
+    public ChallengeSolution solve(StopWatch stopWatch) {
+        if (config.renumerar) return resolverRenumerado(stopWatch);
+        if (config.componentes) {
+            ChallengeSolution solucao = resolverComponentes(stopWatch);
+            if (solucao != null) return solucao;
+        }
+        trajetoria = new ArrayList<>();
+        telemetria = SolverTelemetry.abrir(config.telemetria);
+        depuracao = DebugArtifacts.abrir(config);
+
+        // Passos 1 a 10: pré-processamento como grafo de etapas num ForkJoinPool
+        // (conversão, Io/Ia/F/d, capacidade limitada a d, repetidos, DOM, fff, ggg, G, CAP)
+        long inicioPreMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        PreprocessingPipeline.Resultado etapas = preprocessado != null ? preprocessado
+            : poolPreprocessamento != null
+            ? PreprocessingPipeline.executar(orders, aisles, nItems, poolPreprocessamento)
+            : PreprocessingPipeline.executar(orders, aisles, nItems, config.threads);
+        System.out.println("[PRE] " + (stopWatch.getTime(TimeUnit.MILLISECONDS) - inicioPreMs) + "ms ("
+            + PreprocessingPipeline.resumo(etapas) + ")");
+        System.out.println("[PRE] Corredores removidos: " + etapas.pre.removidosRepetidos + " repetidos, "
+            + etapas.pre.removidosDominancia + " por DOM (de " + aisles.size() + ")");
+
+        List<List<List<Integer>>> O = etapas.O;
+        int NO = O.size();
+        int NI = nItems;
+        List<List<Integer>> Io = etapas.Io;
+        List<List<Integer>> Ia = etapas.Ia;    // Corredores que possuem cada item
+        int[] F = etapas.F;
+        int NA = aisles.size();
+        int LB = waveSizeLB;
+        int UB = waveSizeUB;
+        PreprocessingResult preprocessResult = etapas.pre;
+
+        // Passo 10: Atualizar estruturas com os resultados
+        List<List<List<Integer>>> A = preprocessResult.A;       // Corredores atualizados (com [1, -1] nos inválidos)
+        int[] d = preprocessResult.d;       // Demandas (inalteradas)
+        int[] CAP = preprocessResult.CAP; // Novas capacidades
+        List<CompressedBitmap> G = preprocessResult.G;         // Grupos de pedidos viáveis
+        List<CompressedBitmap> fff = preprocessResult.fff;         // Grupos de pedidos viáveis
+
+        //  Preprocessamento dos corredores
+        Preprocessing.limitarCapacidades(A, Ia, d);
+
+
+// Passo 11: Calcular CI e processar dados
+        List<Integer> CI = menoresIndices(CAP, config.fracoes.length > 0 ? config.fracoes[0] : 0.0); // 0.8 por padrão
+        Set<Integer> auxSet = new HashSet<>(preprocessResult.aux);
+        CI.addAll(auxSet);
+
+
+        
+        // Calcular ITEM_N
+        List<Integer> ITEM_N = Preprocessing.calcularItemN(Ia, CI);
+        
+        // Calcular O_N
+        Set<Integer> O_N = Preprocessing.calcularON(Io, ITEM_N);
+
+        telemetria.registrar("preprocessamento",
+            "pedidos", NO,
+            "itens", NI,
+            "corredores", NA,
+            "corredores_invalidos", preprocessResult.aux.size(),
+            "removidos_repetidos", preprocessResult.removidosRepetidos,
+            "removidos_dominancia", preprocessResult.removidosDominancia,
+            "ci", CI.size(),
+            "t_total_ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
+
+        // Passo 12: Gravar dados do pré-processamento (só com a depuração ligada)
+        depuracao.preprocessamento(preprocessResult, Io, Ia);
+
+
+
+  // Passo 13: Executar a heuristica
+  // Buscar solução para valores crescentes de L (Primeira iteração)
+    int L = 1;
+    int L_INICIAL = -1;  // Inicializado com -1 (valor inválido para indicar que ainda não foi encontrado)
+    double CB = 0.0;  // Alterado para double para manter precisão
+    int maxL = NA;
+    List<Integer> bestOrders = new ArrayList<>();
+    List<Integer> bestAisles = new ArrayList<>();
+   // ============= CONFIGURAÇÃO DE TEMPO =============
+    final long SAFETY_MARGIN = Math.min(config.margemSegurancaMs, MAX_RUNTIME / 10); // 5 segundos (10% em orçamentos curtos)
+    final long EFFECTIVE_MAX_TIME = MAX_RUNTIME - SAFETY_MARGIN;
+
+    // Cache dos subproblemas (L, CI) compartilhado entre as fases
+    cache = new SubproblemCache(NA);
+    fixacao = new VariableFixing(NO, NA, NI, LB, UB, F, A, O, Ia, Io, G, fff, preprocessResult.aux);
+
+    // Semente gulosa (CELF): melhor onda da família L = 1..NA vira o incumbente inicial,
+    // o que já corta a varredura (CB*L+1 no modelo e maxL = UB/CB). A família e o previsor
+    // param no fim do tempo efetivo
+    long inicioGulosoMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+    final long prazoHeuristicasNs = System.nanoTime()
+        + TimeUnit.MILLISECONDS.toNanos(Math.max(0, EFFECTIVE_MAX_TIME - inicioGulosoMs));
+    LazyGreedyAisles.Familia familia = new LazyGreedyAisles(NO, NA, NI, LB, UB, F, A, O, Io)
+        .executar(NA, prazoHeuristicasNs);
+    if (familia.melhorL > 0) {
+        CB = familia.melhorObjetivo();
+        bestOrders = new ArrayList<>(familia.pedidos.get(familia.melhorL));
+        bestAisles = familia.corredores(familia.melhorL);
+        tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+        maxL = limiteL(CB, UB, NA);
+    }
+    System.out.println("[GULOSO] " + familia.sequencia.size() + " corredores avaliados, melhor L=" + familia.melhorL
+        + " objetivo " + CB + " (" + (stopWatch.getTime(TimeUnit.MILLISECONDS) - inicioGulosoMs) + "ms)");
+    // Conjunto elite, semeado com a família gulosa, e path relinking em segundo plano
+    elite = new ElitePool(config.elite, stopWatch);
+    for (int l = 1; l < familia.objetivo.size(); l++) {
+        elite.oferecer(familia.pedidos.get(l), familia.corredores(l), familia.objetivo.get(l));
+        if (curva != null) curva.oferecer(familia.pedidos.get(l), familia.corredores(l));
+    }
+    // Onda de partida (re-solve incremental)
+    int Lpartida = partida != null ? partida.aisles().size() : 0;
+    if (partida != null && isSolutionFeasible(partida)) {
+        double objetivoPartida = computeObjectiveFunction(partida);
+        elite.oferecer(new ArrayList<>(partida.orders()), new ArrayList<>(partida.aisles()), objetivoPartida);
+        if (objetivoPartida > CB) {
+            CB = objetivoPartida;
+            bestOrders = new ArrayList<>(partida.orders());
+            bestAisles = new ArrayList<>(partida.aisles());
+            tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+            maxL = limiteL(CB, UB, NA);
+        }
+        System.out.println("[PARTIDA] Onda de partida com L=" + Lpartida + ", objetivo " + objetivoPartida);
+    }
+    PathRelinking relinking = new PathRelinking(elite, NO, NA, NI, LB, UB, F, A, O, Io);
+    if (config.elite > 0) relinking.iniciar();
+
+    // Portfólio: threads heurísticas trocando incumbentes com o MIP de cada L
+    HeuristicPortfolio portfolio = null;
+    troca = null;
+    if (config.portfolio > 0) {
+        troca = new IncumbentExchange(NA);
+        for (int l = 1; l < familia.objetivo.size(); l++) {
+            troca.publicar(familia.pedidos.get(l), familia.corredores(l), familia.objetivo.get(l),
+                IncumbentExchange.HEURISTICA);
+        }
+        portfolio = new HeuristicPortfolio(troca, config.portfolio, NO, NA, NI, LB, UB, F, A, O);
+        portfolio.iniciar();
+    }
+    telemetria.registrar("guloso",
+        "L", familia.melhorL,
+        "objetivo", CB,
+        "corredores_avaliados", familia.sequencia.size(),
+        "t_ms", stopWatch.getTime(TimeUnit.MILLISECONDS) - inicioGulosoMs);
+
+    // ============= PARTIDA (L DA ONDA DE PARTIDA) =============
+    // Só os inválidos ficam fixados, para que os corredores da onda de partida continuem livres
+    if (Lpartida > 0 && Lpartida <= maxL
+            && EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS) >= config.corteFaseMs) {
+        List<Integer> CIpartida = new ArrayList<>(preprocessResult.aux);
+        List<Integer> ITEM_Npartida = Preprocessing.calcularItemN(Ia, CIpartida);
+        OptimizationResult result = resolverSubproblema("partida",
+            CB, LB, UB, NO, NA, NI, Lpartida,
+            F, A, Ia, O, Io, CIpartida, G, fff,
+            ITEM_Npartida, Preprocessing.calcularON(Io, ITEM_Npartida),
+            (EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) / 1000.0
+        );
+        if (result.getObjectiveValue() > CB) {
+            CB = result.getObjectiveValue();
+            bestOrders = new ArrayList<>(result.getSelectedOrders());
+            bestAisles = new ArrayList<>(result.getSelectedAisles());
+            tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+            maxL = limiteL(CB, UB, NA);
+        }
+    }
+
+    // ============= FASE 0 (JANELA PREVISTA DE L) =============
+    // Com sbpo.previsaoL > 0, resolve primeiro os L da janela prevista por amostragem (melhor
+    // pontuação primeiro), com o tempo dividido entre eles; depois a varredura normal continua
+    if (config.previsaoL > 0 && CB > 0) {
+        LRangePredictor.Previsao previsao = new LRangePredictor(NO, NA, NI, LB, UB, F, A, O)
+            .prever(config.previsaoL, maxL, 42, prazoHeuristicasNs);
+        System.out.println("[PREVISAO] Janela L=[" + previsao.de + "," + previsao.ate + "], ordem "
+            + previsao.ranking + " (" + previsao.tempoMs + "ms)");
+        telemetria.registrar("previsao",
+            "de", previsao.de,
+            "ate", previsao.ate,
+            "t_ms", previsao.tempoMs);
+        for (int k = 0; k < previsao.ranking.size(); k++) {
+            int Lp = previsao.ranking.get(k);
+            long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
+            if (remainingTimeMs < config.corteFaseMs) break;
+            if (Lp > maxL) continue;
+            OptimizationResult result = resolverSubproblema("fase0_previsao",
+                CB, LB, UB, NO, NA, NI, Lp,
+                F, A, Ia, O, Io, CI, G, fff,
+                ITEM_N, O_N, remainingTimeMs / 1000.0 / (previsao.ranking.size() - k)
+            );
+            if (result.getObjectiveValue() > CB) {
+                CB = result.getObjectiveValue();
+                bestOrders = new ArrayList<>(result.getSelectedOrders());
+                bestAisles = new ArrayList<>(result.getSelectedAisles());
+                tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+                maxL = limiteL(CB, UB, NA);
+            }
+        }
+    }
+
+    // ============= PRIMEIRA FASE (L CRESCENTE) =============
+    
+    while (L <= maxL && L <= NA) {
+        long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
+        
+        // Verificação de tempo crítico
+        if (remainingTimeMs < config.corteFaseMs) {
+            System.out.println("[FASE 1] Tempo crítico - retornando solução atual");
+            break;
+        }
+        
+        OptimizationResult result = resolverSubproblema("fase1_crescente",
+            CB, LB, UB, NO, NA, NI, L,
+            F, A, Ia, O, Io, CI, G, fff,
+            ITEM_N, O_N, remainingTimeMs / 1000.0
+        );
+
+        // Atualizar L_INICIAL
+        if (L_INICIAL == -1 && result.getObjectiveValue() > 0) {
+            L_INICIAL = L;
+            System.out.println("[FASE 1] Primeira solução factível em L=" + L);
+        }
+
+        // Atualizar melhor solução
+        if (result.getObjectiveValue() > CB) {
+            CB = result.getObjectiveValue();
+            bestOrders = new ArrayList<>(result.getSelectedOrders());
+            bestAisles = new ArrayList<>(result.getSelectedAisles());
+            tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+            maxL = limiteL(CB, UB, NA);
+        }
+
+        // Verificação pós-execução
+        if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < config.corteFaseMs) {
+            System.out.println("[FASE 1] Tempo crítico pós-execucao - saindo");
+            break;
+        }
+        
+        L++;
+    }
+
+    // ============= FASES SEGUINTES (CI MENOR A CADA FASE) =============
+    // A fase k fixa a fração config.fracoes[k-1] dos corredores de menor capacidade; a última
+    // fixa só os inválidos. Cada fase varre L decrescente a partir de L_INICIAL - 1 e depois
+    // crescente a partir de L_INICIAL (na ordem inversa com config.crescentePrimeiro)
+    for (int fase = 2; fase <= config.fracoes.length + 1; fase++) {
+        CI = fase <= config.fracoes.length ? menoresIndices(CAP, config.fracoes[fase - 1]) : new ArrayList<>();
+        CI.addAll(new HashSet<>(preprocessResult.aux));
+
+        ITEM_N = Preprocessing.calcularItemN(Ia, CI);
+        O_N = Preprocessing.calcularON(Io, ITEM_N);
+
+        for (int passo = 0; passo < 2; passo++) {
+            boolean crescente = (passo == 0) == config.crescentePrimeiro;
+            String nomeFase = "fase" + fase + (crescente ? "_crescente" : "_decrescente");
+            L = crescente ? Math.max(L_INICIAL, 1) : (L_INICIAL > 0 ? L_INICIAL - 1 : 1);
+
+            while (crescente ? L <= maxL && L <= NA : L > 0) {
+                long remainingTimeMs = EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS);
+
+                if (remainingTimeMs < config.corteFaseMs) {
+                    System.out.println("[FASE " + fase + "] Tempo crítico - retornando solução atual");
+                    break;
+                }
+
+                OptimizationResult result = resolverSubproblema(nomeFase,
+                    CB, LB, UB, NO, NA, NI, L,
+                    F, A, Ia, O, Io, CI, G, fff,
+                    ITEM_N, O_N, remainingTimeMs / 1000.0
+                );
+
+                if (result.getObjectiveValue() > CB) {
+                    CB = result.getObjectiveValue();
+                    bestOrders = new ArrayList<>(result.getSelectedOrders());
+                    bestAisles = new ArrayList<>(result.getSelectedAisles());
+                    tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+                    maxL = limiteL(CB, UB, NA);
+                }
+
+                if (!crescente && result.getObjectiveValue() > 0) {
+                    L_INICIAL = Math.min(L_INICIAL, L);
+                }
+
+                if ((EFFECTIVE_MAX_TIME - stopWatch.getTime(TimeUnit.MILLISECONDS)) < config.corteFaseMs) {
+                    System.out.println("[FASE " + fase + "] Tempo crítico pós-execucao - saindo");
+                    break;
+                }
+
+                L += crescente ? 1 : -1;
+            }
+        }
+    }
+
+    relinking.parar();
+    ElitePool.Onda melhorElite = elite.getMelhor();
+    if (melhorElite != null && melhorElite.objetivo > CB) {
+        System.out.println("[ELITE] Onda da elite supera o incumbente: " + melhorElite.objetivo + " > " + CB);
+        CB = melhorElite.objetivo;
+        bestOrders = new ArrayList<>(melhorElite.pedidos);
+        bestAisles = melhorElite.listaCorredores();
+        tempoMelhorMs = melhorElite.tempoMs;
+        trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+    }
+    if (portfolio != null) {
+        portfolio.parar();
+        IncumbentExchange.Onda melhorTroca = troca.getMelhor();
+        if (melhorTroca != null && melhorTroca.objetivo > CB) {
+            System.out.println("[PORTFOLIO] Onda do portfólio supera o incumbente: " + melhorTroca.objetivo + " > " + CB);
+            CB = melhorTroca.objetivo;
+            bestOrders = Arrays.stream(melhorTroca.pedidos).boxed().collect(Collectors.toList());
+            bestAisles = Arrays.stream(melhorTroca.corredores).boxed().collect(Collectors.toList());
+            tempoMelhorMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            trajetoria.add(new Melhoria(tempoMelhorMs, CB));
+        }
+    }
+
+    System.out.println("[CACHE] Subproblemas pulados: " + cache.getAcertos() + " | resolvidos: " + cache.getFalhas());
+    System.out.println("Tempo total usado: " + stopWatch.getTime(TimeUnit.SECONDS) + "s");
+    melhorObjetivo = CB;
+    if (curva != null) curva.oferecer(bestOrders, bestAisles);
+    telemetria.registrar("fim",
+        "objetivo", CB,
+        "pedidos", bestOrders.size(),
+        "corredores", bestAisles.size(),
+        "cache_acertos", cache.getAcertos(),
+        "cache_falhas", cache.getFalhas());
+    telemetria.close();
+    depuracao.close();
+    return new ChallengeSolution(
+        new HashSet<>(bestOrders),
+        new HashSet<>(bestAisles)
+    );
+
+
+
+
+ // Acho que está ok, conferir dpz se precisa atualizar Ia, neste caso tomar cuidado com Ia duplicado.
+//
+//
+//
+    // Passo 7: Recalcular Ia
+   // List<List<Integer>> newIa = new ArrayList<>();
+   // for (int i = 0; i < NI; i++) newIa.add(new ArrayList<>());
+   // for (int a = 0; a < A.size(); a++) {
+       // if (isInvalidAisle(A.get(a))) continue;
+       // for (List<Integer> pair : A.get(a)) {
+     //       int item = pair.get(0);
+   //         if (item < NI) newIa.get(item).add(a);
+  //     }
+ //   }
+//    Ia = newIa;
+
+    }
+
+
+
+
+public class HeuristicSolver {
+    
+    public static class HeuristicResult {
+        public double bestObjective;  // Melhor valor FO encontrado
+        public List<Integer> selectedAisles;  // Corredores selecionados (A_solution)
+        public List<Integer> selectedOrders;   // Pedidos selecionados (O_solution)
+        
+        public HeuristicResult(double bestObjective, 
+                             List<Integer> selectedAisles, 
+                             List<Integer> selectedOrders) {
+            this.bestObjective = bestObjective;
+            this.selectedAisles = selectedAisles;
+            this.selectedOrders = selectedOrders;
+        }
+    }
+
+    public HeuristicResult runHeuristic(double initialFO, double timeLimit, int initialL, 
+                                      int numOrders, int numItems, int numAisles,
+                                      List<List<List<Integer>>> orders, 
+                                      List<List<List<Integer>>> aisles,
+                                      int lowerBound, int upperBound,
+                                      List<List<Integer>> itemToOrdersMap,
+                                      List<List<Integer>> itemToAislesMap,
+                                      List<Integer> fixedAisles,
+                                      List<List<Integer>> orderGroups,
+                                      List<List<Integer>> additionalConstraints,
+                                      List<Integer> restrictedItems,
+                                      Set<Integer> excludedOrders,
+                                      StopWatch timer) {
+        
+        double bestFO = initialFO;
+        List<Integer> bestAisles = new ArrayList<>();
+        List<Integer> bestOrders = new ArrayList<>();
+        double maxL = upperBound / initialFO;
+        int currentL = initialL;
+
+        // Primeira fase: testa valores de L decrescentes
+        while (currentL > 0) {
+            if (timer.getTime(TimeUnit.SECONDS) >= timeLimit) {
+                System.out.println("Tempo esgotado - Fase decrescente");
+                break;
+            }
+
+            OptimizationResult result = solveModel((int)initialFO, lowerBound, upperBound, 
+                                                 numOrders, numAisles, numItems, currentL,
+                                                 orders, aisles, itemToOrdersMap, itemToAislesMap,
+                                                 fixedAisles, orderGroups, additionalConstraints,
+                                                 restrictedItems, excludedOrders, 
+                                                 timeLimit - timer.getTime(TimeUnit.SECONDS));
+
+            // Atualiza a melhor solução se encontrou uma melhor
+            if (result.getObjectiveValue() > bestFO) {
+                bestFO = result.getObjectiveValue();
+                bestAisles = result.getSelectedAisles();
+                bestOrders = result.getSelectedOrders();
+                maxL = upperBound / bestFO;
+            }
+
+            currentL--;
+            if (result.getObjectiveValue() == 0) {
+                break;
+            }
+        }
+
+        // Segunda fase: testa valores de L crescentes
+        currentL = initialL + 1;
+        while (currentL <= maxL && currentL <= numAisles) {
+            if (timer.getTime(TimeUnit.SECONDS) >= timeLimit) {
+                System.out.println("Tempo esgotado - Fase crescente");
+                break;
+            }
+
+            OptimizationResult result = solveModel((int)initialFO, lowerBound, upperBound,
+                                                numOrders, numAisles, numItems, currentL,
+                                                orders, aisles, itemToOrdersMap, itemToAislesMap,
+                                                fixedAisles, orderGroups, additionalConstraints,
+                                                restrictedItems, excludedOrders,
+                                                timeLimit - timer.getTime(TimeUnit.SECONDS));
+
+            // Atualiza a melhor solução se encontrou uma melhor
+            if (result.getObjectiveValue() > bestFO) {
+                bestFO = result.getObjectiveValue();
+                bestAisles = result.getSelectedAisles();
+                bestOrders = result.getSelectedOrders();
+                maxL = upperBound / bestFO;
+            }
+
+            currentL++;
+        }
+
+        return new HeuristicResult(bestFO, bestAisles, bestOrders);
+    }
+
+    private OptimizationResult solveModel(int currentBest, int lb, int ub,
+                                       int no, int na, int ni, int l,
+                                       List<List<List<Integer>>> O,
+                                       List<List<List<Integer>>> A,
+                                       List<List<Integer>> Io,
+                                       List<List<Integer>> Ia,
+                                       List<Integer> CI,
+                                       List<? extends Collection<Integer>> G,
+                                       List<? extends Collection<Integer>> fff,
+                                       List<Integer> ITEM_N,
+                                       Set<Integer> O_N,
+                                       double remainingTime) {
+        // Implementação do seu solver de otimização
+        // Retorna um OptimizationResult contendo:
+        // - Valor objetivo
+        // - Lista de corredores selecionados
+        // - Lista de pedidos selecionados
+        return new OptimizationResult(0.0, new ArrayList<>(), new ArrayList<>());
+    }
+}
+
+
+
+
+
+
+
+
+
+public static List<Integer> menoresIndices(int[] maxC, double frac) {
+    List<Integer> indices = new ArrayList<>();
+    for (int i = 0; i < maxC.length; i++) indices.add(i);
+    Collections.sort(indices, Comparator.comparingInt(i -> maxC[i]));
+    int k = Math.max(0, Math.min((int) Math.floor(frac * maxC.length), maxC.length));
+    return indices.subList(0, k); 
+}
+
+
+
+
+
+
+
+
+
+
+
+
+
+
+
+
+
+    // Método para construir a lista Io
+    public static List<List<Integer>> buildIo(List<List<List<Integer>>> O, int nItems) {
+        return Preprocessing.buildIo(O, nItems);
+    }
+
+    /*
+     * Get the remaining time in seconds
+     */
+    protected long getRemainingTime(StopWatch stopWatch) {
+        return Math.max(
+                TimeUnit.SECONDS.convert(MAX_RUNTIME - stopWatch.getTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
+                0);
+    }
+
+    protected boolean isSolutionFeasible(ChallengeSolution challengeSolution) {
+        Set<Integer> selectedOrders = challengeSolution.orders();
+        Set<Integer> visitedAisles = challengeSolution.aisles();
+        if (selectedOrders == null || visitedAisles == null || selectedOrders.isEmpty() || visitedAisles.isEmpty()) {
+            return false;
+        }
+
+        int[] totalUnitsPicked = new int[nItems];
+        int[] totalUnitsAvailable = new int[nItems];
+
+        // Calculate total units picked
+        for (int order : selectedOrders) {
+            for (Map.Entry<Integer, Integer> entry : orders.get(order).entrySet()) {
+                totalUnitsPicked[entry.getKey()] += entry.getValue();
+            }
+        }
+
+        // Calculate total units available
+        for (int aisle : visitedAisles) {
+            for (Map.Entry<Integer, Integer> entry : aisles.get(aisle).entrySet()) {
+                totalUnitsAvailable[entry.getKey()] += entry.getValue();
+            }
+        }
+
+        // Check if the total units picked are within bounds
+        int totalUnits = Arrays.stream(totalUnitsPicked).sum();
+        if (totalUnits < waveSizeLB || totalUnits > waveSizeUB) {
+            return false;
+        }
+
+        // Check if the units picked do not exceed the units available
+        for (int i = 0; i < nItems; i++) {
+            if (totalUnitsPicked[i] > totalUnitsAvailable[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    protected double computeObjectiveFunction(ChallengeSolution challengeSolution) {
+        Set<Integer> selectedOrders = challengeSolution.orders();
+        Set<Integer> visitedAisles = challengeSolution.aisles();
+        if (selectedOrders == null || visitedAisles == null || selectedOrders.isEmpty() || visitedAisles.isEmpty()) {
+            return 0.0;
+        }
+        int totalUnitsPicked = 0;
+
+        // Calculate total units picked
+        for (int order : selectedOrders) {
+            totalUnitsPicked += orders.get(order).values().stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+        }
+
+        // Calculate the number of visited aisles
+        int numVisitedAisles = visitedAisles.size();
+
+        // Objective function: total units picked / number of visited aisles
+        return (double) totalUnitsPicked / numVisitedAisles;
+    }
+}
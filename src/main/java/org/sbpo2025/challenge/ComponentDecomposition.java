@@ -0,0 +1,349 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Decomposição da instância em componentes conexas do grafo pedido–item–corredor.
+//
+// Union-find sobre os itens: os itens de um pedido (ou de um corredor) ficam na mesma
+// componente. Componentes sem pedidos ou sem corredores não geram onda e são descartadas;
+// acima de MAX_GRUPOS, as menores são juntadas em grupos (continuam independentes entre si).
+// Cada grupo é resolvido em paralelo com LB = 1 e uma fatia das threads, registrando a curva
+// (unidades, corredores) das ondas vistas; com curva, o solve do grupo varre todo L sem exigir
+// superar o próprio incumbente, então a curva tem a melhor onda que ele achou para cada L. As
+// curvas são combinadas por uma mochila sobre o total de corredores e de unidades com
+// LB <= unidades <= UB. A razão de uma combinação nunca passa a melhor
+// razão das partes; a mochila só importa quando o melhor grupo sozinho fica abaixo de LB.
+public class ComponentDecomposition {
+
+    static final int MAX_GRUPOS = 16;
+    private static final byte SEM = Byte.MAX_VALUE;  // Estado da mochila nunca alcançado
+
+    // Onda de um grupo, nos ids do grupo
+    static final class Ponto {
+        final int unidades;
+        final List<Integer> pedidos;
+        final List<Integer> corredores;
+
+        Ponto(int unidades, List<Integer> pedidos, List<Integer> corredores) {
+            this.unidades = unidades;
+            this.pedidos = pedidos;
+            this.corredores = corredores;
+        }
+    }
+
+    // Curva do grupo: a onda com mais unidades para cada número de corredores.
+    // Alimentada pelo ChallengeSolver do grupo (família gulosa, subproblemas e onda final)
+    public static final class Curva {
+        private final List<Map<Integer, Integer>> orders;
+        private final TreeMap<Integer, Ponto> porCorredores = new TreeMap<>();
+
+        Curva(List<Map<Integer, Integer>> orders) {
+            this.orders = orders;
+        }
+
+        public synchronized void oferecer(Collection<Integer> pedidos, Collection<Integer> corredores) {
+            if (pedidos.isEmpty() || corredores.isEmpty()) return;
+            int unidades = 0;
+            for (int o : pedidos) {
+                for (int q : orders.get(o).values()) unidades += q;
+            }
+            Ponto atual = porCorredores.get(corredores.size());
+            if (atual == null || unidades > atual.unidades) {
+                porCorredores.put(corredores.size(),
+                    new Ponto(unidades, new ArrayList<>(pedidos), new ArrayList<>(corredores)));
+            }
+        }
+
+        synchronized List<Ponto> pontos() {
+            return new ArrayList<>(porCorredores.values());
+        }
+    }
+
+    // Pedidos e corredores de um grupo (ids originais)
+    static final class Grupo {
+        final List<Integer> pedidos = new ArrayList<>();
+        final List<Integer> corredores = new ArrayList<>();
+    }
+
+    private final List<Map<Integer, Integer>> orders;
+    private final List<Map<Integer, Integer>> aisles;
+    private final int nItems;
+    private final int waveSizeLB;
+    private final int waveSizeUB;
+    private final SolverConfig config;
+
+    // Preenchidos por resolver
+    private double objetivo;
+    private long tempoMelhorMs = -1;
+    private long nos;
+
+    public ComponentDecomposition(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles,
+                                  int nItems, int waveSizeLB, int waveSizeUB, SolverConfig config) {
+        this.orders = orders;
+        this.aisles = aisles;
+        this.nItems = nItems;
+        this.waveSizeLB = waveSizeLB;
+        this.waveSizeUB = waveSizeUB;
+        this.config = config;
+    }
+
+    public double getObjetivo() { return objetivo; }
+    public long getTempoMelhorMs() { return tempoMelhorMs; }
+    public long getNos() { return nos; }
+
+    // Grupos com pedidos e corredores, maiores primeiro
+    List<Grupo> grupos() {
+        int[] pai = new int[nItems];
+        for (int i = 0; i < nItems; i++) pai[i] = i;
+        for (Map<Integer, Integer> order : orders) unir(pai, order.keySet());
+        for (Map<Integer, Integer> aisle : aisles) unir(pai, aisle.keySet());
+
+        Map<Integer, Grupo> porRaiz = new TreeMap<>();
+        for (int o = 0; o < orders.size(); o++) {
+            if (orders.get(o).isEmpty()) continue;
+            porRaiz.computeIfAbsent(raiz(pai, orders.get(o).keySet().iterator().next()), r -> new Grupo()).pedidos.add(o);
+        }
+        for (int a = 0; a < aisles.size(); a++) {
+            if (aisles.get(a).isEmpty()) continue;
+            Grupo g = porRaiz.get(raiz(pai, aisles.get(a).keySet().iterator().next()));
+            if (g != null) g.corredores.add(a);
+        }
+        List<Grupo> componentes = new ArrayList<>();
+        for (Grupo g : porRaiz.values()) {
+            if (!g.corredores.isEmpty()) componentes.add(g);
+        }
+        componentes.sort((x, y) -> Integer.compare(y.pedidos.size() + y.corredores.size(),
+            x.pedidos.size() + x.corredores.size()));
+
+        // Excedentes vão para o grupo com menos pedidos e corredores
+        List<Grupo> grupos = new ArrayList<>(componentes.subList(0, Math.min(MAX_GRUPOS, componentes.size())));
+        for (int c = grupos.size(); c < componentes.size(); c++) {
+            Grupo menor = grupos.get(0);
+            for (Grupo g : grupos) {
+                if (g.pedidos.size() + g.corredores.size() < menor.pedidos.size() + menor.corredores.size()) menor = g;
+            }
+            menor.pedidos.addAll(componentes.get(c).pedidos);
+            menor.corredores.addAll(componentes.get(c).corredores);
+        }
+        return grupos;
+    }
+
+    private static void unir(int[] pai, Set<Integer> itens) {
+        int primeiro = -1;
+        for (int i : itens) {
+            int r = raiz(pai, i);
+            if (primeiro < 0) primeiro = r;
+            else if (r != primeiro) pai[r] = primeiro;
+        }
+    }
+
+    private static int raiz(int[] pai, int i) {
+        while (pai[i] != i) {
+            pai[i] = pai[pai[i]];
+            i = pai[i];
+        }
+        return i;
+    }
+
+    // Resolve os grupos e combina as curvas; null se a instância tem um grupo só
+    public ChallengeSolution resolver(StopWatch stopWatch) {
+        List<Grupo> grupos = grupos();
+        if (grupos.size() <= 1) return null;
+        int K = grupos.size();
+        System.out.println("[COMPONENTES] " + K + " grupos independentes (pedidos/corredores: "
+            + grupos.stream().map(g -> g.pedidos.size() + "/" + g.corredores.size())
+                .reduce((x, y) -> x + ", " + y).orElse("") + ")");
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        SolverConfig interno = config.copia();
+        interno.componentes = false;
+        interno.renumerar = false;
+        interno.telemetria = "";
+        interno.depuracao = "";
+        interno.threads = Math.max(1, (config.threads > 0 ? config.threads : nucleos) / K);
+        // A curva precisa de um ponto por L; a RAZAO dá só a melhor razão de uma faixa de L
+        if (interno.formulacao == WaveModel.Formulacao.RAZAO) interno.formulacao = WaveModel.Formulacao.DESAGREGADA;
+
+        List<Curva> curvas = new ArrayList<>();
+        List<ChallengeSolver> solvers = new ArrayList<>();
+        for (Grupo g : grupos) {
+            List<Map<Integer, Integer>> subOrders = new ArrayList<>();
+            List<Map<Integer, Integer>> subAisles = new ArrayList<>();
+            for (int o : g.pedidos) subOrders.add(orders.get(o));
+            for (int a : g.corredores) subAisles.add(aisles.get(a));
+            Curva curva = new Curva(subOrders);
+            ChallengeSolver solver = new ChallengeSolver(subOrders, subAisles, nItems, 1, waveSizeUB, interno);
+            solver.registrarCurva(curva);
+            curvas.add(curva);
+            solvers.add(solver);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(K);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (ChallengeSolver solver : solvers) futuros.add(pool.submit(() -> solver.solve(stopWatch)));
+            for (Future<?> futuro : futuros) {
+                try {
+                    futuro.get();
+                } catch (ExecutionException e) {
+                    System.err.println("[COMPONENTES] Erro: " + e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (ChallengeSolver solver : solvers) nos += solver.getNos();
+
+        long inicioMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        List<List<Ponto>> pontos = new ArrayList<>();
+        for (Curva c : curvas) pontos.add(c.pontos());
+        int[] escolha = combinar(pontos, waveSizeLB, waveSizeUB);
+
+        Set<Integer> pedidos = new HashSet<>();
+        Set<Integer> corredores = new HashSet<>();
+        int unidades = 0;
+        for (int g = 0; g < K; g++) {
+            if (escolha == null || escolha[g] < 0) continue;
+            Ponto p = pontos.get(g).get(escolha[g]);
+            for (int o : p.pedidos) pedidos.add(grupos.get(g).pedidos.get(o));
+            for (int a : p.corredores) corredores.add(grupos.get(g).corredores.get(a));
+            unidades += p.unidades;
+            tempoMelhorMs = Math.max(tempoMelhorMs, solvers.get(g).getTempoMelhorMs());
+        }
+        objetivo = corredores.isEmpty() ? 0.0 : (double) unidades / corredores.size();
+        System.out.println("[COMPONENTES] Combinação: " + (escolha == null ? "nenhuma onda viável"
+            : unidades + " unidades em " + corredores.size() + " corredores, objetivo " + objetivo) + " ("
+            + (stopWatch.getTime(TimeUnit.MILLISECONDS) - inicioMs) + "ms)");
+        return new ChallengeSolution(pedidos, corredores);
+    }
+
+    // Mochila: no máximo um ponto por grupo, LB <= unidades <= UB, maior unidades / corredores.
+    // alcance[l] é o conjunto (bits) de totais de unidades alcançáveis com l corredores e os
+    // grupos já vistos; só a camada anterior e a atual ficam em memória. primeiro[l][u] guarda o
+    // grupo que alcançou (l, u) pela primeira vez (SEM se nunca), o que basta para reconstruir:
+    // (l, u) veio de um ponto desse grupo a partir de um estado alcançado antes dele.
+    // Devolve o índice do ponto de cada grupo (-1 nenhum) ou null
+    static int[] combinar(List<List<Ponto>> pontos, int LB, int UB) {
+        int K = pontos.size();
+        int maxCorredores = 0;
+        for (List<Ponto> ps : pontos) {
+            int m = 0;
+            for (Ponto p : ps) m = Math.max(m, p.corredores.size());
+            maxCorredores += m;
+        }
+        int palavras = (UB >> 6) + 1;
+        long[][] alcance = new long[maxCorredores + 1][];
+        byte[][] primeiro = new byte[maxCorredores + 1][];
+        alcance[0] = new long[palavras];
+        alcance[0][0] = 1L;
+        for (int k = 0; k < K; k++) {
+            long[][] proximo = new long[maxCorredores + 1][];
+            for (int l = 0; l <= maxCorredores; l++) {
+                if (alcance[l] == null) continue;
+                ou(proximo, l, alcance[l], 0, palavras);
+                for (Ponto p : pontos.get(k)) {
+                    int destino = l + p.corredores.size();
+                    if (p.unidades <= UB && destino <= maxCorredores) {
+                        ou(proximo, destino, alcance[l], p.unidades, palavras);
+                    }
+                }
+            }
+            // Estados novos nesta camada vêm do grupo k
+            for (int l = 0; l <= maxCorredores; l++) {
+                if (proximo[l] == null) continue;
+                for (int w = 0; w < palavras; w++) {
+                    long novos = proximo[l][w] & ~(alcance[l] == null ? 0L : alcance[l][w]);
+                    while (novos != 0) {
+                        int u = (w << 6) + Long.numberOfTrailingZeros(novos);
+                        if (u > UB) break;
+                        novos &= novos - 1;
+                        if (primeiro[l] == null) {
+                            primeiro[l] = new byte[UB + 1];
+                            Arrays.fill(primeiro[l], SEM);
+                        }
+                        primeiro[l][u] = (byte) k;
+                    }
+                }
+            }
+            alcance = proximo;
+        }
+
+        int melhorL = -1, melhorU = -1;
+        for (int l = 1; l <= maxCorredores; l++) {
+            long[] bits = alcance[l];
+            if (bits == null) continue;
+            int u = maiorBit(bits, UB);
+            if (u >= LB && (melhorL < 0 || (long) u * melhorL > (long) melhorU * l)) {
+                melhorL = l;
+                melhorU = u;
+            }
+        }
+        if (melhorL < 0) return null;
+
+        // Reconstrução: segue o grupo que alcançou cada estado primeiro até (0, 0)
+        int[] escolha = new int[K];
+        Arrays.fill(escolha, -1);
+        int l = melhorL, u = melhorU;
+        while (l > 0 || u > 0) {
+            int k = primeiro[l][u];
+            List<Ponto> ps = pontos.get(k);
+            for (int i = 0; i < ps.size(); i++) {
+                Ponto p = ps.get(i);
+                int lo = l - p.corredores.size(), uo = u - p.unidades;
+                if (lo >= 0 && uo >= 0 && antes(primeiro, lo, uo, k)) {
+                    escolha[k] = i;
+                    l = lo;
+                    u = uo;
+                    break;
+                }
+            }
+        }
+        return escolha;
+    }
+
+    // (l, u) já era alcançável antes do grupo k?
+    private static boolean antes(byte[][] primeiro, int l, int u, int k) {
+        if (l == 0 && u == 0) return true;
+        return primeiro[l] != null && primeiro[l][u] != SEM && primeiro[l][u] < k;
+    }
+
+    // destino[l] |= origem << deslocamento (bits acima de UB ficam de fora pelo tamanho do vetor)
+    private static void ou(long[][] destino, int l, long[] origem, int deslocamento, int palavras) {
+        if (destino[l] == null) destino[l] = new long[palavras];
+        long[] d = destino[l];
+        int w = deslocamento >> 6, b = deslocamento & 63;
+        for (int i = palavras - 1; i >= w; i--) {
+            long v = origem[i - w] << b;
+            if (b != 0 && i - w - 1 >= 0) v |= origem[i - w - 1] >>> (64 - b);
+            d[i] |= v;
+        }
+    }
+
+    private static boolean tem(long[] bits, int u) {
+        return bits != null && (bits[u >> 6] & (1L << (u & 63))) != 0;
+    }
+
+    private static int maiorBit(long[] bits, int UB) {
+        for (int u = UB; u >= 0; u--) {
+            if (tem(bits, u)) return u;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,268 @@
+package org.sbpo2025.challenge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Conjunto imutável de inteiros não negativos em blocos de 2^16, como no Roaring: os 16 bits
+// altos escolhem o bloco e cada bloco guarda os 16 bits baixos num vetor ordenado (até
+// LIMITE_VETOR valores, 2 bytes por valor) ou num mapa de bits de 1024 palavras (8 KB).
+// Usado nas relações do pré-processamento (ITEM_A/B/O, DOM, fff, ggg, G), que são
+// esparsas: um conjunto de 10 itens ocupa ~80 bytes, contra ~600 de um HashSet<Integer>.
+//
+// Interseção, contagem da interseção e teste de subconjunto trabalham bloco a bloco sem
+// criar objetos; como Set<Integer>, serve onde o código só itera, testa contains ou size.
+public final class CompressedBitmap extends AbstractSet<Integer> {
+
+    static final int LIMITE_VETOR = 4096;
+    private static final int PALAVRAS = 1024;
+
+    public static final CompressedBitmap VAZIO = new CompressedBitmap(new char[0], new Object[0], 0);
+
+    private final char[] chaves;       // 16 bits altos de cada bloco, crescentes
+    private final Object[] blocos;     // char[] ordenado ou long[PALAVRAS]
+    private final int cardinalidade;
+
+    private CompressedBitmap(char[] chaves, Object[] blocos, int cardinalidade) {
+        this.chaves = chaves;
+        this.blocos = blocos;
+        this.cardinalidade = cardinalidade;
+    }
+
+    public static CompressedBitmap de(Collection<Integer> valores) {
+        if (valores instanceof CompressedBitmap) return (CompressedBitmap) valores;
+        int[] v = new int[valores.size()];
+        int n = 0;
+        for (int x : valores) v[n++] = x;
+        return de(v, n);
+    }
+
+    // Os n primeiros valores de v, em qualquer ordem e com repetições (v é reordenado)
+    public static CompressedBitmap de(int[] v, int n) {
+        if (n == 0) return VAZIO;
+        Arrays.sort(v, 0, n);
+        int m = 0;
+        for (int k = 0; k < n; k++) {
+            if (v[k] < 0) throw new IllegalArgumentException("Valor negativo: " + v[k]);
+            if (m == 0 || v[k] != v[m - 1]) v[m++] = v[k];
+        }
+        int nBlocos = 0;
+        for (int k = 0; k < m; k++) {
+            if (k == 0 || (v[k] >>> 16) != (v[k - 1] >>> 16)) nBlocos++;
+        }
+        char[] chaves = new char[nBlocos];
+        Object[] blocos = new Object[nBlocos];
+        int b = 0;
+        for (int inicio = 0; inicio < m; b++) {
+            int chave = v[inicio] >>> 16;
+            int fim = inicio;
+            while (fim < m && (v[fim] >>> 16) == chave) fim++;
+            chaves[b] = (char) chave;
+            int tamanho = fim - inicio;
+            if (tamanho <= LIMITE_VETOR) {
+                char[] bloco = new char[tamanho];
+                for (int k = 0; k < tamanho; k++) bloco[k] = (char) v[inicio + k];
+                blocos[b] = bloco;
+            } else {
+                long[] bloco = new long[PALAVRAS];
+                for (int k = inicio; k < fim; k++) bloco[(v[k] & 0xFFFF) >>> 6] |= 1L << v[k];
+                blocos[b] = bloco;
+            }
+            inicio = fim;
+        }
+        return new CompressedBitmap(chaves, blocos, m);
+    }
+
+    @Override
+    public int size() {
+        return cardinalidade;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contem((Integer) o);
+    }
+
+    public boolean contem(int x) {
+        if (x < 0) return false;
+        int b = Arrays.binarySearch(chaves, (char) (x >>> 16));
+        if (b < 0) return false;
+        Object bloco = blocos[b];
+        if (bloco instanceof long[]) return (((long[]) bloco)[(x & 0xFFFF) >>> 6] & (1L << x)) != 0;
+        return Arrays.binarySearch((char[]) bloco, (char) x) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof CompressedBitmap) return ((CompressedBitmap) c).contidoEm(this);
+        return super.containsAll(c);
+    }
+
+    // this ⊆ outro
+    public boolean contidoEm(CompressedBitmap outro) {
+        if (cardinalidade > outro.cardinalidade) return false;
+        int j = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            while (j < outro.chaves.length && outro.chaves[j] < chaves[i]) j++;
+            if (j == outro.chaves.length || outro.chaves[j] != chaves[i]) return false;
+            if (!blocoContido(blocos[i], outro.blocos[j])) return false;
+        }
+        return true;
+    }
+
+    public CompressedBitmap e(CompressedBitmap outro) {
+        int[] v = new int[Math.min(cardinalidade, outro.cardinalidade)];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            while (j < outro.chaves.length && outro.chaves[j] < chaves[i]) j++;
+            if (j == outro.chaves.length) break;
+            if (outro.chaves[j] != chaves[i]) continue;
+            int alto = chaves[i] << 16;
+            Object x = blocos[i], y = outro.blocos[j];
+            if (x instanceof char[]) {
+                for (char c : (char[]) x) {
+                    if (blocoContem(y, c)) v[n++] = alto | c;
+                }
+            } else if (y instanceof char[]) {
+                for (char c : (char[]) y) {
+                    if (blocoContem(x, c)) v[n++] = alto | c;
+                }
+            } else {
+                long[] a = (long[]) x, b = (long[]) y;
+                for (int w = 0; w < PALAVRAS; w++) {
+                    long bits = a[w] & b[w];
+                    while (bits != 0) {
+                        v[n++] = alto | (w << 6) | Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+        return de(v, n);
+    }
+
+    public int cardinalidadeE(CompressedBitmap outro) {
+        int total = 0;
+        int j = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            while (j < outro.chaves.length && outro.chaves[j] < chaves[i]) j++;
+            if (j == outro.chaves.length) break;
+            if (outro.chaves[j] != chaves[i]) continue;
+            Object x = blocos[i], y = outro.blocos[j];
+            if (x instanceof long[] && y instanceof long[]) {
+                long[] a = (long[]) x, b = (long[]) y;
+                for (int w = 0; w < PALAVRAS; w++) total += Long.bitCount(a[w] & b[w]);
+            } else {
+                char[] menor = (char[]) (x instanceof char[] ? x : y);
+                Object maior = menor == x ? y : x;
+                for (char c : menor) {
+                    if (blocoContem(maior, c)) total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    public int[] paraVetor() {
+        int[] v = new int[cardinalidade];
+        int n = 0;
+        for (int x : this) v[n++] = x;
+        return v;
+    }
+
+    // Bytes aproximados dos blocos (sem cabeçalhos de objeto)
+    public long bytes() {
+        long total = 2L * chaves.length + 4L * blocos.length;
+        for (Object bloco : blocos) {
+            total += bloco instanceof long[] ? 8L * PALAVRAS : 2L * ((char[]) bloco).length;
+        }
+        return total;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private int b = 0;       // Bloco atual
+            private int k = -1;      // Posição no vetor ou último bit visitado
+
+            {
+                avancar();
+            }
+
+            private void avancar() {
+                while (b < blocos.length) {
+                    Object bloco = blocos[b];
+                    if (bloco instanceof char[]) {
+                        if (++k < ((char[]) bloco).length) return;
+                    } else {
+                        long[] bits = (long[]) bloco;
+                        int w = ++k >>> 6;
+                        if (w < PALAVRAS) {
+                            long resto = bits[w] & (-1L << k);
+                            while (resto == 0 && ++w < PALAVRAS) resto = bits[w];
+                            if (resto != 0) {
+                                k = (w << 6) | Long.numberOfTrailingZeros(resto);
+                                return;
+                            }
+                        }
+                    }
+                    b++;
+                    k = -1;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return b < blocos.length;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Object bloco = blocos[b];
+                int baixo = bloco instanceof char[] ? ((char[]) bloco)[k] : k;
+                int valor = (chaves[b] << 16) | baixo;
+                avancar();
+                return valor;
+            }
+        };
+    }
+
+    private static boolean blocoContem(Object bloco, char c) {
+        if (bloco instanceof long[]) return (((long[]) bloco)[c >>> 6] & (1L << c)) != 0;
+        return Arrays.binarySearch((char[]) bloco, c) >= 0;
+    }
+
+    private static boolean blocoContido(Object x, Object y) {
+        if (x instanceof char[]) {
+            char[] a = (char[]) x;
+            if (y instanceof long[]) {
+                long[] bits = (long[]) y;
+                for (char c : a) {
+                    if ((bits[c >>> 6] & (1L << c)) == 0) return false;
+                }
+                return true;
+            }
+            // Intercalação de dois vetores ordenados
+            char[] b = (char[]) y;
+            if (a.length > b.length) return false;
+            int j = 0;
+            for (char c : a) {
+                while (j < b.length && b[j] < c) j++;
+                if (j == b.length || b[j] != c) return false;
+                j++;
+            }
+            return true;
+        }
+        long[] a = (long[]) x;
+        if (y instanceof char[]) return false;  // Mapa de bits tem mais valores que qualquer vetor
+        long[] b = (long[]) y;
+        for (int w = 0; w < PALAVRAS; w++) {
+            if ((a[w] & ~b[w]) != 0) return false;
+        }
+        return true;
+    }
+}
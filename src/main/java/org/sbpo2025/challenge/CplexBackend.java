@@ -0,0 +1,255 @@
+package org.sbpo2025.challenge;
+
+import ilog.concert.*;
+import ilog.cplex.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Resolve um WaveModel com o CPLEX
+public class CplexBackend implements MipBackend {
+
+    @Override
+    public ChallengeSolver.OptimizationResult resolver(WaveModel modelo, double timeLimit, int threads) {
+        return resolver(modelo, timeLimit, threads, null);
+    }
+
+    @Override
+    public ChallengeSolver.OptimizationResult resolver(WaveModel modelo, double timeLimit, int threads,
+                                                       IncumbentExchange troca) {
+        try (Sessao sessao = abrir(modelo)) {
+            return sessao.resolver(timeLimit, threads, troca);
+        }
+    }
+
+    @Override
+    public Sessao abrir(WaveModel modelo) {
+        return new SessaoCplex(modelo);
+    }
+
+    @Override
+    public Relaxacao relaxar(WaveModel modelo, double timeLimit, int threads) {
+        IloCplex cplex = null;
+        try {
+            cplex = new IloCplex();
+            IloNumVar[] x = montar(cplex, modelo, true, null);
+            cplex.setParam(IloCplex.Param.TimeLimit, timeLimit);
+            if (threads > 0) cplex.setParam(IloCplex.Param.Threads, threads);
+            cplex.setOut(null);
+
+            Relaxacao r = new Relaxacao();
+            if (cplex.solve() && cplex.getStatus() == IloCplex.Status.Optimal) {
+                r.status = ChallengeSolver.OptimizationResult.Status.OPTIMAL;
+                r.objetivo = cplex.getObjValue();
+                r.x = cplex.getValues(x);
+                r.custoReduzido = cplex.getReducedCosts(x);
+            } else if (cplex.getStatus() == IloCplex.Status.Infeasible) {
+                r.status = ChallengeSolver.OptimizationResult.Status.INFEASIBLE;
+            }
+            return r;
+        } catch (IloException e) {
+            System.err.println("Erro CPLEX (relaxação): " + e.getMessage());
+            return new Relaxacao();
+        } finally {
+            if (cplex != null) cplex.end();
+        }
+    }
+
+    // Modelo montado uma vez no CPLEX; antes de cada solve os limites das variáveis e o rhs das
+    // linhas que mudaram no WaveModel são alterados no próprio modelo do CPLEX
+    private static final class SessaoCplex implements Sessao {
+        private final WaveModel modelo;
+        private final long inicioNs = System.nanoTime();
+        private IloCplex cplex;
+        private IloNumVar[] x;
+        private IloRange[] linhas;
+        private double[] lb, ub, rhs;  // Valores que o CPLEX tem agora
+        private boolean montado;      // O tempo de montagem já entrou num resultado
+
+        SessaoCplex(WaveModel modelo) {
+            this.modelo = modelo;
+            try {
+                cplex = new IloCplex();
+                linhas = new IloRange[modelo.nLinhas];
+                x = montar(cplex, modelo, false, linhas);
+                if (modelo.inicioMip != null) {
+                    cplex.addMIPStart(Arrays.copyOf(x, modelo.inicioMip.length), modelo.inicioMip,
+                        IloCplex.MIPStartEffort.Repair);
+                }
+                lb = Arrays.copyOf(modelo.lb, modelo.nVars);
+                ub = Arrays.copyOf(modelo.ub, modelo.nVars);
+                rhs = Arrays.copyOf(modelo.rhs, modelo.nLinhas);
+            } catch (IloException e) {
+                System.err.println("Erro CPLEX: " + e.getMessage());
+                close();
+            }
+        }
+
+        @Override
+        public ChallengeSolver.OptimizationResult resolver(double timeLimit, int threads, IncumbentExchange troca) {
+            if (cplex == null) {
+                return modelo.resultado(null, 0.0, ChallengeSolver.OptimizationResult.Status.UNKNOWN,
+                    Double.POSITIVE_INFINITY);
+            }
+            long chamadaNs = System.nanoTime();
+            try {
+                sincronizar();
+                if (troca != null) {
+                    cplex.use(new Troca(troca, modelo, x), IloCplex.Callback.Context.Id.Relaxation);
+                }
+
+                // 4. Configurações do solver
+                cplex.setParam(IloCplex.Param.TimeLimit, timeLimit);
+                cplex.setParam(IloCplex.Param.MIP.Display, 2);
+                if (threads > 0) cplex.setParam(IloCplex.Param.Threads, threads);
+
+                // 5. Resolver
+                long solveNs = System.nanoTime();
+                boolean resolvido = cplex.solve();
+                long fimNs = System.nanoTime();
+                int nLinhas = cplex.getNrows(), colunas = cplex.getNcols(), nnz = cplex.getNNZs();
+                long construcaoMs = montado ? (solveNs - chamadaNs) / 1_000_000L
+                    : modelo.getConstrucaoMs() + (solveNs - inicioNs) / 1_000_000L;
+                montado = true;
+                long solveMs = (fimNs - solveNs) / 1_000_000L;
+
+                ChallengeSolver.OptimizationResult result;
+                if (resolvido) {
+                    // Limitante sempre do solver: "ótimo" admite a tolerância de gap do MIP, então o
+                    // objetivo do incumbente pode ficar abaixo do limitante real
+                    boolean otimo = cplex.getStatus() == IloCplex.Status.Optimal;
+                    result = modelo.resultado(cplex.getValues(x), cplex.getObjValue(),
+                        otimo ? ChallengeSolver.OptimizationResult.Status.OPTIMAL
+                              : ChallengeSolver.OptimizationResult.Status.FEASIBLE,
+                        cplex.getBestObjValue());
+                } else if (cplex.getStatus() == IloCplex.Status.Infeasible) {
+                    result = modelo.resultado(null, 0.0,
+                        ChallengeSolver.OptimizationResult.Status.INFEASIBLE, Double.NEGATIVE_INFINITY);
+                } else {
+                    result = modelo.resultado(null, 0.0,
+                        ChallengeSolver.OptimizationResult.Status.UNKNOWN, Double.POSITIVE_INFINITY);
+                }
+                return result.withModelStats(nLinhas, colunas, nnz, construcaoMs, solveMs)
+                    .withNodes(cplex.getNnodes64());
+
+            } catch (IloException e) {
+                System.err.println("Erro CPLEX: " + e.getMessage());
+                return modelo.resultado(null, 0.0, ChallengeSolver.OptimizationResult.Status.UNKNOWN,
+                    Double.POSITIVE_INFINITY);
+            }
+        }
+
+        // Leva ao CPLEX os limites e rhs alterados no WaveModel desde o último solve
+        private void sincronizar() throws IloException {
+            for (int j = 0; j < modelo.nVars; j++) {
+                if (modelo.lb[j] != lb[j]) {
+                    x[j].setLB(modelo.lb[j]);
+                    lb[j] = modelo.lb[j];
+                }
+                if (modelo.ub[j] != ub[j]) {
+                    x[j].setUB(modelo.ub[j]);
+                    ub[j] = modelo.ub[j];
+                }
+            }
+            for (int r = 0; r < modelo.nLinhas; r++) {
+                if (modelo.rhs[r] == rhs[r]) continue;
+                switch (modelo.sentido[r]) {
+                    case WaveModel.LE: linhas[r].setUB(modelo.rhs[r]); break;
+                    case WaveModel.GE: linhas[r].setLB(modelo.rhs[r]); break;
+                    default: linhas[r].setBounds(modelo.rhs[r], modelo.rhs[r]); break;
+                }
+                rhs[r] = modelo.rhs[r];
+            }
+        }
+
+        @Override
+        public void close() {
+            if (cplex != null) cplex.end();
+            cplex = null;
+        }
+    }
+
+    // Callback genérico (contexto de relaxação, chamado em paralelo pelas threads do CPLEX):
+    // injeta a melhor onda heurística do L quando ela supera o incumbente do MIP e publica
+    // o incumbente do MIP quando ele supera a melhor onda conhecida. Só lê e faz CAS na
+    // IncumbentExchange, sem travas.
+    private static final class Troca implements IloCplex.Callback.Function {
+        private final IncumbentExchange troca;
+        private final WaveModel modelo;
+        private final IloNumVar[] x;
+        private final AtomicLong ultimaInjetada = new AtomicLong(-1);
+        private final AtomicLong ultimoPublicado = new AtomicLong(Double.doubleToLongBits(0.0));
+
+        Troca(IncumbentExchange troca, WaveModel modelo, IloNumVar[] x) {
+            this.troca = troca;
+            this.modelo = modelo;
+            this.x = x;
+        }
+
+        @Override
+        public void invoke(IloCplex.Callback.Context contexto) throws IloException {
+            double incumbente = contexto.getIncumbentObjective();
+            IncumbentExchange.Onda onda = troca.melhorDe(modelo.L);
+
+            // Heurística -> solver
+            if (onda != null && onda.origem == IncumbentExchange.HEURISTICA && onda.objetivo > incumbente + 1e-9) {
+                long v = ultimaInjetada.get();
+                if (v != onda.versao && ultimaInjetada.compareAndSet(v, onda.versao)) {
+                    double[] ponto = modelo.ponto(onda.pedidos, onda.corredores);
+                    if (modelo.viavel(ponto)) {
+                        contexto.postHeuristicSolution(x, ponto, onda.objetivo,
+                            IloCplex.Callback.Context.SolutionStrategy.CheckFeasible);
+                        troca.contarInjecao();
+                    }
+                }
+            }
+
+            // Solver -> heurísticas
+            if (incumbente > 0 && (onda == null || incumbente > onda.objetivo + 1e-9)) {
+                long anterior = ultimoPublicado.get();
+                if (incumbente > Double.longBitsToDouble(anterior) + 1e-9
+                        && ultimoPublicado.compareAndSet(anterior, Double.doubleToLongBits(incumbente))) {
+                    ChallengeSolver.OptimizationResult r = modelo.resultado(contexto.getIncumbent(x), incumbente,
+                        ChallengeSolver.OptimizationResult.Status.FEASIBLE, Double.POSITIVE_INFINITY);
+                    troca.publicar(r.getSelectedOrders(), r.getSelectedAisles(), incumbente, IncumbentExchange.SOLVER);
+                }
+            }
+        }
+    }
+
+    // Variáveis, objetivo e linhas do WaveModel (todas contínuas se relaxado); guarda as linhas
+    // do CPLEX em linhas, se dado
+    private static IloNumVar[] montar(IloCplex cplex, WaveModel modelo, boolean relaxado, IloRange[] linhas)
+            throws IloException {
+        // 1. Variáveis de decisão
+        IloNumVar[] x = new IloNumVar[modelo.nVars];
+        for (int j = 0; j < modelo.nVars; j++) {
+            x[j] = modelo.inteira[j] && !relaxado
+                ? cplex.intVar((int) modelo.lb[j], (int) modelo.ub[j], modelo.nomes[j])
+                : cplex.numVar(modelo.lb[j], modelo.ub[j], modelo.nomes[j]);
+        }
+
+        // 2. Função objetivo
+        IloLinearNumExpr objective = cplex.linearNumExpr();
+        for (int j = 0; j < modelo.nVars; j++) {
+            if (modelo.obj[j] != 0) objective.addTerm(modelo.obj[j], x[j]);
+        }
+        cplex.addMaximize(objective);
+
+        // 3. Restrições
+        for (int r = 0; r < modelo.nLinhas; r++) {
+            IloLinearNumExpr expr = cplex.linearNumExpr();
+            for (int k = modelo.inicio[r]; k < modelo.inicio[r + 1]; k++) {
+                expr.addTerm(modelo.coefs[k], x[modelo.indices[k]]);
+            }
+            IloRange linha;
+            switch (modelo.sentido[r]) {
+                case WaveModel.LE: linha = cplex.addLe(expr, modelo.rhs[r]); break;
+                case WaveModel.GE: linha = cplex.addGe(expr, modelo.rhs[r]); break;
+                default: linha = cplex.addEq(expr, modelo.rhs[r]); break;
+            }
+            if (linhas != null) linhas[r] = linha;
+        }
+        return x;
+    }
+}
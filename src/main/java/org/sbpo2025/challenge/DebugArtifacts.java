@@ -0,0 +1,188 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Artefatos de depuração (modelos LP por fase e L, dados do pré-processamento),
+// gravados num diretório por uma thread própria. Desligado por padrão: a instância
+// DESATIVADO não faz I/O nenhum. Ligado, o caminho quente só enfileira a escrita;
+// exportações além de maxModelos, ou a menos de intervaloMs da anterior, são descartadas.
+public class DebugArtifacts implements AutoCloseable {
+
+    public static final DebugArtifacts DESATIVADO = new DebugArtifacts();
+
+    private static final int CAPACIDADE_FILA = 16;
+
+    private interface Escrita {
+        void escrever(Writer w) throws IOException;
+    }
+
+    private static final class Tarefa {
+        final File arquivo;
+        final Escrita escrita;
+
+        Tarefa(File arquivo, Escrita escrita) {
+            this.arquivo = arquivo;
+            this.escrita = escrita;
+        }
+    }
+
+    private static final Tarefa FIM = new Tarefa(null, null);
+
+    private final File diretorio;
+    private final int maxModelos;
+    private final long intervaloNs;
+    private final BlockingQueue<Tarefa> fila;
+    private final Thread escritor;
+    private final Map<String, Integer> nomes = new HashMap<>();
+    private int modelos;
+    private int descartados;
+    private long ultimoNs;
+
+    private DebugArtifacts() {
+        this.diretorio = null;
+        this.maxModelos = 0;
+        this.intervaloNs = 0;
+        this.fila = null;
+        this.escritor = null;
+    }
+
+    private DebugArtifacts(File diretorio, int maxModelos, long intervaloMs) {
+        this.diretorio = diretorio;
+        this.maxModelos = maxModelos;
+        this.intervaloNs = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+        this.escritor = new Thread(this::executar, "sbpo-depuracao");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // Abre os artefatos no diretório dado; caminho vazio (ou erro ao criar o diretório) desativa
+    public static DebugArtifacts abrir(String caminho, int maxModelos, long intervaloMs) {
+        if (caminho == null || caminho.isEmpty()) {
+            return DESATIVADO;
+        }
+        File dir = new File(caminho);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            System.err.println("Depuração desativada: erro criando " + caminho);
+            return DESATIVADO;
+        }
+        return new DebugArtifacts(dir, maxModelos, intervaloMs);
+    }
+
+    public static DebugArtifacts abrir(SolverConfig config) {
+        return abrir(config.depuracao, config.depuracaoMaxModelos, config.depuracaoIntervaloMs);
+    }
+
+    public boolean ativo() {
+        return fila != null;
+    }
+
+    // Exporta o modelo do subproblema como <fase>_L<L>.lp (sufixo _2, _3... se repetir).
+    // Grava o estado do modelo no momento da chamada: a thread de escrita recebe uma cópia
+    // de objetivo, limites e rhs, e o solve pode continuar alterando o modelo.
+    public synchronized void modelo(String fase, WaveModel modelo) {
+        if (fila == null) return;
+        long agora = System.nanoTime();
+        if (modelos >= maxModelos || (modelos > 0 && agora - ultimoNs < intervaloNs)) {
+            descartados++;
+            return;
+        }
+        String base = fase + "_L" + modelo.L;
+        int n = nomes.merge(base, 1, Integer::sum);
+        File arquivo = new File(diretorio, (n == 1 ? base : base + "_" + n) + ".lp");
+        if (fila.offer(new Tarefa(arquivo, modelo.copia()::escreverLP))) {
+            modelos++;
+            ultimoNs = agora;
+        } else {
+            descartados++;
+        }
+    }
+
+    // Dados do pré-processamento (A, d, CAP, ITEM_A/B, DOM, aux, ITEM_O, fff, ggg, G, Io, Ia)
+    public void preprocessamento(ChallengeSolver.PreprocessingResult result,
+                                 List<List<Integer>> Io, List<List<Integer>> Ia) {
+        if (fila == null) return;
+        if (!fila.offer(new Tarefa(new File(diretorio, "preprocessamento.txt"),
+                w -> escreverPreprocessamento(result, Io, Ia, new PrintWriter(w))))) {
+            synchronized (this) {
+                descartados++;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (fila == null) return;
+        try {
+            fila.put(FIM);
+            escritor.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            System.out.println("[DEPURACAO] " + modelos + " modelos em " + diretorio
+                + (descartados > 0 ? " (" + descartados + " descartados pelo limite)" : ""));
+        }
+    }
+
+    private void executar() {
+        try {
+            while (true) {
+                Tarefa t = fila.take();
+                if (t == FIM) return;
+                try (Writer w = new BufferedWriter(new FileWriter(t.arquivo))) {
+                    t.escrita.escrever(w);
+                } catch (IOException e) {
+                    System.err.println("Depuração: erro escrevendo " + t.arquivo + " - " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void escreverPreprocessamento(ChallengeSolver.PreprocessingResult result,
+                                                 List<List<Integer>> Io, List<List<Integer>> Ia,
+                                                 PrintWriter out) {
+        out.println("========== DADOS DO PRÉ-PROCESSAMENTO ==========");
+
+        out.println("\nA (Corredores):");
+        for (int i = 0; i < result.A.size(); i++) {
+            out.println("Corredor " + i + ": " + result.A.get(i));
+        }
+        out.println("\nd (Demandas): " + Arrays.toString(result.d));
+        out.println("\nCAP (Capacidades): " + Arrays.toString(result.CAP));
+        listar(out, "ITEM_A", "Corredor", result.ITEM_A);
+        listar(out, "ITEM_B", "Corredor", result.ITEM_B);
+        listar(out, "DOM (Subconjuntos)", "Corredor", result.DOM);
+        out.println("\naux (Corredores Invalidos): " + result.aux);
+        listar(out, "ITEM_O (Itens por Pedido)", "Pedido", result.ITEM_O);
+        listar(out, "fff", "Corredor", result.fff);
+        listar(out, "ggg", "Corredor", result.ggg);
+        listar(out, "G (Grupos Viáveis)", "Corredor", result.G);
+        listar(out, "Io (Pedidos por Item)", "Item", Io);
+        listar(out, "Ia (Corredores por Item)", "Item", Ia);
+
+        out.println("==============================================");
+        out.flush();
+    }
+
+    private static void listar(PrintWriter out, String titulo, String rotulo, List<?> linhas) {
+        out.println("\n" + titulo + ":");
+        for (int i = 0; i < linhas.size(); i++) {
+            out.println(rotulo + " " + i + ": " + linhas.get(i));
+        }
+    }
+}
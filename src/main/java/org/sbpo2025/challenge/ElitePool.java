@@ -0,0 +1,115 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Conjunto elite de ondas de razão alta e diversas entre si. A diversidade é a
+// distância de Jaccard entre os conjuntos de corredores: uma onda a menos de
+// DISTANCIA_MINIMA de uma elite só entra no lugar dela, e só se for melhor.
+// Alimentado pelo solve (subproblemas, semente gulosa) e pelo PathRelinking.
+public class ElitePool {
+
+    static final double DISTANCIA_MINIMA = 0.2;
+
+    // Onda elite (imutável)
+    public static final class Onda {
+        public final long id;
+        public final List<Integer> pedidos;
+        public final BitSet corredores;
+        public final double objetivo;
+        public final long tempoMs;
+
+        Onda(long id, List<Integer> pedidos, BitSet corredores, double objetivo, long tempoMs) {
+            this.id = id;
+            this.pedidos = pedidos;
+            this.corredores = corredores;
+            this.objetivo = objetivo;
+            this.tempoMs = tempoMs;
+        }
+
+        public List<Integer> listaCorredores() {
+            return corredores.stream().boxed().collect(Collectors.toList());
+        }
+    }
+
+    private final int capacidade;
+    private final StopWatch stopWatch;
+    private final List<Onda> elite = new ArrayList<>();
+    private long proximoId;
+    private volatile Onda melhor;
+
+    public ElitePool(int capacidade, StopWatch stopWatch) {
+        this.capacidade = capacidade;
+        this.stopWatch = stopWatch;
+    }
+
+    // Tenta incluir a onda; retorna true se ela entrou
+    public synchronized boolean oferecer(Collection<Integer> pedidos, Collection<Integer> corredores, double objetivo) {
+        if (objetivo <= 0 || corredores.isEmpty() || capacidade <= 0) return false;
+        BitSet conjunto = new BitSet();
+        for (int a : corredores) conjunto.set(a);
+
+        int maisProxima = -1;
+        double menorDistancia = Double.POSITIVE_INFINITY;
+        int pior = -1;
+        for (int k = 0; k < elite.size(); k++) {
+            double dist = distancia(conjunto, elite.get(k).corredores);
+            if (dist < menorDistancia) {
+                menorDistancia = dist;
+                maisProxima = k;
+            }
+            if (pior < 0 || elite.get(k).objetivo < elite.get(pior).objetivo) pior = k;
+        }
+
+        int posicao;
+        if (maisProxima >= 0 && menorDistancia < DISTANCIA_MINIMA) {
+            if (objetivo <= elite.get(maisProxima).objetivo) return false;
+            posicao = maisProxima;
+        } else if (elite.size() < capacidade) {
+            posicao = elite.size();
+            elite.add(null);
+        } else {
+            if (objetivo <= elite.get(pior).objetivo) return false;
+            posicao = pior;
+        }
+        Onda onda = new Onda(proximoId++, new ArrayList<>(pedidos), conjunto, objetivo,
+            stopWatch.getTime(TimeUnit.MILLISECONDS));
+        elite.set(posicao, onda);
+        if (melhor == null || objetivo > melhor.objetivo) melhor = onda;
+        return true;
+    }
+
+    public synchronized List<Onda> copia() {
+        return new ArrayList<>(elite);
+    }
+
+    public synchronized int tamanho() {
+        return elite.size();
+    }
+
+    // Leitura sem trava (o melhor só é trocado dentro de oferecer)
+    public Onda getMelhor() {
+        return melhor;
+    }
+
+    public double getMelhorObjetivo() {
+        Onda m = melhor;
+        return m == null ? 0.0 : m.objetivo;
+    }
+
+    // Distância de Jaccard: 1 - |A ∩ B| / |A ∪ B|
+    static double distancia(BitSet a, BitSet b) {
+        BitSet inter = (BitSet) a.clone();
+        inter.and(b);
+        BitSet uniao = (BitSet) a.clone();
+        uniao.or(b);
+        int u = uniao.cardinality();
+        return u == 0 ? 0.0 : 1.0 - (double) inter.cardinality() / u;
+    }
+}
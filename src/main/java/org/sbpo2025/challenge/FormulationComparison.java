@@ -0,0 +1,103 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Comparação das formulações do subproblema (WaveModel.Formulacao)
+// sobre as instâncias de um diretório, uma variante por vez para os tempos não se misturarem.
+//
+// Para cada instância e variante: limitante da relaxação linear no L da semente gulosa,
+// com só os corredores inválidos fixados (na RAZAO, o limitante da razão para y entre esse
+// L e UB / CB guloso), e um solve completo com o orçamento dado: objetivo, tempo até a
+// melhor onda e nós de branch-and-bound somados sobre os subproblemas.
+public class FormulationComparison {
+
+    // Formulações comparadas
+    private static final WaveModel.Formulacao[] FORMULACOES = WaveModel.Formulacao.values();
+
+    private final SolverConfig config;
+
+    public FormulationComparison(SolverConfig config) {
+        this.config = config;
+    }
+
+    public void executar(String diretorioEntrada, String arquivoCsv) throws IOException {
+        File[] arquivos = new File(diretorioEntrada).listFiles(f -> f.isFile() && f.getName().endsWith(".txt"));
+        if (arquivos == null || arquivos.length == 0) {
+            System.err.println("Nenhuma instância em " + diretorioEntrada);
+            return;
+        }
+        Arrays.sort(arquivos);
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivoCsv))) {
+            writer.write("instancia,formulacao,L,linhas,nnz,limitante_lp,objetivo,tempo_melhor_ms,nos,tempo_total_ms");
+            writer.newLine();
+            for (File arquivo : arquivos) {
+                for (WaveModel.Formulacao formulacao : FORMULACOES) {
+                    String linha = comparar(arquivo, formulacao);
+                    writer.write(linha);
+                    writer.newLine();
+                    writer.flush();
+                    System.out.println("[FORMULACAO] " + linha);
+                }
+            }
+        }
+        System.out.println("[FORMULACAO] Comparação escrita em " + arquivoCsv);
+    }
+
+    private String comparar(File arquivo, WaveModel.Formulacao formulacao) {
+        Challenge challenge = new Challenge();
+        challenge.readInput(arquivo.getPath());
+        String nome = formulacao.name().toLowerCase(Locale.ROOT);
+
+        // Relaxação linear na raiz
+        PreprocessingPipeline.Resultado etapas = PreprocessingPipeline.executar(challenge.getOrders(),
+            challenge.getAisles(), challenge.getnItems(), config.threads);
+        int NO = etapas.O.size(), NA = challenge.getAisles().size(), NI = challenge.getnItems();
+        int LB = challenge.getWaveSizeLB(), UB = challenge.getWaveSizeUB();
+        ChallengeSolver.PreprocessingResult pre = etapas.pre;
+        Preprocessing.limitarCapacidades(pre.A, etapas.Ia, pre.d);
+        LazyGreedyAisles.Familia familia = new LazyGreedyAisles(NO, NA, NI, LB, UB, etapas.F, pre.A, etapas.O,
+            etapas.Io).executar(NA, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.tempoMaximoMs));
+        int L = Math.max(1, familia.melhorL);
+        double cb = familia.melhorL > 0 ? familia.melhorObjetivo() : 0.0;
+        List<Integer> CI = new ArrayList<>(pre.aux);
+        List<Integer> ITEM_N = Preprocessing.calcularItemN(etapas.Ia, CI);
+        Set<Integer> O_N = Preprocessing.calcularON(etapas.Io, ITEM_N);
+
+        boolean razao = formulacao == WaveModel.Formulacao.RAZAO;
+        int Lmax = cb > 0 ? Math.min(NA, (int) (UB / cb)) : NA;
+        WaveModel modelo = WaveModel.construir(razao ? cb : 0.0, LB, UB, NO, NA, NI, L, etapas.F, pre.A,
+            etapas.Ia, etapas.O, etapas.Io, CI, pre.G, pre.fff, ITEM_N, O_N, formulacao,
+            razao ? Lmax : L);
+        MipBackend.Relaxacao lp = MipBackend.padrao().relaxar(modelo, config.tempoMaximoMs / 1000.0, config.threads);
+        double limitante = lp.status != ChallengeSolver.OptimizationResult.Status.OPTIMAL ? Double.NaN
+            : razao ? cb + Math.max(0.0, lp.objetivo) / L : lp.objetivo;
+
+        // Solve completo com a variante
+        SolverConfig configVariante = config.copia();
+        configVariante.formulacao = formulacao;
+        configVariante.telemetria = "";
+        configVariante.depuracao = "";
+        StopWatch stopWatch = StopWatch.createStarted();
+        ChallengeSolver solver = new ChallengeSolver(challenge.getOrders(), challenge.getAisles(), NI, LB, UB,
+            configVariante);
+        ChallengeSolution solucao = solver.solve(stopWatch);
+        double objetivo = solver.isSolutionFeasible(solucao) ? solver.computeObjectiveFunction(solucao) : 0.0;
+
+        return String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.4f,%.4f,%d,%d,%d",
+            arquivo.getName(), nome, razao ? L + "-" + Lmax : String.valueOf(L), modelo.getNumLinhas(),
+            modelo.getNnz(), limitante, objetivo, solver.getTempoMelhorMs(), solver.getNos(),
+            stopWatch.getTime(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,226 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// Threads heurísticas que rodam enquanto o solver MIP resolve o subproblema de L.
+//
+// Cada thread lê o alvo atual da IncumbentExchange (L, corredores e pedidos livres) e
+// parte da melhor onda daquele L (que pode ter vindo do solver) ou, às vezes, de um
+// reinício aleatório. Em seguida faz busca local por trocas de um corredor por outro,
+// mantendo L corredores, e reempacota os pedidos a cada troca. Ondas melhores são
+// publicadas na troca, de onde o callback do solver as injeta no MIP.
+public class HeuristicPortfolio {
+
+    private static final int AMOSTRA_REINICIO = 8;    // Corredores sorteados por passo do reinício guloso
+    private static final int TROCAS_SEM_MELHORA = 40; // Por corredor, antes de recomeçar
+
+    private final IncumbentExchange troca;
+    private final int nThreads;
+    private final int NO, NA, NI, LB, UB;
+    private final int[] F;
+
+    private final int[][] itensCorredor;
+    private final int[][] capCorredor;
+    private final int[][] itensPedido;
+    private final int[][] qtdPedido;
+    private final int[] porTamanho;   // Pedidos em ordem decrescente de unidades
+
+    private volatile boolean parar;
+    private final List<Thread> threads = new ArrayList<>();
+
+    public HeuristicPortfolio(IncumbentExchange troca, int nThreads, int NO, int NA, int NI, int LB, int UB,
+                              int[] F, List<List<List<Integer>>> A, List<List<List<Integer>>> O) {
+        this.troca = troca;
+        this.nThreads = nThreads;
+        this.NO = NO;
+        this.NA = NA;
+        this.NI = NI;
+        this.LB = LB;
+        this.UB = UB;
+        this.F = F;
+        itensCorredor = new int[NA][];
+        capCorredor = new int[NA][];
+        for (int a = 0; a < NA; a++) {
+            List<List<Integer>> corredor = Preprocessing.isInvalidAisle(A.get(a)) ? List.of() : A.get(a);
+            itensCorredor[a] = corredor.stream().mapToInt(p -> p.get(0)).toArray();
+            capCorredor[a] = corredor.stream().mapToInt(p -> Math.max(0, p.get(1))).toArray();
+        }
+        itensPedido = new int[NO][];
+        qtdPedido = new int[NO][];
+        for (int o = 0; o < NO; o++) {
+            itensPedido[o] = O.get(o).stream().mapToInt(p -> p.get(0)).toArray();
+            qtdPedido[o] = O.get(o).stream().mapToInt(p -> p.get(1)).toArray();
+        }
+        porTamanho = IntStream.range(0, NO).boxed()
+            .sorted((x, y) -> F[y] != F[x] ? Integer.compare(F[y], F[x]) : Integer.compare(x, y))
+            .mapToInt(Integer::intValue).toArray();
+    }
+
+    public void iniciar() {
+        for (int t = 0; t < nThreads; t++) {
+            final int id = t;
+            Thread thread = new Thread(() -> executar(id), "sbpo-portfolio-" + t);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    public void parar() {
+        parar = true;
+        for (Thread thread : threads) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!threads.isEmpty()) System.out.println("[PORTFOLIO] " + troca.resumo());
+    }
+
+    private void executar(int id) {
+        Random rnd = new Random(42 + id);
+        Avaliador av = new Avaliador();
+        try {
+            while (!parar) {
+                IncumbentExchange.Alvo alvo = troca.getAlvo();
+                if (alvo == null || alvo.corredores.cardinality() < alvo.L) {
+                    Thread.sleep(20);
+                    continue;
+                }
+                IncumbentExchange.Onda base = troca.melhorDe(alvo.L);
+                int[] selecao = base != null && permitida(base, alvo) && rnd.nextInt(4) != 0
+                    ? base.corredores.clone()
+                    : reinicio(alvo, av, rnd);
+                buscaLocal(alvo, selecao, av, rnd);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("[PORTFOLIO] Erro na thread " + id + ": " + e);
+        }
+    }
+
+    private static boolean permitida(IncumbentExchange.Onda onda, IncumbentExchange.Alvo alvo) {
+        for (int a : onda.corredores) {
+            if (!alvo.corredores.get(a)) return false;
+        }
+        return true;
+    }
+
+    // Gulosa aleatorizada: a cada passo, o melhor de alguns corredores livres sorteados
+    private int[] reinicio(IncumbentExchange.Alvo alvo, Avaliador av, Random rnd) {
+        int[] livres = alvo.corredores.stream().toArray();
+        int[] selecao = new int[alvo.L];
+        BitSet usados = new BitSet(NA);
+        for (int k = 0; k < alvo.L; k++) {
+            int melhor = -1;
+            int melhorUnidades = -1;
+            for (int t = 0; t < AMOSTRA_REINICIO; t++) {
+                int a = livres[rnd.nextInt(livres.length)];
+                if (usados.get(a)) continue;
+                selecao[k] = a;
+                int u = av.unidades(selecao, k + 1, alvo);
+                if (u > melhorUnidades) {
+                    melhorUnidades = u;
+                    melhor = a;
+                }
+            }
+            if (melhor < 0) melhor = proximoLivre(alvo, usados);
+            selecao[k] = melhor;
+            usados.set(melhor);
+        }
+        return selecao;
+    }
+
+    // Primeiro corredor livre ainda não usado (existe: o alvo tem pelo menos L livres)
+    private static int proximoLivre(IncumbentExchange.Alvo alvo, BitSet usados) {
+        BitSet resto = (BitSet) alvo.corredores.clone();
+        resto.andNot(usados);
+        return resto.nextSetBit(0);
+    }
+
+    // Trocas aleatórias (sai um da seleção, entra um livre) aceitas quando não pioram
+    private void buscaLocal(IncumbentExchange.Alvo alvo, int[] selecao, Avaliador av, Random rnd) {
+        int L = alvo.L;
+        int[] livres = alvo.corredores.stream().toArray();
+        BitSet naSelecao = new BitSet(NA);
+        for (int a : selecao) naSelecao.set(a);
+        if (livres.length <= L || naSelecao.cardinality() < L) return;
+
+        int unidades = av.unidades(selecao, L, alvo);
+        publicar(alvo, selecao, av, unidades);
+        int semMelhora = 0;
+        while (!parar && troca.getAlvo() == alvo && semMelhora < TROCAS_SEM_MELHORA * L) {
+            int k = rnd.nextInt(L);
+            int entra = livres[rnd.nextInt(livres.length)];
+            if (naSelecao.get(entra)) {
+                semMelhora++;
+                continue;
+            }
+            int sai = selecao[k];
+            selecao[k] = entra;
+            int u = av.unidades(selecao, L, alvo);
+            if (u >= unidades) {
+                naSelecao.clear(sai);
+                naSelecao.set(entra);
+                if (u > unidades) {
+                    unidades = u;
+                    semMelhora = 0;
+                    publicar(alvo, selecao, av, unidades);
+                    continue;
+                }
+            } else {
+                selecao[k] = sai;
+            }
+            semMelhora++;
+        }
+    }
+
+    // Publica a seleção com os pedidos do último empacotamento (feito para esta mesma seleção)
+    private void publicar(IncumbentExchange.Alvo alvo, int[] selecao, Avaliador av, int unidades) {
+        double objetivo = (double) unidades / alvo.L;
+        if (unidades < LB || objetivo < alvo.minimo) return;
+        IncumbentExchange.Onda atual = troca.melhorDe(alvo.L);
+        if (atual != null && objetivo <= atual.objetivo) return;
+        List<Integer> pedidos = new ArrayList<>(av.nEscolhidos);
+        for (int k = 0; k < av.nEscolhidos; k++) pedidos.add(av.escolhidos[k]);
+        List<Integer> corredores = new ArrayList<>(alvo.L);
+        for (int a : selecao) corredores.add(a);
+        troca.publicar(pedidos, corredores, objetivo, IncumbentExchange.HEURISTICA);
+    }
+
+    // Empacotamento guloso (maiores primeiro) na oferta de uma seleção; rascunho por thread
+    private final class Avaliador {
+        final int[] oferta = new int[NI];
+        final int[] escolhidos = new int[NO];
+        int nEscolhidos;
+
+        int unidades(int[] selecao, int n, IncumbentExchange.Alvo alvo) {
+            Arrays.fill(oferta, 0);
+            for (int s = 0; s < n; s++) {
+                int a = selecao[s];
+                for (int k = 0; k < itensCorredor[a].length; k++) oferta[itensCorredor[a][k]] += capCorredor[a][k];
+            }
+            int unidades = 0;
+            nEscolhidos = 0;
+            for (int o : porTamanho) {
+                if (unidades + F[o] > UB || !alvo.pedidos.get(o)) continue;
+                boolean cabe = true;
+                for (int k = 0; k < itensPedido[o].length && cabe; k++) {
+                    cabe = qtdPedido[o][k] <= oferta[itensPedido[o][k]];
+                }
+                if (!cabe) continue;
+                for (int k = 0; k < itensPedido[o].length; k++) oferta[itensPedido[o][k]] -= qtdPedido[o][k];
+                unidades += F[o];
+                escolhidos[nEscolhidos++] = o;
+            }
+            return unidades;
+        }
+    }
+}
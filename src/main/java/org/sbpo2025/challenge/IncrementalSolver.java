@@ -0,0 +1,539 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Re-solve incremental: mantém o pré-processamento do ChallengeSolver atualizado
+// enquanto pedidos entram e saem do backlog, recalculando só o que foi afetado.
+//
+// O estado são as mesmas estruturas do PreprocessingPipeline (pares, Io/Ia, d, CAP e as
+// relações em CompressedBitmap), montadas uma vez pelo pipeline e depois alteradas linha a
+// linha com as funções de Preprocessing. Uma mudança de pedido altera d dos seus itens; isso
+// muda a capacidade limitada (e ITEM_A, CAP, repetidos) só nos corredores desses itens; DOM
+// só nas linhas cujo ITEM_A mudou e nas que ganham ou perdem um corredor cujo ITEM_B mudou;
+// fff só nos corredores com ITEM_A ou validade alterados, e pontualmente para os próprios
+// pedidos; ggg/G só nos itens e corredores tocados.
+//
+// O re-solve é um ChallengeSolver sobre esse pré-processamento (restrito aos pedidos ativos),
+// com a onda anterior reparada como partida.
+//
+// Os pedidos têm ids estáveis: os iniciais são 0..n-1 e os novos recebem ids
+// seguintes. Ids removidos não são reaproveitados.
+public class IncrementalSolver {
+
+    private final int NI;
+    private final int NA;
+    private final int LB;
+    private final int UB;
+    private final SolverConfig config;
+    private final List<Map<Integer, Integer>> aisles;
+
+    // Lado dos corredores
+    private final List<List<List<Integer>>> original;   // Pares de entrada (sem limite)
+    private final List<List<Integer>> Ia;                // Corredores que contêm cada item
+    private final List<List<List<Integer>>> capado = new ArrayList<>();  // Pares limitados a d
+    private final List<List<List<Integer>>> A = new ArrayList<>();       // capado, ou [1, -1] se inválido
+    private final List<List<Integer>> chave = new ArrayList<>();         // chaveOrdenada de capado
+    private final Map<List<Integer>, TreeSet<Integer>> classes = new HashMap<>();  // Corredores iguais
+    private final boolean[] repetido;
+    private final List<CompressedBitmap> ITEM_A;
+    private final List<CompressedBitmap> ITEM_B;
+    private final List<CompressedBitmap> DOM;
+    private final long[] impressaoA;
+    private final long[] impressaoB;
+    private final int[] nDominadores;
+    private final Set<Integer> aux;                      // Repetidos + dominados
+    private final List<List<Integer>> IaValido;          // Ia só com os corredores válidos
+    private final int[] unico;                           // Único corredor válido do item (-1 se não há)
+    private final List<CompressedBitmap> fff;
+    private final List<CompressedBitmap> ggg;
+    private final List<CompressedBitmap> G;
+    private final int[] CAP;
+    private final int[] d;
+
+    // Lado dos pedidos (ids estáveis; null = removido)
+    private final List<Map<Integer, Integer>> pedidos = new ArrayList<>();
+    private final List<List<List<Integer>>> O;
+    private final List<CompressedBitmap> ITEM_O;
+    private final List<List<Integer>> Io;
+    private int[] F;
+    private long[] impressaoO;
+
+    // Onda anterior (ids estáveis)
+    private Set<Integer> ondaPedidos = Collections.emptySet();
+    private Set<Integer> ondaCorredores = Collections.emptySet();
+
+    public IncrementalSolver(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles,
+                             int nItems, int waveSizeLB, int waveSizeUB, SolverConfig config) {
+        this.NI = nItems;
+        this.NA = aisles.size();
+        this.LB = waveSizeLB;
+        this.UB = waveSizeUB;
+        this.config = config;
+        this.aisles = aisles;
+
+        // Carga inicial: o pipeline completo
+        long inicioNs = System.nanoTime();
+        PreprocessingPipeline.Resultado etapas = PreprocessingPipeline.executar(orders, aisles, NI, config.threads);
+        ChallengeSolver.PreprocessingResult pre = etapas.pre;
+        pedidos.addAll(orders);
+        O = new ArrayList<>(etapas.O);
+        Io = etapas.Io;
+        Ia = etapas.Ia;
+        F = etapas.F;
+        d = pre.d;
+        CAP = pre.CAP;
+        ITEM_O = new ArrayList<>(pre.ITEM_O);
+        ITEM_A = new ArrayList<>(pre.ITEM_A);
+        ITEM_B = new ArrayList<>(pre.ITEM_B);
+        DOM = new ArrayList<>(pre.DOM);
+        fff = new ArrayList<>(pre.fff);
+        ggg = new ArrayList<>(pre.ggg);
+        G = new ArrayList<>(pre.G);
+        aux = new HashSet<>(pre.aux);
+        impressaoO = Preprocessing.impressoes(ITEM_O);
+        impressaoA = Preprocessing.impressoes(ITEM_A);
+        impressaoB = Preprocessing.impressoes(ITEM_B);
+
+        // O que o pipeline não guarda: pares sem limite, classes de corredores iguais e contagem de dominadores
+        original = Preprocessing.converterPares(aisles);
+        repetido = new boolean[NA];
+        for (int a = 0; a < NA; a++) {
+            capado.add(Preprocessing.capado(original.get(a), d));
+            List<Integer> k = chaveDe(capado.get(a));
+            chave.add(k);
+            TreeSet<Integer> membros = classes.computeIfAbsent(k, x -> new TreeSet<>());
+            repetido[a] = !membros.isEmpty();
+            membros.add(a);
+            A.add(aux.contains(a) ? Preprocessing.corredorInvalido() : capado.get(a));
+        }
+        nDominadores = new int[NA];
+        for (CompressedBitmap linha : DOM) {
+            for (int i : linha) nDominadores[i]++;
+        }
+        IaValido = Preprocessing.recalcularIa(A, NI);
+        unico = new int[NI];
+        for (int i = 0; i < NI; i++) unico[i] = IaValido.get(i).size() == 1 ? IaValido.get(i).get(0) : -1;
+        System.out.println("[INCREMENTAL] Estado inicial: " + orders.size() + " pedidos, " + NA + " corredores ("
+            + (System.nanoTime() - inicioNs) / 1_000_000L + "ms; " + PreprocessingPipeline.resumo(etapas) + ")");
+    }
+
+    // Adiciona pedidos ao backlog; retorna os ids atribuídos
+    public List<Integer> adicionarPedidos(List<Map<Integer, Integer>> novos) {
+        List<List<List<Integer>>> pares = Preprocessing.converterPares(novos);
+        int[] unidades = Preprocessing.calcularF(pares);
+        BitSet itens = new BitSet(NI);
+        List<Integer> ids = new ArrayList<>();
+        for (int k = 0; k < novos.size(); k++) {
+            int o = pedidos.size();
+            if (o == F.length) {
+                F = Arrays.copyOf(F, Math.max(16, 2 * o));
+                impressaoO = Arrays.copyOf(impressaoO, F.length);
+            }
+            CompressedBitmap itensPedido = Preprocessing.itens(pares.get(k));
+            pedidos.add(novos.get(k));
+            O.add(pares.get(k));
+            ITEM_O.add(itensPedido);
+            F[o] = unidades[k];
+            impressaoO[o] = Preprocessing.impressao(itensPedido);
+            for (List<Integer> pair : pares.get(k)) {
+                d[pair.get(0)] += pair.get(1);
+                Io.get(pair.get(0)).add(o);
+                itens.set(pair.get(0));
+            }
+            ids.add(o);
+        }
+        atualizar(itens, ids, Collections.emptyMap());
+        return ids;
+    }
+
+    // Remove pedidos do backlog (ids inexistentes ou já removidos são ignorados)
+    public void removerPedidos(Collection<Integer> ids) {
+        BitSet itens = new BitSet(NI);
+        Map<Integer, CompressedBitmap> removidos = new LinkedHashMap<>();
+        for (int o : ids) {
+            if (!isPedidoAtivo(o)) continue;
+            for (List<Integer> pair : O.get(o)) {
+                d[pair.get(0)] -= pair.get(1);
+                Io.get(pair.get(0)).remove((Integer) o);
+                itens.set(pair.get(0));
+            }
+            removidos.put(o, ITEM_O.get(o));
+            pedidos.set(o, null);
+            O.set(o, null);
+            ITEM_O.set(o, null);
+            F[o] = 0;
+        }
+        atualizar(itens, Collections.emptyList(), removidos);
+    }
+
+    public boolean isPedidoAtivo(int o) {
+        return o >= 0 && o < pedidos.size() && pedidos.get(o) != null;
+    }
+
+    public int getNumPedidosAtivos() {
+        int n = 0;
+        for (Map<Integer, Integer> p : pedidos) if (p != null) n++;
+        return n;
+    }
+
+    public int getUnidadesAtivas() {
+        int soma = 0;
+        for (int o = 0; o < pedidos.size(); o++) soma += F[o];
+        return soma;
+    }
+
+    // Define a onda de onde a próxima busca recomeça (por exemplo, a do solve completo)
+    public void definirOnda(ChallengeSolution onda) {
+        ondaPedidos = new HashSet<>(onda.orders());
+        ondaCorredores = new HashSet<>(onda.aisles());
+    }
+
+    // Propaga a mudança de d nos itens dados e a entrada/saída dos pedidos dados
+    // (os removidos já saíram de O, ITEM_O e Io e vêm com os seus itens)
+    private void atualizar(BitSet itensAlterados, List<Integer> novos, Map<Integer, CompressedBitmap> removidos) {
+        long inicioNs = System.nanoTime();
+
+        // Passo 1: capacidade limitada e classes de corredores iguais nos corredores dos itens alterados
+        BitSet tocados = new BitSet(NA);
+        for (int i = itensAlterados.nextSetBit(0); i >= 0; i = itensAlterados.nextSetBit(i + 1)) {
+            for (int a : Ia.get(i)) tocados.set(a);
+        }
+        Set<List<Integer>> classesTocadas = new HashSet<>();
+        for (int a = tocados.nextSetBit(0); a >= 0; a = tocados.nextSetBit(a + 1)) {
+            capado.set(a, Preprocessing.capado(original.get(a), d));
+            List<Integer> k = chaveDe(capado.get(a));
+            if (!k.equals(chave.get(a))) {
+                classes.get(chave.get(a)).remove(a);
+                classesTocadas.add(chave.get(a));
+                chave.set(a, k);
+                classes.computeIfAbsent(k, x -> new TreeSet<>()).add(a);
+                classesTocadas.add(k);
+            }
+        }
+
+        // Passo 2: repetidos (todos menos o de menor índice da classe)
+        BitSet entradaAlterada = (BitSet) tocados.clone();
+        for (List<Integer> k : classesTocadas) {
+            TreeSet<Integer> membros = classes.get(k);
+            if (membros == null) continue;
+            if (membros.isEmpty()) {
+                classes.remove(k);
+                continue;
+            }
+            int representante = membros.first();
+            for (int a : membros) {
+                if ((a != representante) != repetido[a]) {
+                    repetido[a] = a != representante;
+                    entradaAlterada.set(a);
+                }
+            }
+        }
+
+        // Passo 3: ITEM_A e ITEM_B (o repetido entra como [1, -1], como no pipeline)
+        BitSet itemAAlterado = new BitSet(NA);
+        BitSet itemBAlterado = new BitSet(NA);
+        for (int a = entradaAlterada.nextSetBit(0); a >= 0; a = entradaAlterada.nextSetBit(a + 1)) {
+            List<List<Integer>> entrada = repetido[a] ? Preprocessing.corredorInvalido() : capado.get(a);
+            CompressedBitmap novoA = Preprocessing.itemA(entrada, d);
+            if (!novoA.equals(ITEM_A.get(a))) {
+                ITEM_A.set(a, novoA);
+                impressaoA[a] = Preprocessing.impressao(novoA);
+                itemAAlterado.set(a);
+            }
+            CompressedBitmap novoB = Preprocessing.itens(entrada);
+            if (!novoB.equals(ITEM_B.get(a))) {
+                ITEM_B.set(a, novoB);
+                impressaoB[a] = Preprocessing.impressao(novoB);
+                itemBAlterado.set(a);
+            }
+        }
+
+        // Passo 4: linhas de DOM com ITEM_A alterado e as que ganham ou perdem um i com ITEM_B alterado
+        BitSet linhas = (BitSet) itemAAlterado.clone();
+        for (int i = itemBAlterado.nextSetBit(0); i >= 0; i = itemBAlterado.nextSetBit(i + 1)) {
+            for (int j = 0; j < NA; j++) {
+                if (j == i || linhas.get(j)) continue;
+                boolean domina = (impressaoB[i] & ~impressaoA[j]) == 0 && ITEM_B.get(i).contidoEm(ITEM_A.get(j));
+                if (domina != DOM.get(j).contem(i)) linhas.set(j);
+            }
+        }
+        int[] js = linhas.stream().toArray();
+        List<CompressedBitmap> novasLinhas = IntStream.range(0, js.length).parallel()
+            .mapToObj(k -> Preprocessing.dominados(js[k], ITEM_A, ITEM_B, impressaoA, impressaoB))
+            .collect(Collectors.toList());
+        BitSet dominadosTocados = new BitSet(NA);
+        for (int k = 0; k < js.length; k++) {
+            CompressedBitmap antiga = DOM.get(js[k]);
+            CompressedBitmap nova = novasLinhas.get(k);
+            for (int i : antiga) {
+                if (!nova.contem(i)) {
+                    nDominadores[i]--;
+                    dominadosTocados.set(i);
+                }
+            }
+            for (int i : nova) {
+                if (!antiga.contem(i)) {
+                    nDominadores[i]++;
+                    dominadosTocados.set(i);
+                }
+            }
+            DOM.set(js[k], nova);
+        }
+
+        // Passo 5: validade (aux), Ia', A e CAP
+        BitSet validadeAlterada = new BitSet(NA);
+        BitSet candidatos = (BitSet) entradaAlterada.clone();
+        candidatos.or(dominadosTocados);
+        for (int a = candidatos.nextSetBit(0); a >= 0; a = candidatos.nextSetBit(a + 1)) {
+            boolean invalido = repetido[a] || nDominadores[a] > 0;
+            if (invalido == aux.contains(a)) continue;
+            if (invalido) aux.add(a);
+            else aux.remove(a);
+            for (List<Integer> pair : original.get(a)) {
+                if (invalido) IaValido.get(pair.get(0)).remove((Integer) a);
+                else IaValido.get(pair.get(0)).add(a);
+            }
+            validadeAlterada.set(a);
+        }
+        BitSet capTocado = (BitSet) tocados.clone();
+        capTocado.or(validadeAlterada);
+        for (int a = capTocado.nextSetBit(0); a >= 0; a = capTocado.nextSetBit(a + 1)) {
+            A.set(a, aux.contains(a) ? Preprocessing.corredorInvalido() : capado.get(a));
+            CAP[a] = Preprocessing.capacidade(A.get(a), d);
+        }
+
+        // Passo 6: fff inteiro nos corredores com ITEM_A ou validade alterados...
+        BitSet fffInteiro = (BitSet) itemAAlterado.clone();
+        fffInteiro.or(validadeAlterada);
+        int[] recalculados = fffInteiro.stream().toArray();
+        List<CompressedBitmap> novosFff = IntStream.range(0, recalculados.length).parallel()
+            .mapToObj(k -> aux.contains(recalculados[k]) ? CompressedBitmap.VAZIO
+                : Preprocessing.pedidosCobertos(ITEM_A.get(recalculados[k]), ITEM_O, impressaoO))
+            .collect(Collectors.toList());
+        for (int k = 0; k < recalculados.length; k++) fff.set(recalculados[k], novosFff.get(k));
+        // ...e pontual nos outros pelos pedidos que entraram ou saíram
+        Map<Integer, List<Integer>> entram = new HashMap<>();
+        Map<Integer, Set<Integer>> saem = new HashMap<>();
+        for (int o : novos) {
+            for (int a : corredoresCandidatos(ITEM_O.get(o))) {
+                if (!fffInteiro.get(a) && !aux.contains(a) && (impressaoO[o] & ~impressaoA[a]) == 0
+                        && ITEM_O.get(o).contidoEm(ITEM_A.get(a))) {
+                    entram.computeIfAbsent(a, x -> new ArrayList<>()).add(o);
+                }
+            }
+        }
+        for (Map.Entry<Integer, CompressedBitmap> e : removidos.entrySet()) {
+            for (int a : corredoresCandidatos(e.getValue())) {
+                if (!fffInteiro.get(a) && fff.get(a).contem(e.getKey())) {
+                    saem.computeIfAbsent(a, x -> new HashSet<>()).add(e.getKey());
+                }
+            }
+        }
+        BitSet fffAlterado = (BitSet) fffInteiro.clone();
+        Set<Integer> pontuais = new HashSet<>(entram.keySet());
+        pontuais.addAll(saem.keySet());
+        for (int a : pontuais) {
+            List<Integer> linha = new ArrayList<>(fff.get(a));
+            linha.removeAll(saem.getOrDefault(a, Collections.emptySet()));
+            linha.addAll(entram.getOrDefault(a, Collections.emptyList()));
+            fff.set(a, CompressedBitmap.de(linha));
+            fffAlterado.set(a);
+        }
+
+        // Passo 7: ggg dos corredores ligados aos itens com Io ou Ia' alterado
+        BitSet itensGgg = (BitSet) itensAlterados.clone();
+        for (int a = validadeAlterada.nextSetBit(0); a >= 0; a = validadeAlterada.nextSetBit(a + 1)) {
+            for (List<Integer> pair : original.get(a)) itensGgg.set(pair.get(0));
+        }
+        BitSet gggAlterado = new BitSet(NA);
+        for (int i = itensGgg.nextSetBit(0); i >= 0; i = itensGgg.nextSetBit(i + 1)) {
+            if (unico[i] >= 0) gggAlterado.set(unico[i]);
+            unico[i] = IaValido.get(i).size() == 1 ? IaValido.get(i).get(0) : -1;
+            if (unico[i] >= 0) gggAlterado.set(unico[i]);
+        }
+        for (int a = gggAlterado.nextSetBit(0); a >= 0; a = gggAlterado.nextSetBit(a + 1)) {
+            ggg.set(a, Preprocessing.pedidosExclusivos(a, original.get(a), IaValido, Io));
+        }
+
+        // Passo 8: G = fff ∩ ggg nos corredores tocados
+        BitSet gAlterado = (BitSet) fffAlterado.clone();
+        gAlterado.or(gggAlterado);
+        for (int a = gAlterado.nextSetBit(0); a >= 0; a = gAlterado.nextSetBit(a + 1)) {
+            G.set(a, fff.get(a).e(ggg.get(a)));
+        }
+
+        System.out.println("[INCREMENTAL] +" + novos.size() + " -" + removidos.size() + " pedidos: "
+            + itensAlterados.cardinality() + " itens, " + tocados.cardinality() + " corredores recalculados, "
+            + js.length + " linhas de DOM, " + fffAlterado.cardinality() + " fff, "
+            + validadeAlterada.cardinality() + " mudaram de validade ("
+            + (System.nanoTime() - inicioNs) / 1_000_000L + "ms)");
+    }
+
+    // Conteúdo limitado de um corredor como chave de mapa
+    private static List<Integer> chaveDe(List<List<Integer>> corredor) {
+        return Arrays.stream(Preprocessing.chaveOrdenada(corredor)).boxed().collect(Collectors.toList());
+    }
+
+    // Corredores que podem conter o pedido inteiro (os do primeiro item; todos se o pedido é vazio)
+    private Collection<Integer> corredoresCandidatos(CompressedBitmap itens) {
+        if (itens.isEmpty()) {
+            List<Integer> todos = new ArrayList<>();
+            for (int a = 0; a < NA; a++) todos.add(a);
+            return todos;
+        }
+        return Ia.get(itens.iterator().next());
+    }
+
+    // Busca com o ChallengeSolver a partir da onda anterior reparada (incumbente inicial se
+    // chega a LB; início do MIP no L dela de qualquer forma)
+    public ChallengeSolution resolver(StopWatch stopWatch) {
+        // Pedidos ativos renumerados 0..n-1 na ordem dos ids estáveis
+        int[] ativos = IntStream.range(0, pedidos.size()).filter(this::isPedidoAtivo).toArray();
+        int[] novoId = new int[pedidos.size()];
+        Arrays.fill(novoId, -1);
+        for (int k = 0; k < ativos.length; k++) novoId[ativos[k]] = k;
+
+        // Passo 1: reparar a onda anterior
+        List<Integer> bestOrders = new ArrayList<>();
+        List<Integer> bestAisles = new ArrayList<>();
+        double CB = repararOnda(bestOrders, bestAisles);
+        System.out.println("[INCREMENTAL] Onda anterior reparada: " + bestOrders.size() + " pedidos, "
+            + bestAisles.size() + " corredores, objetivo " + CB);
+
+        // Passo 2: ChallengeSolver sobre o pré-processamento mantido (sem renumeração nem
+        // componentes, que refariam o pré-processamento em outros ids)
+        SolverConfig interno = config.copia();
+        interno.renumerar = false;
+        interno.componentes = false;
+        List<Map<Integer, Integer>> ordens = new ArrayList<>(ativos.length);
+        for (int o : ativos) ordens.add(pedidos.get(o));
+        ChallengeSolver solver = new ChallengeSolver(ordens, aisles, NI, LB, UB, interno);
+        solver.usarPreprocessamento(vista(ativos, novoId));
+        if (!bestAisles.isEmpty()) {
+            Set<Integer> partida = new HashSet<>();
+            for (int o : bestOrders) partida.add(novoId[o]);
+            solver.definirPartida(new ChallengeSolution(partida, new HashSet<>(bestAisles)));
+        }
+        ChallengeSolution resultado = solver.solve(stopWatch);
+
+        Set<Integer> ids = new HashSet<>();
+        for (int o : resultado.orders()) ids.add(ativos[o]);
+        ChallengeSolution solucao = new ChallengeSolution(ids, new HashSet<>(resultado.aisles()));
+        definirOnda(solucao);
+        return solucao;
+    }
+
+    // Pré-processamento no formato do pipeline, só com os pedidos ativos (renumerados por novoId)
+    private PreprocessingPipeline.Resultado vista(int[] ativos, int[] novoId) {
+        long inicioNs = System.nanoTime();
+        PreprocessingPipeline.Resultado r = new PreprocessingPipeline.Resultado();
+        r.O = new ArrayList<>(ativos.length);
+        r.F = new int[ativos.length];
+        List<CompressedBitmap> itensO = new ArrayList<>(ativos.length);
+        for (int k = 0; k < ativos.length; k++) {
+            r.O.add(O.get(ativos[k]));
+            r.F[k] = F[ativos[k]];
+            itensO.add(ITEM_O.get(ativos[k]));
+        }
+        r.Io = new ArrayList<>(NI);
+        for (List<Integer> pedidosItem : Io) {
+            List<Integer> l = new ArrayList<>(pedidosItem.size());
+            for (int o : pedidosItem) l.add(novoId[o]);
+            r.Io.add(l);
+        }
+        r.Ia = Ia;
+        r.A = new ArrayList<>(A);
+        r.pre = new ChallengeSolver.PreprocessingResult(r.A, d.clone(), CAP.clone(), new ArrayList<>(ITEM_A),
+            new ArrayList<>(ITEM_B), new ArrayList<>(DOM), new HashSet<>(aux), itensO,
+            renumerar(fff, novoId), renumerar(ggg, novoId), renumerar(G, novoId));
+        int repetidos = 0;
+        for (boolean rep : repetido) if (rep) repetidos++;
+        r.pre.removidosRepetidos = repetidos;
+        r.pre.removidosDominancia = aux.size() - repetidos;
+        r.tempoEtapaMs.put("vista", (System.nanoTime() - inicioNs) / 1_000_000L);
+        return r;
+    }
+
+    private static List<CompressedBitmap> renumerar(List<CompressedBitmap> linhas, int[] novoId) {
+        List<CompressedBitmap> r = new ArrayList<>(linhas.size());
+        for (CompressedBitmap linha : linhas) {
+            int[] v = new int[linha.size()];
+            int n = 0;
+            for (int o : linha) {
+                if (novoId[o] >= 0) v[n++] = novoId[o];
+            }
+            r.add(CompressedBitmap.de(v, n));
+        }
+        return r;
+    }
+
+    // Remove da onda anterior os pedidos que saíram, respeita UB e capacidade e completa até LB
+    // com pedidos que cabem na folga dos mesmos corredores. Retorna a razão, ou 0 se a onda não
+    // chega a LB (os corredores e pedidos que ficaram ainda servem de início do MIP).
+    private double repararOnda(List<Integer> ordens, List<Integer> corredores) {
+        if (ondaCorredores.isEmpty()) return 0.0;
+        corredores.addAll(ondaCorredores);
+        Collections.sort(corredores);
+
+        int[] folga = new int[NI];
+        for (int a : corredores) {
+            for (List<Integer> pair : original.get(a)) folga[pair.get(0)] += pair.get(1);
+        }
+        int unidades = 0;
+        List<Integer> mantidos = new ArrayList<>();
+        for (int o : ondaPedidos) {
+            if (isPedidoAtivo(o)) mantidos.add(o);
+        }
+        mantidos.sort((x, y) -> Integer.compare(F[y], F[x]));
+        for (int o : mantidos) {
+            if (cabe(o, folga) && unidades + F[o] <= UB) {
+                retirar(o, folga);
+                unidades += F[o];
+                ordens.add(o);
+            }
+        }
+        if (unidades < LB) {
+            Set<Integer> escolhidos = new HashSet<>(ordens);
+            List<Integer> candidatos = new ArrayList<>();
+            for (int o = 0; o < pedidos.size(); o++) {
+                if (isPedidoAtivo(o) && !escolhidos.contains(o)) candidatos.add(o);
+            }
+            candidatos.sort((x, y) -> Integer.compare(F[y], F[x]));
+            for (int o : candidatos) {
+                if (unidades >= LB) break;
+                if (cabe(o, folga) && unidades + F[o] <= UB) {
+                    retirar(o, folga);
+                    unidades += F[o];
+                    ordens.add(o);
+                }
+            }
+        }
+        return unidades < LB || ordens.isEmpty() ? 0.0 : (double) unidades / corredores.size();
+    }
+
+    private boolean cabe(int o, int[] folga) {
+        for (List<Integer> pair : O.get(o)) {
+            if (folga[pair.get(0)] < pair.get(1)) return false;
+        }
+        return true;
+    }
+
+    private void retirar(int o, int[] folga) {
+        for (List<Integer> pair : O.get(o)) folga[pair.get(0)] -= pair.get(1);
+    }
+}
@@ -0,0 +1,131 @@
+package org.sbpo2025.challenge;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Troca de incumbentes entre as threads heurísticas (HeuristicPortfolio) e o solver MIP,
+// sem travas: a melhor onda de cada L e a melhor geral ficam em referências atômicas
+// trocadas por CAS só quando a onda nova é melhor. Nenhum dos lados espera pelo outro;
+// quem perde a corrida simplesmente relê o valor atual.
+public final class IncumbentExchange {
+
+    public static final int HEURISTICA = 0;
+    public static final int SOLVER = 1;
+
+    // Onda publicada (imutável)
+    public static final class Onda {
+        public final int L;
+        public final int[] pedidos;
+        public final int[] corredores;
+        public final double objetivo;
+        public final int origem;
+        public final long versao;
+
+        Onda(int L, int[] pedidos, int[] corredores, double objetivo, int origem, long versao) {
+            this.L = L;
+            this.pedidos = pedidos;
+            this.corredores = corredores;
+            this.objetivo = objetivo;
+            this.origem = origem;
+            this.versao = versao;
+        }
+    }
+
+    // Subproblema que o solver está resolvendo: L, variáveis livres e razão mínima (imutável)
+    public static final class Alvo {
+        public final int L;
+        public final BitSet corredores;
+        public final BitSet pedidos;
+        public final double minimo;
+
+        Alvo(int L, BitSet corredores, BitSet pedidos, double minimo) {
+            this.L = L;
+            this.corredores = corredores;
+            this.pedidos = pedidos;
+            this.minimo = minimo;
+        }
+    }
+
+    private final AtomicReferenceArray<Onda> porL;
+    private final AtomicReference<Onda> melhor = new AtomicReference<>();
+    private final AtomicLong versoes = new AtomicLong();
+    private volatile Alvo alvo;
+
+    private final LongAdder publicadasHeuristica = new LongAdder();
+    private final LongAdder publicadasSolver = new LongAdder();
+    private final LongAdder injetadas = new LongAdder();
+
+    public IncumbentExchange(int NA) {
+        porL = new AtomicReferenceArray<>(NA + 1);
+    }
+
+    // Publica a onda se ela supera a melhor do seu L; retorna true se entrou
+    public boolean publicar(Collection<Integer> pedidos, Collection<Integer> corredores, double objetivo, int origem) {
+        int L = corredores.size();
+        if (objetivo <= 0 || L == 0 || L >= porL.length()) return false;
+        Onda nova = null;
+        while (true) {
+            Onda atual = porL.get(L);
+            if (atual != null && objetivo <= atual.objetivo) return false;
+            if (nova == null) {
+                nova = new Onda(L, pedidos.stream().mapToInt(Integer::intValue).toArray(),
+                    corredores.stream().mapToInt(Integer::intValue).toArray(), objetivo, origem,
+                    versoes.incrementAndGet());
+            }
+            if (porL.compareAndSet(L, atual, nova)) break;
+        }
+        while (true) {
+            Onda atual = melhor.get();
+            if ((atual != null && nova.objetivo <= atual.objetivo) || melhor.compareAndSet(atual, nova)) break;
+        }
+        (origem == SOLVER ? publicadasSolver : publicadasHeuristica).increment();
+        return true;
+    }
+
+    public Onda melhorDe(int L) {
+        return L > 0 && L < porL.length() ? porL.get(L) : null;
+    }
+
+    public Onda getMelhor() {
+        return melhor.get();
+    }
+
+    public double getMelhorObjetivo() {
+        Onda m = melhor.get();
+        return m == null ? 0.0 : m.objetivo;
+    }
+
+    // Subproblema em andamento, lido do próprio modelo (variáveis com limite superior zero ficam de fora)
+    public void definirAlvo(WaveModel modelo, double CB) {
+        BitSet corredores = new BitSet(modelo.NA);
+        BitSet pedidos = new BitSet(modelo.NO);
+        for (int a = 0; a < modelo.NA; a++) {
+            if (modelo.ub[modelo.corredor(a)] > 0) corredores.set(a);
+        }
+        for (int o = 0; o < modelo.NO; o++) {
+            if (modelo.ub[modelo.pedido(o)] > 0) pedidos.set(o);
+        }
+        alvo = new Alvo(modelo.L, corredores, pedidos, (CB * modelo.L + 1) / modelo.L);
+    }
+
+    public void limparAlvo() {
+        alvo = null;
+    }
+
+    public Alvo getAlvo() {
+        return alvo;
+    }
+
+    void contarInjecao() {
+        injetadas.increment();
+    }
+
+    public String resumo() {
+        return publicadasHeuristica.sum() + " ondas das heurísticas, " + publicadasSolver.sum()
+            + " incumbentes do solver, " + injetadas.sum() + " injetadas no solver";
+    }
+}
@@ -0,0 +1,215 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+// Gerador de instâncias sintéticas no formato lido por Challenge.readInput, para testes de
+// escala. Determinístico por semente.
+//
+// A popularidade dos itens segue uma Zipf de expoente zipf sobre uma permutação sorteada
+// dos ids (os populares não ficam juntos). Cada pedido tem 1 + Poisson(itensPorPedido - 1)
+// itens distintos sorteados pela popularidade, com quantidade 1 + geométrica. Cada corredor
+// estoca densidade × itens itens distintos uniformes, com quantidade uniforme em
+// [1, QTD_MAX_CORREDOR]; todo item pedido está em pelo menos um corredor. LB e UB são as
+// frações lb e ub do total de unidades pedidas. Os padrões imitam as instâncias médias de
+// datasets/a (2,5 itens por pedido, ~2% dos itens por corredor, janela de 10% a 35%).
+public final class InstanceGenerator {
+
+    static final int QTD_MAX_CORREDOR = 15;
+    static final double P_MAIS_UMA_UNIDADE = 0.25;
+
+    // Parâmetros (key=value na linha de comando, mesmos nomes dos campos)
+    public static final class Parametros {
+        public int pedidos = 2000;
+        public int itens = 4000;
+        public int corredores = 200;
+        public double zipf = 1.0;
+        public double itensPorPedido = 2.5;
+        public double densidade = 0.02;
+        public double lb = 0.10;
+        public double ub = 0.35;
+        public long seed = 1;
+
+        public static Parametros de(String[] chaveValor) {
+            Parametros p = new Parametros();
+            for (String kv : chaveValor) {
+                int i = kv.indexOf('=');
+                if (i < 0) throw new IllegalArgumentException("Esperado chave=valor: " + kv);
+                String chave = kv.substring(0, i).trim(), valor = kv.substring(i + 1).trim();
+                switch (chave) {
+                    case "pedidos": p.pedidos = Integer.parseInt(valor); break;
+                    case "itens": p.itens = Integer.parseInt(valor); break;
+                    case "corredores": p.corredores = Integer.parseInt(valor); break;
+                    case "zipf": p.zipf = Double.parseDouble(valor); break;
+                    case "itensPorPedido": p.itensPorPedido = Double.parseDouble(valor); break;
+                    case "densidade": p.densidade = Double.parseDouble(valor); break;
+                    case "lb": p.lb = Double.parseDouble(valor); break;
+                    case "ub": p.ub = Double.parseDouble(valor); break;
+                    case "seed": p.seed = Long.parseLong(valor); break;
+                    default: throw new IllegalArgumentException("Parâmetro desconhecido: " + chave);
+                }
+            }
+            return p;
+        }
+
+        // Pedidos, itens e corredores multiplicados por escala, com os mesmos itens por corredor
+        public Parametros escalado(double escala) {
+            Parametros p = copia();
+            p.pedidos = Math.max(1, (int) Math.round(pedidos * escala));
+            p.itens = Math.max(1, (int) Math.round(itens * escala));
+            p.corredores = Math.max(1, (int) Math.round(corredores * escala));
+            p.densidade = densidade * itens / p.itens;
+            return p;
+        }
+
+        public Parametros copia() {
+            Parametros p = new Parametros();
+            p.pedidos = pedidos;
+            p.itens = itens;
+            p.corredores = corredores;
+            p.zipf = zipf;
+            p.itensPorPedido = itensPorPedido;
+            p.densidade = densidade;
+            p.lb = lb;
+            p.ub = ub;
+            p.seed = seed;
+            return p;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "pedidos=%d itens=%d corredores=%d zipf=%.2f itensPorPedido=%.2f densidade=%.4f lb=%.2f ub=%.2f seed=%d",
+                pedidos, itens, corredores, zipf, itensPorPedido, densidade, lb, ub, seed);
+        }
+    }
+
+    private InstanceGenerator() {
+    }
+
+    public static void gerar(Parametros p, String arquivo) throws IOException {
+        try (Writer w = new BufferedWriter(new FileWriter(arquivo), 1 << 16)) {
+            gerar(p, w);
+        }
+    }
+
+    public static void gerar(Parametros p, Writer w) throws IOException {
+        if (p.pedidos < 1 || p.itens < 1 || p.corredores < 1) {
+            throw new IllegalArgumentException("pedidos, itens e corredores devem ser positivos");
+        }
+        Random rnd = new Random(p.seed);
+        int NI = p.itens;
+
+        // Popularidade acumulada sobre uma permutação dos itens
+        int[] permutacao = new int[NI];
+        for (int i = 0; i < NI; i++) permutacao[i] = i;
+        for (int i = NI - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = permutacao[i];
+            permutacao[i] = permutacao[j];
+            permutacao[j] = t;
+        }
+        double[] acumulada = new double[NI];
+        double soma = 0;
+        for (int k = 0; k < NI; k++) {
+            soma += 1.0 / Math.pow(k + 1, p.zipf);
+            acumulada[k] = soma;
+        }
+
+        // Pedidos
+        int[][] itensPedido = new int[p.pedidos][];
+        int[][] qtdPedido = new int[p.pedidos][];
+        boolean[] pedido = new boolean[NI];
+        long totalUnidades = 0;
+        int[] marca = new int[NI];
+        Arrays.fill(marca, -1);
+        for (int o = 0; o < p.pedidos; o++) {
+            int n = Math.min(NI, 1 + poisson(rnd, Math.max(0.0, p.itensPorPedido - 1)));
+            itensPedido[o] = new int[n];
+            qtdPedido[o] = new int[n];
+            for (int k = 0; k < n; k++) {
+                int item;
+                do {
+                    int r = Arrays.binarySearch(acumulada, rnd.nextDouble() * soma);
+                    item = permutacao[Math.min(NI - 1, r >= 0 ? r : -r - 1)];
+                } while (marca[item] == o);
+                marca[item] = o;
+                int q = 1;
+                while (rnd.nextDouble() < P_MAIS_UMA_UNIDADE) q++;
+                itensPedido[o][k] = item;
+                qtdPedido[o][k] = q;
+                pedido[item] = true;
+                totalUnidades += q;
+            }
+        }
+
+        // Corredores: cada item pedido num corredor sorteado, depois o estoque uniforme
+        int porCorredor = Math.max(1, Math.min(NI, (int) Math.round(p.densidade * NI)));
+        int[] contagem = new int[p.corredores];
+        int[] corredorObrigatorio = new int[NI];
+        for (int i = 0; i < NI; i++) {
+            corredorObrigatorio[i] = pedido[i] ? rnd.nextInt(p.corredores) : -1;
+            if (pedido[i]) contagem[corredorObrigatorio[i]]++;
+        }
+        int[][] itensCorredor = new int[p.corredores][];
+        for (int a = 0; a < p.corredores; a++) itensCorredor[a] = new int[Math.max(contagem[a], porCorredor)];
+        Arrays.fill(contagem, 0);
+        for (int i = 0; i < NI; i++) {
+            int a = corredorObrigatorio[i];
+            if (a >= 0) itensCorredor[a][contagem[a]++] = i;
+        }
+        Arrays.fill(marca, -1);
+        for (int a = 0; a < p.corredores; a++) {
+            int[] itens = itensCorredor[a];
+            for (int k = 0; k < contagem[a]; k++) marca[itens[k]] = a;
+            int n = contagem[a];
+            while (n < itens.length) {
+                int item = rnd.nextInt(NI);
+                if (marca[item] == a) continue;
+                marca[item] = a;
+                itens[n++] = item;
+            }
+        }
+
+        int LB = (int) Math.max(1, Math.round(p.lb * totalUnidades));
+        int UB = (int) Math.max(LB, Math.round(p.ub * totalUnidades));
+
+        w.write(p.pedidos + " " + NI + " " + p.corredores + "\n");
+        StringBuilder linha = new StringBuilder();
+        for (int o = 0; o < p.pedidos; o++) {
+            linha.setLength(0);
+            linha.append(itensPedido[o].length);
+            for (int k = 0; k < itensPedido[o].length; k++) {
+                linha.append(' ').append(itensPedido[o][k]).append(' ').append(qtdPedido[o][k]);
+            }
+            w.write(linha.append('\n').toString());
+        }
+        for (int a = 0; a < p.corredores; a++) {
+            linha.setLength(0);
+            linha.append(itensCorredor[a].length);
+            for (int item : itensCorredor[a]) {
+                linha.append(' ').append(item).append(' ').append(1 + rnd.nextInt(QTD_MAX_CORREDOR));
+            }
+            w.write(linha.append('\n').toString());
+        }
+        w.write(LB + " " + UB + "\n");
+    }
+
+    // Poisson por inversão (médias pequenas) ou aproximação normal (médias grandes)
+    private static int poisson(Random rnd, double media) {
+        if (media <= 0) return 0;
+        if (media > 30) return Math.max(0, (int) Math.round(media + Math.sqrt(media) * rnd.nextGaussian()));
+        double limite = Math.exp(-media), produto = rnd.nextDouble();
+        int k = 0;
+        while (produto > limite) {
+            produto *= rnd.nextDouble();
+            k++;
+        }
+        return k;
+    }
+}
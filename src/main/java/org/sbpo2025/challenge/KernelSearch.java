@@ -0,0 +1,123 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Kernel search sobre os corredores do subproblema de L fixo.
+//
+// A relaxação linear ordena os corredores livres (é a da VariableFixing, resolvida no modelo
+// com CI = aux, que limita também o modelo da fase; sem ela o modelo é resolvido inteiro): primeiro os com valor positivo
+// (em ordem decrescente), depois os demais pelo custo reduzido. O kernel começa com os
+// corredores positivos (pelo menos L) e o resto é dividido em baldes. Cada MIP restrito
+// libera só kernel + um balde (os outros corredores ficam com limite superior zero, o que o
+// presolve do solver remove); quando ele melhora a onda, os corredores do balde usados
+// entram no kernel e a restrição de produção passa a exigir a nova razão. O modelo é montado
+// uma vez no solver (MipBackend.Sessao) e cada MIP restrito só muda limites e esse rhs.
+public class KernelSearch {
+
+    private static final double EPS = 1e-6;
+
+    private final MipBackend backend;
+    private final int baldes;
+    private final int threads;
+    private final IncumbentExchange troca;
+
+    public KernelSearch(MipBackend backend, int baldes, int threads, IncumbentExchange troca) {
+        this.backend = backend;
+        this.baldes = Math.max(1, baldes);
+        this.threads = threads;
+        this.troca = troca;
+    }
+
+    // Resolve o modelo (com L fixo) em até timeLimit segundos com a relaxação ótima lp (ou null);
+    // o modelo volta ao estado original
+    public ChallengeSolver.OptimizationResult resolver(WaveModel modelo, MipBackend.Relaxacao lp, double timeLimit) {
+        long fimNs = System.nanoTime() + (long) (timeLimit * 1e9);
+        if (lp == null) {
+            return solve(modelo, restante(fimNs));  // Sem ordenação: modelo completo
+        }
+
+        // Ordenação dos corredores livres
+        List<Integer> livres = new ArrayList<>();
+        for (int a = 0; a < modelo.NA; a++) {
+            if (modelo.ub[modelo.corredor(a)] > 0) livres.add(a);
+        }
+        livres.sort((x, y) -> {
+            double vx = lp.x[modelo.corredor(x)], vy = lp.x[modelo.corredor(y)];
+            if (Math.abs(vx - vy) > EPS) return Double.compare(vy, vx);
+            return Double.compare(lp.custoReduzido[modelo.corredor(y)], lp.custoReduzido[modelo.corredor(x)]);
+        });
+        int tamanhoKernel = 0;
+        while (tamanhoKernel < livres.size() && lp.x[modelo.corredor(livres.get(tamanhoKernel))] > EPS) {
+            tamanhoKernel++;
+        }
+        tamanhoKernel = Math.min(livres.size(), Math.max(tamanhoKernel, modelo.L));
+        int resto = livres.size() - tamanhoKernel;
+        if (resto == 0) return solve(modelo, restante(fimNs));
+
+        boolean[] noKernel = new boolean[modelo.NA];
+        for (int k = 0; k < tamanhoKernel; k++) noKernel[livres.get(k)] = true;
+        int porBalde = (resto + baldes - 1) / baldes;
+        int nBaldes = (resto + porBalde - 1) / porBalde;
+
+        double[] ubOriginal = Arrays.copyOf(modelo.ub, modelo.nVars);
+        double rhsOriginal = modelo.rhs[modelo.linhaIncumbente];
+        ChallengeSolver.OptimizationResult melhor = null;
+        ChallengeSolver.OptimizationResult ultimo = null;
+        long nos = 0;
+        try (MipBackend.Sessao sessao = backend.abrir(modelo)) {
+            // Passo 0: só o kernel; passo b: kernel + balde b
+            for (int passo = 0; passo <= nBaldes; passo++) {
+                double tempo = restante(fimNs) / (nBaldes + 1 - passo);
+                if (tempo <= 0.05) break;
+                int de = tamanhoKernel + (passo - 1) * porBalde;
+                int ate = passo == 0 ? de : Math.min(livres.size(), de + porBalde);
+                for (int a : livres) {
+                    modelo.ub[modelo.corredor(a)] = noKernel[a] ? ubOriginal[modelo.corredor(a)] : 0;
+                }
+                for (int k = Math.max(de, tamanhoKernel); k < ate; k++) {
+                    int a = livres.get(k);
+                    modelo.ub[modelo.corredor(a)] = ubOriginal[modelo.corredor(a)];
+                }
+
+                ultimo = sessao.resolver(tempo, threads, troca);
+                nos += ultimo.getNodes();
+                if (ultimo.getObjectiveValue() > (melhor == null ? 0.0 : melhor.getObjectiveValue())) {
+                    melhor = ultimo;
+                    for (int a : ultimo.getSelectedAisles()) noKernel[a] = true;
+                    // Próximos MIPs só aceitam onda melhor: sum F_o p_o >= (unidades da onda) + 1
+                    modelo.rhs[modelo.linhaIncumbente] = Math.max(modelo.rhs[modelo.linhaIncumbente],
+                        Math.round(ultimo.getObjectiveValue() * modelo.L) + 1);
+                }
+            }
+        } finally {
+            System.arraycopy(ubOriginal, 0, modelo.ub, 0, modelo.nVars);
+            modelo.rhs[modelo.linhaIncumbente] = rhsOriginal;
+        }
+
+        // A relaxação limita o modelo completo; ótimo e inviável dos MIPs restritos não valem para ele
+        ChallengeSolver.OptimizationResult result = melhor != null
+            ? new ChallengeSolver.OptimizationResult(melhor.getObjectiveValue(), melhor.getSelectedOrders(),
+                melhor.getSelectedAisles(), ChallengeSolver.OptimizationResult.Status.FEASIBLE, lp.objetivo)
+            : new ChallengeSolver.OptimizationResult(0.0, new ArrayList<>(), new ArrayList<>(),
+                ChallengeSolver.OptimizationResult.Status.UNKNOWN, lp.objetivo);
+        if (ultimo != null) {
+            result.withModelStats(ultimo.getRows(), ultimo.getCols(), ultimo.getNnz(), ultimo.getBuildMs(),
+                ultimo.getSolveMs());
+        }
+        System.out.println("[KERNEL] L=" + modelo.L + ": kernel " + tamanhoKernel + " de " + livres.size()
+            + " corredores, " + nBaldes + " baldes de " + porBalde + ", objetivo " + result.getObjectiveValue());
+        return result.withNodes(nos);
+    }
+
+    private ChallengeSolver.OptimizationResult solve(WaveModel modelo, double tempo) {
+        return troca != null
+            ? backend.resolver(modelo, tempo, threads, troca)
+            : backend.resolver(modelo, tempo, threads);
+    }
+
+    private static double restante(long fimNs) {
+        return Math.max(0.0, (fimNs - System.nanoTime()) / 1e9);
+    }
+}
@@ -0,0 +1,110 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Previsão da faixa de L por amostragem, para instâncias em que cada MIP por L é caro.
+//
+// Cada amostra sorteia uma fração dos pedidos, escala LB e UB pela mesma fração e roda a
+// família gulosa (LazyGreedyAisles) com todos os corredores válidos. O perfil da amostra
+// é a razão de cada L dividida pela melhor razão da amostra; a pontuação de L é a média
+// dos perfis. A janela é o trecho contíguo em volta do melhor L com pontuação de pelo
+// menos TOLERANCIA do máximo, ordenado por pontuação para o solve tentar primeiro.
+public class LRangePredictor {
+
+    static final double TOLERANCIA = 0.9;
+    static final double FRACAO = 0.5;
+    static final int MIN_PEDIDOS = 50;
+
+    // Resultado da previsão
+    public static final class Previsao {
+        public final double[] pontuacao;  // Índice L (0 sem uso)
+        public final int de;
+        public final int ate;
+        public final List<Integer> ranking;  // L da janela, melhor pontuação primeiro
+        public final long tempoMs;
+
+        Previsao(double[] pontuacao, int de, int ate, List<Integer> ranking, long tempoMs) {
+            this.pontuacao = pontuacao;
+            this.de = de;
+            this.ate = ate;
+            this.ranking = ranking;
+            this.tempoMs = tempoMs;
+        }
+    }
+
+    private final int NO, NA, NI, LB, UB;
+    private final int[] F;
+    private final List<List<List<Integer>>> A;
+    private final List<List<List<Integer>>> O;
+
+    public LRangePredictor(int NO, int NA, int NI, int LB, int UB, int[] F,
+                           List<List<List<Integer>>> A, List<List<List<Integer>>> O) {
+        this.NO = NO;
+        this.NA = NA;
+        this.NI = NI;
+        this.LB = LB;
+        this.UB = UB;
+        this.F = F;
+        this.A = A;
+        this.O = O;
+    }
+
+    // Roda as amostras (L até maxL) até System.nanoTime() passar de prazoNs; janela vazia
+    // (de > ate) se nenhuma amostra achou onda
+    public Previsao prever(int amostras, int maxL, long seed, long prazoNs) {
+        long inicioNs = System.nanoTime();
+        Random rnd = new Random(seed);
+        double fracao = NO <= MIN_PEDIDOS ? 1.0 : Math.max(FRACAO, (double) MIN_PEDIDOS / NO);
+        double[] soma = new double[maxL + 1];
+        int validas = 0;
+
+        for (int s = 0; s < amostras && System.nanoTime() < prazoNs; s++) {
+            // Pedidos sorteados, renumerados 0..n-1
+            List<List<List<Integer>>> Os = new ArrayList<>();
+            List<Integer> Fs = new ArrayList<>();
+            for (int o = 0; o < NO; o++) {
+                if (rnd.nextDouble() < fracao) {
+                    Os.add(O.get(o));
+                    Fs.add(F[o]);
+                }
+            }
+            if (Os.isEmpty()) continue;
+            int LBs = (int) Math.ceil(LB * fracao);
+            int UBs = Math.max(LBs, (int) Math.floor(UB * fracao));
+            int[] Farr = Fs.stream().mapToInt(Integer::intValue).toArray();
+
+            LazyGreedyAisles.Familia familia = new LazyGreedyAisles(Os.size(), NA, NI, LBs, UBs, Farr, A, Os,
+                Preprocessing.buildIo(Os, NI)).executar(maxL, prazoNs);
+            double melhor = familia.melhorObjetivo();
+            if (melhor <= 0) continue;
+            validas++;
+            for (int L = 1; L < familia.objetivo.size() && L <= maxL; L++) {
+                soma[L] += familia.objetivo.get(L) / melhor;
+            }
+        }
+
+        double[] pontuacao = new double[maxL + 1];
+        int melhorL = 0;
+        for (int L = 1; L <= maxL; L++) {
+            pontuacao[L] = validas > 0 ? soma[L] / validas : 0.0;
+            if (pontuacao[L] > pontuacao[melhorL]) melhorL = L;
+        }
+        long tempoMs = (System.nanoTime() - inicioNs) / 1_000_000L;
+        if (melhorL == 0) return new Previsao(pontuacao, 1, 0, new ArrayList<>(), tempoMs);
+
+        double corte = TOLERANCIA * pontuacao[melhorL];
+        int de = melhorL;
+        int ate = melhorL;
+        while (de > 1 && pontuacao[de - 1] >= corte) de--;
+        while (ate < maxL && pontuacao[ate + 1] >= corte) ate++;
+
+        Integer[] janela = new Integer[ate - de + 1];
+        for (int L = de; L <= ate; L++) janela[L - de] = L;
+        Arrays.sort(janela, (x, y) -> pontuacao[y] != pontuacao[x]
+            ? Double.compare(pontuacao[y], pontuacao[x]) : Integer.compare(x, y));
+        return new Previsao(pontuacao, de, ate, Arrays.asList(janela), tempoMs);
+    }
+}
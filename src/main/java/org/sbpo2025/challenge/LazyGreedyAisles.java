@@ -0,0 +1,248 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Seleção gulosa de corredores por ganho marginal com avaliação preguiçosa (CELF).
+//
+// O ganho de um corredor é quantas unidades de pedidos passam a ser totalmente
+// atendíveis pela oferta dos corredores escolhidos se ele entrar (mais uma fração
+// pequena do progresso parcial, para desempatar quando nenhum pedido fecha).
+// Os ganhos ficam numa fila de prioridade e só o topo é reavaliado a cada passo:
+// se continuar no topo depois de reavaliado, entra. Contadores por pedido (itens já
+// atendidos) tornam a avaliação incremental.
+//
+// Uma única passada produz a família de ondas para L = 1..maxL: a onda de L usa os L
+// primeiros corredores escolhidos. O empacotamento é incremental: a oferta que sobra e os
+// pedidos já empacotados passam de um prefixo ao seguinte, e a entrada de um corredor só
+// tenta os pedidos que ele pode ter liberado (os recém-atendíveis e os atendíveis ainda
+// fora da onda que usam algum item dele). Assim a onda de L + 1 contém a de L.
+public final class LazyGreedyAisles {
+
+    // Peso do progresso parcial no ganho (só desempata ganhos completos iguais)
+    private static final double PESO_PARCIAL = 0.1;
+
+    // Família de ondas: objetivo[L] e pedidos[L] para os L primeiros corredores de sequencia
+    public static final class Familia {
+        public final List<Integer> sequencia = new ArrayList<>();
+        public final List<Double> objetivo = new ArrayList<>();
+        public final List<List<Integer>> pedidos = new ArrayList<>();
+        public int melhorL = -1;
+
+        private Familia() {
+            objetivo.add(0.0);
+            pedidos.add(new ArrayList<>());
+        }
+
+        public List<Integer> corredores(int L) {
+            return new ArrayList<>(sequencia.subList(0, L));
+        }
+
+        public double melhorObjetivo() {
+            return melhorL > 0 ? objetivo.get(melhorL) : 0.0;
+        }
+    }
+
+    private static final class Candidato {
+        final int corredor;
+        double ganho;
+        int versao;  // Tamanho da seleção quando o ganho foi calculado
+
+        Candidato(int corredor, double ganho) {
+            this.corredor = corredor;
+            this.ganho = ganho;
+        }
+    }
+
+    private final int NO, NA, NI, LB, UB;
+    private final int[] F;
+    private final List<List<List<Integer>>> A;
+    private final List<List<List<Integer>>> O;
+
+    // Io em arrays, com a quantidade de cada pedido alinhada
+    private final int[][] ioPedidos;
+    private final int[][] ioQtd;
+
+    // Estado da seleção
+    private final int[] oferta;
+    private final int[] satisfeitos;   // Itens do pedido já atendidos pela oferta
+    private final int[] nItens;
+    private final boolean[] coberto;
+
+    // Estado do empacotamento: oferta que sobra depois dos pedidos empacotados
+    private final int[] sobra;
+    private final boolean[] empacotado;
+    private final int[] marca;         // Último L em que o pedido virou candidato
+
+    // Rascunho da avaliação
+    private final int[] novos;
+    private final int[] tocados;
+
+    public LazyGreedyAisles(int NO, int NA, int NI, int LB, int UB, int[] F,
+                            List<List<List<Integer>>> A, List<List<List<Integer>>> O, List<List<Integer>> Io) {
+        this.NO = NO;
+        this.NA = NA;
+        this.NI = NI;
+        this.LB = LB;
+        this.UB = UB;
+        this.F = F;
+        this.A = A;
+        this.O = O;
+
+        ioPedidos = new int[NI][];
+        ioQtd = new int[NI][];
+        for (int i = 0; i < NI; i++) {
+            List<Integer> pedidos = Io.get(i);
+            ioPedidos[i] = new int[pedidos.size()];
+            ioQtd[i] = new int[pedidos.size()];
+            for (int k = 0; k < pedidos.size(); k++) {
+                ioPedidos[i][k] = pedidos.get(k);
+                ioQtd[i][k] = Preprocessing.buscarValor(O.get(pedidos.get(k)), i);
+            }
+        }
+        oferta = new int[NI];
+        satisfeitos = new int[NO];
+        nItens = new int[NO];
+        coberto = new boolean[NO];
+        sobra = new int[NI];
+        empacotado = new boolean[NO];
+        marca = new int[NO];
+        novos = new int[NO];
+        tocados = new int[NO];
+        for (int o = 0; o < NO; o++) nItens[o] = O.get(o).size();
+    }
+
+    // Escolhe até maxL corredores e monta a onda de cada prefixo. Para antes de maxL
+    // quando UB / L já não supera a melhor onda encontrada ou quando System.nanoTime()
+    // passa de prazoNs (a família fica com os prefixos já montados).
+    public Familia executar(int maxL, long prazoNs) {
+        Arrays.fill(oferta, 0);
+        Arrays.fill(satisfeitos, 0);
+        Arrays.fill(sobra, 0);
+        Arrays.fill(empacotado, false);
+        Arrays.fill(marca, 0);
+        Familia familia = new Familia();
+
+        List<Integer> atendiveis = new ArrayList<>();
+        for (int o = 0; o < NO; o++) {
+            coberto[o] = nItens[o] == 0;
+            if (coberto[o]) atendiveis.add(o);
+        }
+
+        PriorityQueue<Candidato> fila = new PriorityQueue<>(
+            Comparator.comparingDouble((Candidato c) -> -c.ganho).thenComparingInt(c -> c.corredor));
+        for (int a = 0; a < NA; a++) {
+            if (!Preprocessing.isInvalidAisle(A.get(a))) {
+                fila.add(new Candidato(a, avaliar(a, false, null)));
+            }
+        }
+
+        Comparator<Integer> porTamanho = (x, y) -> F[y] != F[x] ? Integer.compare(F[y], F[x]) : Integer.compare(x, y);
+        List<Integer> escolhidos = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();  // Pedidos empacotados na onda de cada L
+        tamanhos.add(0);
+        int unidades = 0;
+        int vistos = 0;  // Atendíveis já oferecidos ao empacotamento
+        for (int L = 1; L <= maxL && !fila.isEmpty(); L++) {
+            if (familia.melhorL > 0 && (double) UB / L <= familia.melhorObjetivo()) break;
+            if (System.nanoTime() > prazoNs) break;
+
+            // CELF: reavalia o topo até que ele continue no topo com o ganho atualizado
+            Candidato topo;
+            while (true) {
+                topo = fila.poll();
+                if (topo.versao == L - 1) break;
+                topo.ganho = avaliar(topo.corredor, false, null);
+                topo.versao = L - 1;
+                fila.add(topo);
+            }
+            avaliar(topo.corredor, true, atendiveis);
+            familia.sequencia.add(topo.corredor);
+
+            // Onda com os L primeiros corredores: a de L - 1 mais o que o novo corredor liberou
+            List<Integer> candidatos = candidatos(topo.corredor, L, atendiveis.subList(vistos, atendiveis.size()));
+            vistos = atendiveis.size();
+            candidatos.sort(porTamanho);
+            int n = escolhidos.size();
+            unidades += WaveEvaluator.empacotar(candidatos, O, F, sobra, UB - unidades, escolhidos);
+            for (int k = n; k < escolhidos.size(); k++) empacotado[escolhidos.get(k)] = true;
+            tamanhos.add(escolhidos.size());
+            double objetivo = unidades >= LB && !escolhidos.isEmpty() ? (double) unidades / L : 0.0;
+            familia.objetivo.add(objetivo);
+            if (objetivo > familia.melhorObjetivo()) familia.melhorL = L;
+        }
+        for (int L = 1; L < familia.objetivo.size(); L++) {
+            familia.pedidos.add(familia.objetivo.get(L) > 0
+                ? escolhidos.subList(0, tamanhos.get(L)) : new ArrayList<>());
+        }
+        return familia;
+    }
+
+    // Pedidos que o corredor a (o L-ésimo) pode ter liberado: os recém-atendíveis e os
+    // atendíveis ainda fora da onda com algum item de a. Também soma a oferta de a à sobra
+    private List<Integer> candidatos(int a, int L, List<Integer> recentes) {
+        List<Integer> candidatos = new ArrayList<>();
+        for (int o : recentes) {
+            marca[o] = L;
+            candidatos.add(o);
+        }
+        for (List<Integer> par : A.get(a)) {
+            int item = par.get(0);
+            int q = par.get(1);
+            if (q <= 0 || item >= NI) continue;
+            sobra[item] += q;
+            for (int o : ioPedidos[item]) {
+                if (coberto[o] && !empacotado[o] && marca[o] != L) {
+                    marca[o] = L;
+                    candidatos.add(o);
+                }
+            }
+        }
+        return candidatos;
+    }
+
+    // Ganho marginal do corredor a; com aplicar, também o acrescenta à seleção e
+    // coloca em atendiveis os pedidos que ficaram totalmente atendidos
+    private double avaliar(int a, boolean aplicar, List<Integer> atendiveis) {
+        int nTocados = 0;
+        for (List<Integer> par : A.get(a)) {
+            int item = par.get(0);
+            int q = par.get(1);
+            if (q <= 0 || item >= NI) continue;
+            int antes = oferta[item];
+            int depois = antes + q;
+            int[] pedidos = ioPedidos[item];
+            int[] qtd = ioQtd[item];
+            for (int k = 0; k < pedidos.length; k++) {
+                int o = pedidos[k];
+                if (coberto[o]) continue;
+                if (antes < qtd[k] && qtd[k] <= depois) {
+                    if (novos[o]++ == 0) tocados[nTocados++] = o;
+                }
+            }
+            if (aplicar) oferta[item] = depois;
+        }
+
+        double completo = 0;
+        double parcial = 0;
+        for (int t = 0; t < nTocados; t++) {
+            int o = tocados[t];
+            int n = novos[o];
+            novos[o] = 0;
+            if (satisfeitos[o] + n == nItens[o]) {
+                completo += F[o];
+                if (aplicar) {
+                    coberto[o] = true;
+                    atendiveis.add(o);
+                }
+            } else {
+                parcial += (double) F[o] * n / nItens[o];
+            }
+            if (aplicar) satisfeitos[o] += n;
+        }
+        return completo + PESO_PARCIAL * parcial;
+    }
+}
@@ -0,0 +1,81 @@
+package org.sbpo2025.challenge;
+
+// Solver MIP que resolve um WaveModel.
+// As implementações são carregadas por nome, de modo que o restante do código
+// compila e roda sem a biblioteca do solver no classpath (perfil bench).
+public interface MipBackend {
+
+    // threads <= 0 deixa o solver escolher
+    ChallengeSolver.OptimizationResult resolver(WaveModel modelo, double timeLimit, int threads);
+
+    // Igual, trocando incumbentes com as threads heurísticas durante o solve (backends sem
+    // callback ignoram a troca)
+    default ChallengeSolver.OptimizationResult resolver(WaveModel modelo, double timeLimit, int threads,
+                                                        IncumbentExchange troca) {
+        return resolver(modelo, timeLimit, threads);
+    }
+
+    // Modelo montado uma vez no solver e resolvido várias vezes (KernelSearch). Cada resolver lê
+    // os limites das variáveis e o rhs das linhas do WaveModel e só leva ao solver o que mudou
+    // desde o solve anterior; a sessão precisa ser fechada
+    interface Sessao extends AutoCloseable {
+        ChallengeSolver.OptimizationResult resolver(double timeLimit, int threads, IncumbentExchange troca);
+
+        @Override
+        void close();
+    }
+
+    // Backends sem sessão montam o modelo de novo a cada resolver
+    default Sessao abrir(WaveModel modelo) {
+        return new Sessao() {
+            @Override
+            public ChallengeSolver.OptimizationResult resolver(double timeLimit, int threads, IncumbentExchange troca) {
+                return MipBackend.this.resolver(modelo, timeLimit, threads, troca);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    // Relaxação linear do modelo com custos reduzidos (status UNKNOWN se o backend não oferece)
+    default Relaxacao relaxar(WaveModel modelo, double timeLimit, int threads) {
+        return new Relaxacao();
+    }
+
+    final class Relaxacao {
+        public ChallengeSolver.OptimizationResult.Status status = ChallengeSolver.OptimizationResult.Status.UNKNOWN;
+        public double objetivo = Double.POSITIVE_INFINITY;
+        public double[] x;
+        public double[] custoReduzido;
+    }
+
+    // Backend padrão (CPLEX)
+    static MipBackend padrao() {
+        return Padrao.INSTANCIA;
+    }
+
+    static MipBackend criar(String nome) {
+        String classe;
+        switch (nome) {
+            case "cplex":
+                classe = "org.sbpo2025.challenge.CplexBackend";
+                break;
+            default:
+                throw new IllegalArgumentException("Backend desconhecido: " + nome);
+        }
+        try {
+            return (MipBackend) Class.forName(classe).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Backend " + nome + " indisponível: " + e, e);
+        }
+    }
+
+    final class Padrao {
+        static final MipBackend INSTANCIA = criar("cplex");
+
+        private Padrao() {
+        }
+    }
+}
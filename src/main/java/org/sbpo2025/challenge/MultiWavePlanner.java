@@ -0,0 +1,103 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Modo multi-onda: planeja um turno como uma sequência de ondas. Depois de escolher
+// uma onda, seus pedidos saem do backlog e a próxima é planejada no que restou.
+//
+// Todas as ondas passam pelo IncrementalSolver: o pré-processamento é montado uma vez e,
+// entre ondas, só o que a saída dos pedidos afetou é recalculado. Cada onda é um solve do
+// ChallengeSolver sobre esse pré-processamento, com a onda anterior reparada como partida
+// e como início do MIP.
+public class MultiWavePlanner {
+
+    // Uma onda planejada (uma linha do CSV)
+    private static class Onda {
+        int numero;
+        ChallengeSolution solucao;
+        double objetivo;
+        int unidades;
+        long tempoMs;
+    }
+
+    private final SolverConfig config;
+
+    public MultiWavePlanner(SolverConfig config) {
+        this.config = config;
+    }
+
+    public void executar(Challenge challenge, String diretorioSaida) throws IOException {
+        StopWatch total = StopWatch.createStarted();
+        new File(diretorioSaida).mkdirs();
+
+        // Cada onda tem o seu próprio orçamento de tempo
+        SolverConfig configOnda = config.copia();
+        configOnda.tempoMaximoMs = config.tempoOndaMs;
+
+        IncrementalSolver incremental = new IncrementalSolver(
+            challenge.getOrders(), challenge.getAisles(), challenge.getnItems(),
+            challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), configOnda);
+
+        List<Onda> ondas = new ArrayList<>();
+        int limite = config.ondas > 0 ? config.ondas : Integer.MAX_VALUE;
+        while (ondas.size() < limite) {
+            if (incremental.getUnidadesAtivas() < challenge.getWaveSizeLB()) {
+                System.out.println("[ONDAS] Backlog restante abaixo de LB - fim");
+                break;
+            }
+            StopWatch stopWatch = StopWatch.createStarted();
+            ChallengeSolution solucao = incremental.resolver(stopWatch);
+            if (solucao.orders().isEmpty() || solucao.aisles().isEmpty()) {
+                System.out.println("[ONDAS] Nenhuma onda viável no backlog restante - fim");
+                break;
+            }
+
+            Onda onda = new Onda();
+            onda.numero = ondas.size() + 1;
+            onda.solucao = solucao;
+            for (int o : solucao.orders()) {
+                for (int q : challenge.getOrders().get(o).values()) onda.unidades += q;
+            }
+            onda.objetivo = (double) onda.unidades / solucao.aisles().size();
+            onda.tempoMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            ondas.add(onda);
+            System.out.println("[ONDAS] Onda " + onda.numero + ": objetivo " + onda.objetivo + ", "
+                + solucao.orders().size() + " pedidos, " + solucao.aisles().size() + " corredores, "
+                + onda.tempoMs + "ms");
+
+            try (BufferedWriter writer = new BufferedWriter(
+                    new FileWriter(new File(diretorioSaida, "onda" + onda.numero + ".txt")))) {
+                Challenge.writeSolution(solucao, writer);
+            }
+
+            incremental.removerPedidos(solucao.orders());
+        }
+
+        double segundos = total.getTime(TimeUnit.MILLISECONDS) / 1000.0;
+        System.out.println(String.format(Locale.ROOT, "[ONDAS] %d ondas em %.1fs (%.3f ondas/s), %d pedidos restantes",
+            ondas.size(), segundos, ondas.size() / Math.max(segundos, 1e-3), incremental.getNumPedidosAtivos()));
+        escreverResumo(ondas, new File(diretorioSaida, "ondas.csv").getPath());
+    }
+
+    private static void escreverResumo(List<Onda> ondas, String arquivoResumo) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivoResumo))) {
+            writer.write("onda,objetivo,pedidos,corredores,unidades,tempo_ms");
+            writer.newLine();
+            for (Onda o : ondas) {
+                writer.write(String.format(Locale.ROOT, "%d,%.4f,%d,%d,%d,%d",
+                    o.numero, o.objetivo, o.solucao.orders().size(), o.solucao.aisles().size(),
+                    o.unidades, o.tempoMs));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Path relinking entre ondas elite, numa thread em segundo plano durante o solve.
+//
+// Parte do conjunto de corredores de uma elite e caminha até o de outra, um corredor
+// por passo (entra um do destino ou sai um da origem). Em cada passo escolhe o
+// movimento cuja onda intermediária tem a melhor razão. A onda de cada conjunto é
+// mantida pela folga por item: ao entrar um corredor a folga cresce e pedidos
+// candidatos são acrescentados; ao sair, pedidos que deixaram item negativo saem
+// (menores primeiro) e a onda é completada de novo. A melhor intermediária viável
+// volta para o ElitePool.
+public class PathRelinking {
+
+    private final ElitePool pool;
+    private final int NO, NA, NI, LB, UB;
+    private final int[] F;
+    private final List<List<Integer>> Io;
+
+    // Corredores e pedidos em arrays (corredores removidos ficam vazios)
+    private final int[][] itensCorredor;
+    private final int[][] capCorredor;
+    private final int[][] itensPedido;
+    private final int[][] qtdPedido;
+
+    private volatile boolean parar;
+    private Thread thread;
+    private int relinks;
+    private int melhorias;
+
+    // Onda associada a um conjunto de corredores
+    private final class Estado {
+        final int[] folga;
+        final boolean[] naOnda;
+        final BitSet corredores;
+        int unidades;
+
+        Estado(int[] folga, boolean[] naOnda, BitSet corredores, int unidades) {
+            this.folga = folga;
+            this.naOnda = naOnda;
+            this.corredores = corredores;
+            this.unidades = unidades;
+        }
+
+        Estado copia() {
+            return new Estado(folga.clone(), naOnda.clone(), (BitSet) corredores.clone(), unidades);
+        }
+
+        double razao() {
+            int n = corredores.cardinality();
+            return n > 0 ? (double) unidades / n : 0.0;
+        }
+
+        boolean viavel() {
+            return unidades >= LB && unidades <= UB && !corredores.isEmpty();
+        }
+
+        boolean melhorQue(Estado outro) {
+            if (viavel() != outro.viavel()) return viavel();
+            return razao() > outro.razao();
+        }
+    }
+
+    public PathRelinking(ElitePool pool, int NO, int NA, int NI, int LB, int UB, int[] F,
+                         List<List<List<Integer>>> A, List<List<List<Integer>>> O, List<List<Integer>> Io) {
+        this.pool = pool;
+        this.NO = NO;
+        this.NA = NA;
+        this.NI = NI;
+        this.LB = LB;
+        this.UB = UB;
+        this.F = F;
+        this.Io = Io;
+        itensCorredor = new int[NA][];
+        capCorredor = new int[NA][];
+        for (int a = 0; a < NA; a++) {
+            List<List<Integer>> corredor = Preprocessing.isInvalidAisle(A.get(a)) ? List.of() : A.get(a);
+            itensCorredor[a] = corredor.stream().mapToInt(p -> p.get(0)).toArray();
+            capCorredor[a] = corredor.stream().mapToInt(p -> Math.max(0, p.get(1))).toArray();
+        }
+        itensPedido = new int[NO][];
+        qtdPedido = new int[NO][];
+        for (int o = 0; o < NO; o++) {
+            itensPedido[o] = O.get(o).stream().mapToInt(p -> p.get(0)).toArray();
+            qtdPedido[o] = O.get(o).stream().mapToInt(p -> p.get(1)).toArray();
+        }
+    }
+
+    public void iniciar() {
+        thread = new Thread(this::executar, "sbpo-relinking");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void parar() {
+        parar = true;
+        if (thread == null) return;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("[ELITE] " + relinks + " caminhos, " + melhorias + " melhoraram o melhor da elite ("
+            + pool.tamanho() + " ondas no conjunto)");
+    }
+
+    private void executar() {
+        Random rnd = new Random(42);
+        Set<Long> feitos = new HashSet<>();
+        try {
+            while (!parar) {
+                List<ElitePool.Onda> elite = pool.copia();
+                ElitePool.Onda origem = null;
+                ElitePool.Onda destino = null;
+                for (int tentativa = 0; tentativa < 20 && elite.size() >= 2 && origem == null; tentativa++) {
+                    ElitePool.Onda a = elite.get(rnd.nextInt(elite.size()));
+                    ElitePool.Onda b = elite.get(rnd.nextInt(elite.size()));
+                    if (a != b && feitos.add(a.id << 32 | b.id)) {
+                        origem = a;
+                        destino = b;
+                    }
+                }
+                if (origem == null) {
+                    Thread.sleep(50);  // Espera novas elites
+                    continue;
+                }
+                double antes = pool.getMelhorObjetivo();
+                Estado r = relinkar(origem, destino);
+                relinks++;
+                if (r != null) {
+                    List<Integer> pedidos = new ArrayList<>();
+                    for (int o = 0; o < NO; o++) {
+                        if (r.naOnda[o]) pedidos.add(o);
+                    }
+                    pool.oferecer(pedidos, r.corredores.stream().boxed().collect(Collectors.toList()),
+                        r.razao());
+                    if (r.razao() > antes) melhorias++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("[ELITE] Erro no path relinking: " + e);
+        }
+    }
+
+    // Melhor onda viável no caminho de origem até destino (sem as pontas); null se não houver
+    Estado relinkar(ElitePool.Onda origem, ElitePool.Onda destino) {
+        Estado atual = inicial(origem);
+
+        BitSet uniao = (BitSet) origem.corredores.clone();
+        uniao.or(destino.corredores);
+        List<Integer> candidatos = candidatos(uniao);
+
+        List<Integer> movimentos = new ArrayList<>();
+        BitSet diferenca = (BitSet) origem.corredores.clone();
+        diferenca.xor(destino.corredores);
+        diferenca.stream().forEach(movimentos::add);
+
+        Estado melhor = null;
+        while (movimentos.size() > 1 && !parar) {
+            Estado melhorPasso = null;
+            int melhorMovimento = -1;
+            for (int k = 0; k < movimentos.size(); k++) {
+                int a = movimentos.get(k);
+                if (atual.corredores.get(a) && atual.corredores.cardinality() == 1) continue;
+                Estado c = atual.copia();
+                mover(c, a, candidatos);
+                if (melhorPasso == null || c.melhorQue(melhorPasso)) {
+                    melhorPasso = c;
+                    melhorMovimento = k;
+                }
+            }
+            if (melhorPasso == null) break;
+            atual = melhorPasso;
+            movimentos.remove(melhorMovimento);
+            if (atual.viavel() && (melhor == null || atual.razao() > melhor.razao())) {
+                melhor = atual.copia();
+            }
+        }
+        return melhor;
+    }
+
+    private Estado inicial(ElitePool.Onda onda) {
+        int[] folga = new int[NI];
+        for (int a = onda.corredores.nextSetBit(0); a >= 0; a = onda.corredores.nextSetBit(a + 1)) {
+            for (int k = 0; k < itensCorredor[a].length; k++) folga[itensCorredor[a][k]] += capCorredor[a][k];
+        }
+        boolean[] naOnda = new boolean[NO];
+        int unidades = 0;
+        for (int o : onda.pedidos) {
+            naOnda[o] = true;
+            unidades += F[o];
+            for (int k = 0; k < itensPedido[o].length; k++) folga[itensPedido[o][k]] -= qtdPedido[o][k];
+        }
+        return new Estado(folga, naOnda, (BitSet) onda.corredores.clone(), unidades);
+    }
+
+    // Pedidos que cabem na oferta da união dos dois conjuntos, maiores primeiro
+    private List<Integer> candidatos(BitSet uniao) {
+        int[] oferta = new int[NI];
+        for (int a = uniao.nextSetBit(0); a >= 0; a = uniao.nextSetBit(a + 1)) {
+            for (int k = 0; k < itensCorredor[a].length; k++) oferta[itensCorredor[a][k]] += capCorredor[a][k];
+        }
+        List<Integer> candidatos = new ArrayList<>();
+        for (int o = 0; o < NO; o++) {
+            if (F[o] > UB) continue;
+            boolean cabe = true;
+            for (int k = 0; k < itensPedido[o].length && cabe; k++) {
+                cabe = qtdPedido[o][k] <= oferta[itensPedido[o][k]];
+            }
+            if (cabe) candidatos.add(o);
+        }
+        candidatos.sort((x, y) -> F[y] != F[x] ? Integer.compare(F[y], F[x]) : Integer.compare(x, y));
+        return candidatos;
+    }
+
+    // Alterna o corredor a (entra se está fora, sai se está dentro) e refaz a onda pela folga
+    private void mover(Estado e, int a, List<Integer> candidatos) {
+        if (e.corredores.get(a)) {
+            e.corredores.clear(a);
+            for (int k = 0; k < itensCorredor[a].length; k++) {
+                int item = itensCorredor[a][k];
+                e.folga[item] -= capCorredor[a][k];
+                // Tira os menores pedidos com o item até a folga voltar a >= 0
+                while (e.folga[item] < 0) {
+                    int menor = -1;
+                    for (int o : Io.get(item)) {
+                        if (e.naOnda[o] && (menor < 0 || F[o] < F[menor])) menor = o;
+                    }
+                    if (menor < 0) break;
+                    retirar(e, menor);
+                }
+            }
+        } else {
+            e.corredores.set(a);
+            for (int k = 0; k < itensCorredor[a].length; k++) e.folga[itensCorredor[a][k]] += capCorredor[a][k];
+        }
+        for (int o : candidatos) {
+            if (e.naOnda[o] || e.unidades + F[o] > UB) continue;
+            boolean cabe = true;
+            for (int k = 0; k < itensPedido[o].length && cabe; k++) {
+                cabe = qtdPedido[o][k] <= e.folga[itensPedido[o][k]];
+            }
+            if (cabe) {
+                e.naOnda[o] = true;
+                e.unidades += F[o];
+                for (int k = 0; k < itensPedido[o].length; k++) e.folga[itensPedido[o][k]] -= qtdPedido[o][k];
+            }
+        }
+    }
+
+    private void retirar(Estado e, int o) {
+        e.naOnda[o] = false;
+        e.unidades -= F[o];
+        for (int k = 0; k < itensPedido[o].length; k++) e.folga[itensPedido[o][k]] += qtdPedido[o][k];
+    }
+}
@@ -0,0 +1,467 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Etapas do pré-processamento usadas pelo ChallengeSolver.solve, uma por método.
+// Nenhuma delas depende do CPLEX. As etapas quadráticas (repetidos, DOM, fff) e as que
+// são independentes por item/corredor rodam em paralelo no pool de quem as chama
+// (o ForkJoinPool do PreprocessingPipeline); o resultado é o mesmo da versão sequencial.
+// As relações (ITEM_A/B/O, DOM, fff, ggg, G) são CompressedBitmap.
+public final class Preprocessing {
+
+    private Preprocessing() {
+    }
+
+    // Converte pedidos/corredores do formato de entrada para listas de pares [item, quantidade]
+    public static List<List<List<Integer>>> converterPares(List<Map<Integer, Integer>> entrada) {
+        List<List<List<Integer>>> resultado = new ArrayList<>();
+        for (Map<Integer, Integer> map : entrada) {
+            List<List<Integer>> listOfPairs = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                listOfPairs.add(Arrays.asList(entry.getKey(), entry.getValue()));
+            }
+            resultado.add(listOfPairs);
+        }
+        return resultado;
+    }
+
+    // Io: pedidos que usam cada item
+    public static List<List<Integer>> buildIo(List<List<List<Integer>>> O, int nItems) {
+        // Inicializa Io com nItems listas vazias
+        List<List<Integer>> Io = new ArrayList<>();
+        for (int i = 0; i < nItems; i++) {
+            Io.add(new ArrayList<>());  // Cada tipo de item recebe uma lista vazia
+        }
+
+        // Preenche Io conforme os pedidos em O
+        for (int o = 0; o < O.size(); o++) {
+            List<List<Integer>> order = O.get(o);  // Pega o pedido o
+            for (List<Integer> itemPair : order) {
+                int item = itemPair.get(0);  // Pega o item (primeiro valor do par)
+                Io.get(item).add(o);  // Adiciona o pedido o à lista correspondente ao item
+            }
+        }
+
+        return Io;  // Retorna a lista Io preenchida
+    }
+
+    // Ia: corredores que contêm cada item
+    public static List<List<Integer>> buildIa(List<List<List<Integer>>> A, int NI) {
+        List<List<Integer>> Ia = new ArrayList<>();
+        for (int i = 0; i < NI; i++) {
+            Ia.add(new ArrayList<>());  // Cada item começa com uma lista vazia de corredores
+        }
+        for (int a = 0; a < A.size(); a++) {
+            for (List<Integer> pair : A.get(a)) {
+                Ia.get(pair.get(0)).add(a);  // Adiciona o corredor a à lista do item correspondente
+            }
+        }
+        return Ia;
+    }
+
+    // F: total de unidades de cada pedido
+    public static int[] calcularF(List<List<List<Integer>>> O) {
+        int[] F = new int[O.size()];
+        for (int i = 0; i < O.size(); i++) {
+            int soma = 0;
+            for (List<Integer> pair : O.get(i)) {
+                soma += pair.get(1);
+            }
+            F[i] = soma;
+        }
+        return F;
+    }
+
+    // d: demanda total de cada item somada sobre todos os pedidos
+    public static int[] calcularDemanda(List<List<List<Integer>>> O, List<List<Integer>> Io, int NI) {
+        int[] d = new int[NI];
+        IntStream.range(0, NI).parallel().forEach(i -> {
+            int soma_d = 0;
+            for (int pedidoIndex : Io.get(i)) {
+                soma_d += buscarValor(O.get(pedidoIndex), i);
+            }
+            d[i] = soma_d;
+        });
+        return d;
+    }
+
+    // Limita a capacidade de cada item nos corredores à demanda total d[i] (altera A)
+    public static void limitarCapacidades(List<List<List<Integer>>> A, List<List<Integer>> Ia, int[] d) {
+        for (int i = 0; i < Ia.size(); i++) {
+            for (int corredor : Ia.get(i)) {
+                for (List<Integer> pair : A.get(corredor)) {
+                    if (pair.get(0) == i && pair.get(1) > d[i]) {
+                        pair.set(1, d[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Pares do corredor com cada quantidade limitada a d (cópia; o corredor não muda)
+    static List<List<Integer>> capado(List<List<Integer>> corredor, int[] d) {
+        List<List<Integer>> pares = new ArrayList<>(corredor.size());
+        for (List<Integer> pair : corredor) {
+            pares.add(Arrays.asList(pair.get(0), Math.min(pair.get(1), d[pair.get(0)])));
+        }
+        return pares;
+    }
+
+    // Marca como removido ([1, -1]) todo corredor igual a um corredor anterior (altera A)
+    // (compara os pares ordenados por item, já que a ordem dos pares vem da iteração de um
+    // HashMap; o hash da chave filtra antes do equals; cada j é testado em paralelo)
+    public static void removerCorredoresRepetidos(List<List<List<Integer>>> A) {
+        int NA = A.size();
+        int[][] chave = IntStream.range(0, NA).parallel().mapToObj(a -> chaveOrdenada(A.get(a)))
+            .toArray(int[][]::new);
+        int[] hash = IntStream.range(0, NA).parallel().map(a -> Arrays.hashCode(chave[a])).toArray();
+        boolean[] repetido = new boolean[NA];
+        IntStream.range(1, NA).parallel().forEach(j -> {
+            for (int i = 0; i < j; i++) {
+                if (hash[i] == hash[j] && Arrays.equals(chave[i], chave[j])) {
+                    repetido[j] = true;
+                    break;
+                }
+            }
+        });
+        for (int j = 1; j < NA; j++) {
+            if (repetido[j]) A.set(j, corredorInvalido());
+        }
+    }
+
+    // Pares [item, quantidade] do corredor achatados e ordenados por item
+    static int[] chaveOrdenada(List<List<Integer>> corredor) {
+        long[] pares = new long[corredor.size()];
+        for (int k = 0; k < pares.length; k++) {
+            List<Integer> pair = corredor.get(k);
+            pares[k] = ((long) pair.get(0) << 32) | (pair.get(1) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(pares);
+        int[] chave = new int[2 * pares.length];
+        for (int k = 0; k < pares.length; k++) {
+            chave[2 * k] = (int) (pares[k] >>> 32);
+            chave[2 * k + 1] = (int) pares[k];
+        }
+        return chave;
+    }
+
+    // ITEM_A: itens que o corredor atende por completo (capacidade >= d)
+    public static List<CompressedBitmap> calcularItemA(List<List<List<Integer>>> A, int[] d) {
+        return A.parallelStream().map(aisle -> itemA(aisle, d)).collect(Collectors.toList());
+    }
+
+    // ITEM_A de um corredor
+    static CompressedBitmap itemA(List<List<Integer>> aisle, int[] d) {
+        int[] aItems = new int[aisle.size()];
+        int n = 0;
+        for (List<Integer> pair : aisle) {
+            int item = pair.get(0);
+            if (pair.get(1) >= d[item]) {
+                aItems[n++] = item;
+            }
+        }
+        return CompressedBitmap.de(aItems, n);
+    }
+
+    // ITEM_B: todos os itens do corredor
+    public static List<CompressedBitmap> calcularItemB(List<List<List<Integer>>> A) {
+        List<CompressedBitmap> ITEM_B = new ArrayList<>();
+        for (List<List<Integer>> aisle : A) {
+            ITEM_B.add(itens(aisle));
+        }
+        return ITEM_B;
+    }
+
+    // Itens (primeiro valor de cada par) de um pedido ou corredor
+    static CompressedBitmap itens(List<List<Integer>> pares) {
+        int[] v = new int[pares.size()];
+        int n = 0;
+        for (List<Integer> pair : pares) {
+            v[n++] = pair.get(0);
+        }
+        return CompressedBitmap.de(v, n);
+    }
+
+    // DOM: corredores i cujos itens o corredor j atende por completo
+    public static List<CompressedBitmap> calcularDOM(List<CompressedBitmap> ITEM_A, List<CompressedBitmap> ITEM_B) {
+        long[] impressaoA = impressoes(ITEM_A);
+        long[] impressaoB = impressoes(ITEM_B);
+        return IntStream.range(0, ITEM_A.size()).parallel()
+            .mapToObj(j -> dominados(j, ITEM_A, ITEM_B, impressaoA, impressaoB))
+            .collect(Collectors.toList());
+    }
+
+    // Linha j do DOM, com as impressões de ITEM_A e ITEM_B já calculadas
+    static CompressedBitmap dominados(int j, List<CompressedBitmap> ITEM_A, List<CompressedBitmap> ITEM_B,
+                                      long[] impressaoA, long[] impressaoB) {
+        int[] indices = new int[ITEM_B.size()];
+        int n = 0;
+        CompressedBitmap baseSet = ITEM_A.get(j);
+        for (int i = 0; i < ITEM_B.size(); i++) {
+            if (i != j && (impressaoB[i] & ~impressaoA[j]) == 0 && ITEM_B.get(i).contidoEm(baseSet)) {
+                indices[n++] = i;
+            }
+        }
+        return CompressedBitmap.de(indices, n);
+    }
+
+    // Impressão digital de 64 bits de um conjunto de itens (bit item % 64): se A ⊆ B então
+    // imp(A) & ~imp(B) == 0, o que descarta a maioria dos pares antes do containsAll
+    static long impressao(Collection<Integer> itens) {
+        long bits = 0;
+        for (int item : itens) {
+            bits |= 1L << (item & 63);
+        }
+        return bits;
+    }
+
+    static long[] impressoes(List<? extends Collection<Integer>> conjuntos) {
+        long[] r = new long[conjuntos.size()];
+        for (int k = 0; k < r.length; k++) {
+            r[k] = impressao(conjuntos.get(k));
+        }
+        return r;
+    }
+
+    // aux: corredores dominados ou já marcados como removidos
+    public static Set<Integer> calcularAux(List<? extends Collection<Integer>> DOM, List<List<List<Integer>>> A) {
+        Set<Integer> aux = new HashSet<>();
+        for (Collection<Integer> list : DOM) aux.addAll(list);
+
+        for (int i = 0; i < A.size(); i++) {
+            for (List<Integer> pair : A.get(i)) {
+                if (pair.get(0) == 1 && pair.get(1) == -1) {
+                    aux.add(i);
+                    break;
+                }
+            }
+        }
+        return aux;
+    }
+
+    // Marca os corredores de aux como removidos (altera A)
+    public static void marcarInvalidos(List<List<List<Integer>>> A, Set<Integer> aux) {
+        for (Integer invalidIdx : aux) {
+            if (invalidIdx < A.size()) {
+                A.set(invalidIdx, corredorInvalido());
+            }
+        }
+    }
+
+    // ITEM_O: itens de cada pedido
+    public static List<CompressedBitmap> calcularItemO(List<List<List<Integer>>> O) {
+        List<CompressedBitmap> ITEM_O = new ArrayList<>();
+        for (List<List<Integer>> order : O) {
+            ITEM_O.add(itens(order));
+        }
+        return ITEM_O;
+    }
+
+    // fff: pedidos que cabem por completo em cada corredor válido
+    public static List<CompressedBitmap> calcularFff(List<List<List<Integer>>> A, List<CompressedBitmap> ITEM_A,
+                                                     List<CompressedBitmap> ITEM_O) {
+        long[] impressaoO = impressoes(ITEM_O);
+        return IntStream.range(0, A.size()).parallel()
+            .mapToObj(i -> isInvalidAisle(A.get(i)) ? CompressedBitmap.VAZIO
+                : pedidosCobertos(ITEM_A.get(i), ITEM_O, impressaoO))
+            .collect(Collectors.toList());
+    }
+
+    // Linha de fff de um corredor válido: pedidos cujos itens estão todos em aItems
+    // (pedidos removidos, com ITEM_O null, ficam de fora)
+    static CompressedBitmap pedidosCobertos(CompressedBitmap aItems, List<CompressedBitmap> ITEM_O, long[] impressaoO) {
+        long impressaoA = impressao(aItems);
+        int[] indices = new int[ITEM_O.size()];
+        int n = 0;
+        for (int j = 0; j < ITEM_O.size(); j++) {
+            CompressedBitmap oItems = ITEM_O.get(j);
+            if (oItems != null && (impressaoO[j] & ~impressaoA) == 0 && oItems.contidoEm(aItems)) {
+                indices[n++] = j;
+            }
+        }
+        return CompressedBitmap.de(indices, n);
+    }
+
+    // Ia considerando só os corredores válidos
+    public static List<List<Integer>> recalcularIa(List<List<List<Integer>>> A, int NI) {
+        List<List<Integer>> newIa = new ArrayList<>();
+        for (int i = 0; i < NI; i++) newIa.add(new ArrayList<>());
+        for (int a = 0; a < A.size(); a++) {
+            if (isInvalidAisle(A.get(a))) continue;
+            for (List<Integer> pair : A.get(a)) {
+                int item = pair.get(0);
+                if (item < NI) newIa.get(item).add(a);
+            }
+        }
+        return newIa;
+    }
+
+    // ggg: para cada corredor, pedidos de itens que só existem nele
+    public static List<CompressedBitmap> calcularGgg(int NA, int NI, List<List<Integer>> Ia, List<List<Integer>> Io) {
+        List<List<Integer>> porCorredor = new ArrayList<>();
+        for (int i = 0; i < NA; i++) porCorredor.add(new ArrayList<>());
+        for (int item = 0; item < NI; item++) {
+            int pedido = pedidoExclusivo(item, Ia, Io);
+            if (pedido >= 0 && Ia.get(item).get(0) < NA) {
+                porCorredor.get(Ia.get(item).get(0)).add(pedido);
+            }
+        }
+        List<CompressedBitmap> ggg = new ArrayList<>(NA);
+        for (List<Integer> pedidos : porCorredor) ggg.add(CompressedBitmap.de(pedidos));
+        return ggg;
+    }
+
+    // Linha de ggg do corredor a (itens do corredor cujo único corredor válido é a)
+    static CompressedBitmap pedidosExclusivos(int a, List<List<Integer>> corredor, List<List<Integer>> Ia,
+                                              List<List<Integer>> Io) {
+        int[] pedidos = new int[corredor.size()];
+        int n = 0;
+        for (List<Integer> pair : corredor) {
+            int item = pair.get(0);
+            int pedido = pedidoExclusivo(item, Ia, Io);
+            if (pedido >= 0 && Ia.get(item).get(0) == a) pedidos[n++] = pedido;
+        }
+        return CompressedBitmap.de(pedidos, n);
+    }
+
+    // Primeiro pedido do item se ele está num único corredor válido (Ia' do item com um corredor), ou -1
+    static int pedidoExclusivo(int item, List<List<Integer>> Ia, List<List<Integer>> Io) {
+        return Ia.get(item).size() == 1 && !Io.get(item).isEmpty() ? Io.get(item).get(0) : -1;
+    }
+
+    // G: interseção de fff e ggg por corredor
+    public static List<CompressedBitmap> calcularG(int NA, List<CompressedBitmap> fff, List<CompressedBitmap> ggg) {
+        List<CompressedBitmap> G = new ArrayList<>();
+        for (int i = 0; i < NA; i++) {
+            G.add(fff.get(i).e(ggg.get(i)));
+        }
+        return G;
+    }
+
+    // CAP: capacidade total de cada corredor com cada item limitado a d (-1 nos removidos)
+    public static int[] calcularCAP(List<List<List<Integer>>> A, int[] d, int NA) {
+        int[] CAP = new int[NA];
+        for (int a = 0; a < NA; a++) {
+            CAP[a] = capacidade(A.get(a), d);
+        }
+        return CAP;
+    }
+
+    // CAP de um corredor
+    static int capacidade(List<List<Integer>> corredor, int[] d) {
+        if (isInvalidAisle(corredor)) return -1;
+        int limitedCap = 0;
+        for (List<Integer> item : corredor) {
+            limitedCap += Math.min(item.get(1), d[item.get(0)]);
+        }
+        return limitedCap;
+    }
+
+    // Pré-processamento completo (Passos 1 a 10)
+    public static ChallengeSolver.PreprocessingResult preprocessar(
+        int NO, int NI, int NA,
+        List<List<List<Integer>>> O,
+        List<List<List<Integer>>> A,
+        List<List<Integer>> Io,
+        int[] d) {
+
+        // Passo 1: Calcular ITEM_A e ITEM_B
+        List<CompressedBitmap> ITEM_A = calcularItemA(A, d);
+        List<CompressedBitmap> ITEM_B = calcularItemB(A);
+
+        // Passo 2: Calcular DOM
+        List<CompressedBitmap> DOM = calcularDOM(ITEM_A, ITEM_B);
+
+        // Passo 3: Calcular aux (repetidos + DOM)
+        int repetidos = contarRemovidos(A);
+        Set<Integer> aux = calcularAux(DOM, A);
+        int porDominancia = aux.size() - repetidos;
+
+        // Passo 4: Marcar corredores inválidos
+        marcarInvalidos(A, aux);
+
+        // Passo 5: Calcular ITEM_O
+        List<CompressedBitmap> ITEM_O = calcularItemO(O);
+
+        // Passo 6: Calcular fff
+        List<CompressedBitmap> fff = calcularFff(A, ITEM_A, ITEM_O);
+
+        // Passo 7: Recalcular Ia
+        List<List<Integer>> Ia = recalcularIa(A, NI);
+
+        // Passo 8: Calcular ggg
+        List<CompressedBitmap> ggg = calcularGgg(NA, NI, Ia, Io);
+
+        // Passo 9: Calcular G
+        List<CompressedBitmap> G = calcularG(NA, fff, ggg);
+
+        // Passo 10: Recalcular CAP garantindo CAP <= d
+        int[] CAP = calcularCAP(A, d, NA);
+
+        ChallengeSolver.PreprocessingResult resultado = new ChallengeSolver.PreprocessingResult(
+            A, d, CAP, ITEM_A, ITEM_B, DOM, aux, ITEM_O, fff, ggg, G
+        );
+        resultado.removidosRepetidos = repetidos;
+        resultado.removidosDominancia = porDominancia;
+        return resultado;
+    }
+
+    // Corredores já marcados como removidos ([1, -1])
+    public static int contarRemovidos(List<List<List<Integer>>> A) {
+        int n = 0;
+        for (List<List<Integer>> corredor : A) {
+            if (isInvalidAisle(corredor)) n++;
+        }
+        return n;
+    }
+
+    // ITEM_N: itens que só existem num corredor fixado em zero (CI)
+    public static List<Integer> calcularItemN(List<List<Integer>> Ia, List<Integer> CI) {
+        Set<Integer> fixados = new HashSet<>(CI);
+        List<Integer> ITEM_N = new ArrayList<>();
+        for (int i = 0; i < Ia.size(); i++) {
+            if (Ia.get(i).size() == 1 && fixados.contains(Ia.get(i).get(0))) {
+                ITEM_N.add(i);
+            }
+        }
+        return ITEM_N;
+    }
+
+    // O_N: pedidos que usam algum item de ITEM_N
+    public static Set<Integer> calcularON(List<List<Integer>> Io, List<Integer> ITEM_N) {
+        Set<Integer> O_N = new HashSet<>();
+        for (int item : ITEM_N) {
+            O_N.addAll(Io.get(item));
+        }
+        return O_N;
+    }
+
+    public static boolean isInvalidAisle(List<List<Integer>> aisle) {
+        return aisle.size() == 1 &&
+               aisle.get(0).get(0) == 1 &&
+               aisle.get(0).get(1) == -1;
+    }
+
+    // Corredor removido: um único par [1, -1]
+    static List<List<Integer>> corredorInvalido() {
+        return new ArrayList<>(Arrays.asList(Arrays.asList(1, -1)));
+    }
+
+    // Quantidade do item num pedido (0 se o pedido não usa o item)
+    static int buscarValor(List<List<Integer>> pedidos, int item) {
+        for (List<Integer> pedido : pedidos) {
+            if (pedido.get(0) == item) {
+                return pedido.get(1);
+            }
+        }
+        return 0;
+    }
+}
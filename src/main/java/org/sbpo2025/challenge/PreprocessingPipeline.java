@@ -0,0 +1,147 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+// Pré-processamento do solve como um grafo de etapas executado num ForkJoinPool.
+// Cada etapa começa assim que as suas dependências terminam; as etapas pesadas
+// também se paralelizam por dentro (ver Preprocessing).
+//
+//   pedidos ──> O ──┬──> Io ──> d ──┐
+//                   ├──> F          │
+//                   └──> ITEM_O ────┼──────────────────────────────────┐
+//   corredores ──> A ──> Ia ────────┴──> capados ──┬──> ITEM_A ──┐     │
+//                                                  └──> ITEM_B ──┴──> DOM ──> aux ──┬──> fff ──┐
+//                                                                                   ├──> Ia' ──> ggg ──┴──> G
+//                                                                                   └──> CAP
+public final class PreprocessingPipeline {
+
+    // Tudo o que o solve usa depois do pré-processamento
+    public static final class Resultado {
+        public List<List<List<Integer>>> O;
+        public List<List<List<Integer>>> A;
+        public List<List<Integer>> Io;
+        public List<List<Integer>> Ia;
+        public int[] F;
+        public ChallengeSolver.PreprocessingResult pre;
+        public final Map<String, Long> tempoEtapaMs = new LinkedHashMap<>();
+        private final int[] removidos = new int[2];
+    }
+
+    private final ForkJoinPool pool;
+    private final Resultado resultado = new Resultado();
+
+    private PreprocessingPipeline(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Num pool próprio, encerrado no fim; threads <= 0 usa todos os núcleos
+    public static Resultado executar(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles,
+                                     int NI, int threads) {
+        ForkJoinPool pool = threads > 0 ? new ForkJoinPool(threads) : new ForkJoinPool();
+        try {
+            return executar(orders, aisles, NI, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // No pool dado, que continua de quem chamou (o servidor mantém um entre as requisições)
+    public static Resultado executar(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles,
+                                     int NI, ForkJoinPool pool) {
+        try {
+            return new PreprocessingPipeline(pool).montar(orders, aisles, NI);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private Resultado montar(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int NI) {
+        final int NA = aisles.size();
+
+        var O = etapa("O", () -> Preprocessing.converterPares(orders));
+        var A = etapa("A", () -> Preprocessing.converterPares(aisles));
+        var Io = etapa("Io", () -> Preprocessing.buildIo(O.join(), NI), O);
+        var F = etapa("F", () -> Preprocessing.calcularF(O.join()), O);
+        var ITEM_O = etapa("ITEM_O", () -> Preprocessing.calcularItemO(O.join()), O);
+        var Ia = etapa("Ia", () -> Preprocessing.buildIa(A.join(), NI), A);
+        var d = etapa("d", () -> Preprocessing.calcularDemanda(O.join(), Io.join(), NI), Io);
+
+        // Capacidade limitada a d e corredores repetidos (alteram A)
+        var capados = etapa("capados", () -> {
+            List<List<List<Integer>>> corredores = A.join();
+            Preprocessing.limitarCapacidades(corredores, Ia.join(), d.join());
+            Preprocessing.removerCorredoresRepetidos(corredores);
+            return corredores;
+        }, Ia, d);
+
+        var ITEM_A = etapa("ITEM_A", () -> Preprocessing.calcularItemA(capados.join(), d.join()), capados);
+        var ITEM_B = etapa("ITEM_B", () -> Preprocessing.calcularItemB(capados.join()), capados);
+        var DOM = etapa("DOM", () -> Preprocessing.calcularDOM(ITEM_A.join(), ITEM_B.join()), ITEM_A, ITEM_B);
+
+        // aux (repetidos + DOM) e marcação dos inválidos
+        // (altera A; as etapas seguintes só leem)
+        var aux = etapa("aux", () -> {
+            int[] removidos = resultado.removidos;
+            removidos[0] = Preprocessing.contarRemovidos(capados.join());
+            Set<Integer> invalidos = Preprocessing.calcularAux(DOM.join(), capados.join());
+            removidos[1] = invalidos.size() - removidos[0];
+            Preprocessing.marcarInvalidos(capados.join(), invalidos);
+            return invalidos;
+        }, DOM);
+
+        var fff = etapa("fff", () -> Preprocessing.calcularFff(capados.join(), ITEM_A.join(), ITEM_O.join()),
+            aux, ITEM_O);
+        var IaValido = etapa("Ia_valido", () -> Preprocessing.recalcularIa(capados.join(), NI), aux);
+        var ggg = etapa("ggg", () -> Preprocessing.calcularGgg(NA, NI, IaValido.join(), Io.join()), IaValido);
+        var G = etapa("G", () -> Preprocessing.calcularG(NA, fff.join(), ggg.join()), fff, ggg);
+        var CAP = etapa("CAP", () -> Preprocessing.calcularCAP(capados.join(), d.join(), NA), aux);
+
+        CompletableFuture.allOf(F, G, CAP).join();
+
+        resultado.O = O.join();
+        resultado.A = capados.join();
+        resultado.Io = Io.join();
+        resultado.Ia = Ia.join();
+        resultado.F = F.join();
+        resultado.pre = new ChallengeSolver.PreprocessingResult(
+            capados.join(), d.join(), CAP.join(), ITEM_A.join(), ITEM_B.join(), DOM.join(), aux.join(),
+            ITEM_O.join(), fff.join(), ggg.join(), G.join());
+        resultado.pre.removidosRepetidos = resultado.removidos[0];
+        resultado.pre.removidosDominancia = resultado.removidos[1];
+        return resultado;
+    }
+
+    // Etapa que roda no pool assim que todas as dependências terminarem
+    private <T> CompletableFuture<T> etapa(String nome, Supplier<T> corpo, CompletableFuture<?>... dependencias) {
+        Supplier<T> medido = () -> {
+            long inicio = System.nanoTime();
+            T valor = corpo.get();
+            synchronized (resultado.tempoEtapaMs) {
+                resultado.tempoEtapaMs.put(nome, (System.nanoTime() - inicio) / 1_000_000L);
+            }
+            return valor;
+        };
+        if (dependencias.length == 0) {
+            return CompletableFuture.supplyAsync(medido, pool);
+        }
+        return CompletableFuture.allOf(dependencias).thenApplyAsync(v -> medido.get(), pool);
+    }
+
+    // Resumo "etapa=ms" na ordem em que as etapas terminaram
+    public static String resumo(Resultado r) {
+        List<String> partes = new ArrayList<>();
+        synchronized (r.tempoEtapaMs) {
+            r.tempoEtapaMs.forEach((nome, ms) -> partes.add(nome + "=" + ms));
+        }
+        return String.join(" ", partes);
+    }
+}
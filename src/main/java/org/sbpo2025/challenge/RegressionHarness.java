@@ -0,0 +1,245 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Regressão de qualidade × tempo: resolve cada instância de um diretório com cada orçamento,
+// uma por vez, e compara a trajetória do incumbente com uma linha de base.
+//
+// A linha de base é um diretório de soluções (solutionN.txt, como Resultados/), cujo objetivo
+// vale para todos os orçamentos, ou o resumo.csv de uma execução anterior do harness, com um
+// objetivo por instância e orçamento. Com o diretório, só o maior orçamento é cobrado: as
+// soluções de Resultados vêm de execuções completas e os orçamentos menores só medem o tempo
+// até o alvo. Regressão é objetivo < (1 - tolerância) × linha de base.
+//
+// Saídas no diretório dado: trajetorias.csv (pontos em que o melhor objetivo subiu),
+// resumo.csv (objetivo, razão para a base e tempo até o alvo por instância e orçamento) e
+// perfil.csv (perfis de desempenho: fração das instâncias com razão >= τ e fração que chegou
+// ao alvo até cada fração do orçamento).
+public class RegressionHarness {
+
+    private static final double[] LIMIARES_RAZAO = {0.90, 0.95, 0.99, 1.00};
+    private static final double[] FRACOES_TEMPO = {0.10, 0.25, 0.50, 1.00};
+
+    // Resultado de uma instância num orçamento (uma linha do resumo)
+    private static class Execucao {
+        String instancia;
+        long orcamentoMs;
+        double base = Double.NaN;
+        double objetivo;
+        long tempoMelhorMs;
+        long tempoAlvoMs = -1;
+        List<ChallengeSolver.Melhoria> trajetoria;
+        boolean cobrada;
+        boolean regressao;
+
+        double razao() {
+            return base > 0 ? objetivo / base : Double.NaN;
+        }
+    }
+
+    private final SolverConfig config;
+    private final long[] orcamentosMs;
+    private final double tolerancia;
+
+    public RegressionHarness(SolverConfig config, long[] orcamentosMs, double tolerancia) {
+        this.config = config;
+        this.orcamentosMs = orcamentosMs.clone();
+        Arrays.sort(this.orcamentosMs);
+        this.tolerancia = tolerancia;
+    }
+
+    // false se alguma instância regrediu
+    public boolean executar(String diretorioEntrada, String linhaBase, String diretorioSaida) throws IOException {
+        File[] arquivos = new File(diretorioEntrada).listFiles(f -> f.isFile() && f.getName().endsWith(".txt"));
+        if (arquivos == null || arquivos.length == 0) {
+            System.err.println("Nenhuma instância em " + diretorioEntrada);
+            return true;
+        }
+        Arrays.sort(arquivos);
+        new File(diretorioSaida).mkdirs();
+        boolean porOrcamento = new File(linhaBase).isFile();
+        Map<String, Double> baseCsv = porOrcamento ? lerResumo(linhaBase) : new HashMap<>();
+        long maiorOrcamento = orcamentosMs[orcamentosMs.length - 1];
+
+        List<Execucao> execucoes = new ArrayList<>();
+        for (File arquivo : arquivos) {
+            double baseSolucao = porOrcamento ? Double.NaN
+                : objetivoSolucao(arquivo, new File(linhaBase, BatchRunner.nomeSaida(arquivo.getName())));
+            for (long orcamento : orcamentosMs) {
+                Execucao e = resolver(arquivo, orcamento);
+                e.base = porOrcamento
+                    ? baseCsv.getOrDefault(arquivo.getName() + "|" + orcamento, Double.NaN) : baseSolucao;
+                e.cobrada = !Double.isNaN(e.base) && (porOrcamento || orcamento == maiorOrcamento);
+                e.regressao = e.cobrada && e.objetivo < (1 - tolerancia) * e.base;
+                e.tempoAlvoMs = tempoAteAlvo(e.trajetoria, (1 - tolerancia) * e.base);
+                execucoes.add(e);
+                System.out.println(String.format(Locale.ROOT, "[REGRESSAO] %s %dms: objetivo %.4f, base %.4f, alvo em %dms%s",
+                    e.instancia, orcamento, e.objetivo, e.base, e.tempoAlvoMs, e.regressao ? " - REGRESSAO" : ""));
+            }
+        }
+
+        escreverTrajetorias(execucoes, new File(diretorioSaida, "trajetorias.csv"));
+        escreverResumo(execucoes, new File(diretorioSaida, "resumo.csv"));
+        escreverPerfil(execucoes, new File(diretorioSaida, "perfil.csv"));
+
+        long regressoes = execucoes.stream().filter(e -> e.regressao).count();
+        long cobradas = execucoes.stream().filter(e -> e.cobrada).count();
+        System.out.println("[REGRESSAO] " + regressoes + " regressões em " + cobradas + " execuções comparadas"
+            + " (tolerância " + tolerancia + "); saídas em " + diretorioSaida);
+        return regressoes == 0;
+    }
+
+    private Execucao resolver(File arquivo, long orcamentoMs) {
+        SolverConfig configExecucao = config.copia();
+        configExecucao.tempoMaximoMs = orcamentoMs;
+        configExecucao.telemetria = "";
+        configExecucao.depuracao = "";
+
+        StopWatch stopWatch = StopWatch.createStarted();
+        Challenge challenge = new Challenge();
+        challenge.readInput(arquivo.getPath());
+        ChallengeSolver solver = new ChallengeSolver(challenge.getOrders(), challenge.getAisles(),
+            challenge.getnItems(), challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), configExecucao);
+        ChallengeSolution solucao = solver.solve(stopWatch);
+
+        Execucao e = new Execucao();
+        e.instancia = arquivo.getName();
+        e.orcamentoMs = orcamentoMs;
+        e.objetivo = solver.isSolutionFeasible(solucao) ? solver.computeObjectiveFunction(solucao) : 0.0;
+        e.tempoMelhorMs = solver.getTempoMelhorMs();
+        e.trajetoria = envoltoria(solver.getTrajetoria());
+        return e;
+    }
+
+    // Melhor objetivo até cada instante: pontos em ordem de tempo, só os que sobem
+    static List<ChallengeSolver.Melhoria> envoltoria(List<ChallengeSolver.Melhoria> trajetoria) {
+        List<ChallengeSolver.Melhoria> ordenada = new ArrayList<>(trajetoria);
+        ordenada.sort((x, y) -> Long.compare(x.tempoMs(), y.tempoMs()));
+        List<ChallengeSolver.Melhoria> envoltoria = new ArrayList<>();
+        for (ChallengeSolver.Melhoria m : ordenada) {
+            if (envoltoria.isEmpty() || m.objetivo() > envoltoria.get(envoltoria.size() - 1).objetivo()) {
+                envoltoria.add(m);
+            }
+        }
+        return envoltoria;
+    }
+
+    private static long tempoAteAlvo(List<ChallengeSolver.Melhoria> envoltoria, double alvo) {
+        if (Double.isNaN(alvo)) return -1;
+        for (ChallengeSolver.Melhoria m : envoltoria) {
+            if (m.objetivo() >= alvo) return m.tempoMs();
+        }
+        return -1;
+    }
+
+    // Objetivo da solução gravada para a instância (NaN se não existe ou é inviável)
+    private static double objetivoSolucao(File instancia, File solucao) throws IOException {
+        if (!solucao.isFile()) return Double.NaN;
+        Set<Integer> pedidos = new HashSet<>();
+        Set<Integer> corredores = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(solucao))) {
+            int n = Integer.parseInt(reader.readLine().trim());
+            for (int k = 0; k < n; k++) pedidos.add(Integer.parseInt(reader.readLine().trim()));
+            n = Integer.parseInt(reader.readLine().trim());
+            for (int k = 0; k < n; k++) corredores.add(Integer.parseInt(reader.readLine().trim()));
+        } catch (RuntimeException e) {
+            System.err.println("[REGRESSAO] Solução ilegível " + solucao + " - " + e);
+            return Double.NaN;
+        }
+        Challenge challenge = new Challenge();
+        challenge.readInput(instancia.getPath());
+        ChallengeSolver solver = new ChallengeSolver(challenge.getOrders(), challenge.getAisles(),
+            challenge.getnItems(), challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), new SolverConfig());
+        ChallengeSolution s = new ChallengeSolution(pedidos, corredores);
+        return solver.isSolutionFeasible(s) ? solver.computeObjectiveFunction(s) : Double.NaN;
+    }
+
+    // resumo.csv de uma execução anterior: "instancia|orcamento_ms" -> objetivo
+    private static Map<String, Double> lerResumo(String arquivo) throws IOException {
+        Map<String, Double> base = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
+            List<String> cabecalho = Arrays.asList(reader.readLine().split(","));
+            int ci = cabecalho.indexOf("instancia"), co = cabecalho.indexOf("orcamento_ms"),
+                cv = cabecalho.indexOf("objetivo");
+            if (ci < 0 || co < 0 || cv < 0) throw new IOException("Resumo sem instancia/orcamento_ms/objetivo: " + arquivo);
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                if (linha.isBlank()) continue;
+                String[] c = linha.split(",");
+                base.put(c[ci] + "|" + c[co], Double.parseDouble(c[cv]));
+            }
+        }
+        return base;
+    }
+
+    private static void escreverTrajetorias(List<Execucao> execucoes, File arquivo) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivo))) {
+            writer.write("instancia,orcamento_ms,tempo_ms,objetivo");
+            writer.newLine();
+            for (Execucao e : execucoes) {
+                for (ChallengeSolver.Melhoria m : e.trajetoria) {
+                    writer.write(String.format(Locale.ROOT, "%s,%d,%d,%.4f", e.instancia, e.orcamentoMs,
+                        m.tempoMs(), m.objetivo()));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private static void escreverResumo(List<Execucao> execucoes, File arquivo) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivo))) {
+            writer.write("instancia,orcamento_ms,objetivo,base,razao,tempo_melhor_ms,tempo_alvo_ms,melhorias,regressao");
+            writer.newLine();
+            for (Execucao e : execucoes) {
+                writer.write(String.format(Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%d,%d,%d,%b", e.instancia,
+                    e.orcamentoMs, e.objetivo, e.base, e.razao(), e.tempoMelhorMs, e.tempoAlvoMs,
+                    e.trajetoria.size(), e.regressao));
+                writer.newLine();
+            }
+        }
+    }
+
+    private void escreverPerfil(List<Execucao> execucoes, File arquivo) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivo))) {
+            writer.write("orcamento_ms,tipo,limiar,fracao_instancias");
+            writer.newLine();
+            for (long orcamento : orcamentosMs) {
+                List<Execucao> doOrcamento = new ArrayList<>();
+                for (Execucao e : execucoes) {
+                    if (e.orcamentoMs == orcamento && !Double.isNaN(e.base)) doOrcamento.add(e);
+                }
+                if (doOrcamento.isEmpty()) continue;
+                for (double tau : LIMIARES_RAZAO) {
+                    long n = doOrcamento.stream().filter(e -> e.razao() >= tau).count();
+                    escreverPonto(writer, orcamento, "razao", tau, (double) n / doOrcamento.size());
+                }
+                for (double fracao : FRACOES_TEMPO) {
+                    long limite = (long) (fracao * orcamento);
+                    long n = doOrcamento.stream().filter(e -> e.tempoAlvoMs >= 0 && e.tempoAlvoMs <= limite).count();
+                    escreverPonto(writer, orcamento, "tempo_alvo", fracao, (double) n / doOrcamento.size());
+                }
+            }
+        }
+    }
+
+    private static void escreverPonto(BufferedWriter writer, long orcamento, String tipo, double limiar,
+                                      double fracao) throws IOException {
+        writer.write(String.format(Locale.ROOT, "%d,%s,%.2f,%.4f", orcamento, tipo, limiar, fracao));
+        writer.newLine();
+    }
+}
@@ -0,0 +1,212 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Renumeração de itens, pedidos e corredores por Cuthill–McKee reverso (RCM) no grafo
+// bipartido de incidência (item - pedido que o pede, item - corredor que o tem).
+// Nós que aparecem juntos ficam com ids próximos: as varreduras de Io/Ia e dos vetores
+// por item (d, CAP, oferta) andam na memória em sequência e o solver recebe as colunas
+// de pedidos e corredores agrupadas. O solve roda nos ids novos e a onda volta aos
+// originais com pedidosOriginais/corredoresOriginais.
+public final class Renumbering {
+
+    // novo -> original, por tipo
+    private final int[] pedidoOriginal;
+    private final int[] corredorOriginal;
+    private final int[] itemOriginal;
+    // original -> novo
+    private final int[] itemNovo;
+
+    private Renumbering(int[] pedidoOriginal, int[] corredorOriginal, int[] itemOriginal) {
+        this.pedidoOriginal = pedidoOriginal;
+        this.corredorOriginal = corredorOriginal;
+        this.itemOriginal = itemOriginal;
+        this.itemNovo = new int[itemOriginal.length];
+        for (int k = 0; k < itemOriginal.length; k++) itemNovo[itemOriginal[k]] = k;
+    }
+
+    // Ordem RCM da instância. Nós: itens 0..NI-1, pedidos NI.., corredores NI+NO..
+    public static Renumbering calcular(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int NI) {
+        int NO = orders.size();
+        int NA = aisles.size();
+        int N = NI + NO + NA;
+
+        // Adjacência em CSR
+        int[] grau = new int[N];
+        for (int o = 0; o < NO; o++) {
+            for (int i : orders.get(o).keySet()) {
+                grau[i]++;
+                grau[NI + o]++;
+            }
+        }
+        for (int a = 0; a < NA; a++) {
+            for (int i : aisles.get(a).keySet()) {
+                grau[i]++;
+                grau[NI + NO + a]++;
+            }
+        }
+        int[] inicio = new int[N + 1];
+        for (int v = 0; v < N; v++) inicio[v + 1] = inicio[v] + grau[v];
+        int[] vizinhos = new int[inicio[N]];
+        int[] pos = Arrays.copyOf(inicio, N);
+        for (int o = 0; o < NO; o++) {
+            for (int i : orders.get(o).keySet()) {
+                vizinhos[pos[i]++] = NI + o;
+                vizinhos[pos[NI + o]++] = i;
+            }
+        }
+        for (int a = 0; a < NA; a++) {
+            for (int i : aisles.get(a).keySet()) {
+                vizinhos[pos[i]++] = NI + NO + a;
+                vizinhos[pos[NI + NO + a]++] = i;
+            }
+        }
+        // Vizinhos em ordem crescente de grau (regra do Cuthill–McKee)
+        for (int v = 0; v < N; v++) {
+            ordenarPorGrau(vizinhos, inicio[v], inicio[v + 1], grau);
+        }
+
+        // Componentes em ordem de menor grau, cada uma a partir de um nó pseudo-periférico
+        Integer[] porGrau = new Integer[N];
+        for (int v = 0; v < N; v++) porGrau[v] = v;
+        Arrays.sort(porGrau, (x, y) -> grau[x] != grau[y] ? Integer.compare(grau[x], grau[y]) : Integer.compare(x, y));
+
+        int[] ordem = new int[N];
+        int n = 0;
+        boolean[] visitado = new boolean[N];
+        int[] nivel = new int[N];
+        Arrays.fill(nivel, -1);
+        int[] fila = new int[N];
+        for (int s : porGrau) {
+            if (visitado[s]) continue;
+            int raiz = pseudoPeriferico(s, inicio, vizinhos, grau, nivel, fila);
+            visitado[raiz] = true;
+            int cabeca = n;
+            ordem[n++] = raiz;
+            while (cabeca < n) {
+                int v = ordem[cabeca++];
+                for (int k = inicio[v]; k < inicio[v + 1]; k++) {
+                    int w = vizinhos[k];
+                    if (!visitado[w]) {
+                        visitado[w] = true;
+                        ordem[n++] = w;
+                    }
+                }
+            }
+        }
+
+        // Reverso, separado por tipo
+        int[] itens = new int[NI];
+        int[] pedidos = new int[NO];
+        int[] corredores = new int[NA];
+        int ni = 0, no = 0, na = 0;
+        for (int k = N - 1; k >= 0; k--) {
+            int v = ordem[k];
+            if (v < NI) itens[ni++] = v;
+            else if (v < NI + NO) pedidos[no++] = v - NI;
+            else corredores[na++] = v - NI - NO;
+        }
+        return new Renumbering(pedidos, corredores, itens);
+    }
+
+    // Nó de excentricidade alta na componente de s (George–Liu: BFS repetida até o
+    // número de níveis parar de crescer, partindo do nó de menor grau do último nível).
+    // nivel serve de marca: -1 = não visto nesta BFS.
+    private static int pseudoPeriferico(int s, int[] inicio, int[] vizinhos, int[] grau, int[] nivel, int[] fila) {
+        int raiz = s;
+        int profundidade = -1;
+        for (int tentativa = 0; tentativa < 4; tentativa++) {
+            int n = 0;
+            fila[n++] = raiz;
+            nivel[raiz] = 0;
+            int ultimo = 0;
+            for (int c = 0; c < n; c++) {
+                int v = fila[c];
+                for (int k = inicio[v]; k < inicio[v + 1]; k++) {
+                    int w = vizinhos[k];
+                    if (nivel[w] < 0) {
+                        nivel[w] = nivel[v] + 1;
+                        ultimo = Math.max(ultimo, nivel[w]);
+                        fila[n++] = w;
+                    }
+                }
+            }
+            int candidato = raiz;
+            for (int c = 0; c < n; c++) {
+                int v = fila[c];
+                if (nivel[v] == ultimo && (candidato == raiz || grau[v] < grau[candidato])) candidato = v;
+            }
+            for (int c = 0; c < n; c++) nivel[fila[c]] = -1;
+            if (ultimo <= profundidade || candidato == raiz) break;
+            profundidade = ultimo;
+            raiz = candidato;
+        }
+        return raiz;
+    }
+
+    // Ordena v[de..ate) por (grau, id) usando chaves long (itens podem ter milhares de vizinhos)
+    private static void ordenarPorGrau(int[] v, int de, int ate, int[] grau) {
+        if (ate - de < 2) return;
+        long[] chaves = new long[ate - de];
+        for (int k = de; k < ate; k++) chaves[k - de] = (long) grau[v[k]] << 32 | v[k];
+        Arrays.sort(chaves);
+        for (int k = de; k < ate; k++) v[k] = (int) chaves[k - de];
+    }
+
+    // Pedidos nos ids novos (itens também renumerados)
+    public List<Map<Integer, Integer>> pedidos(List<Map<Integer, Integer>> orders) {
+        return renumerar(orders, pedidoOriginal);
+    }
+
+    public List<Map<Integer, Integer>> corredores(List<Map<Integer, Integer>> aisles) {
+        return renumerar(aisles, corredorOriginal);
+    }
+
+    private List<Map<Integer, Integer>> renumerar(List<Map<Integer, Integer>> origem, int[] original) {
+        List<Map<Integer, Integer>> novos = new ArrayList<>(original.length);
+        for (int k : original) {
+            Map<Integer, Integer> m = new HashMap<>();
+            for (Map.Entry<Integer, Integer> e : origem.get(k).entrySet()) {
+                m.put(itemNovo[e.getKey()], e.getValue());
+            }
+            novos.add(m);
+        }
+        return novos;
+    }
+
+    public Set<Integer> pedidosOriginais(Collection<Integer> pedidos) {
+        Set<Integer> r = new HashSet<>();
+        for (int o : pedidos) r.add(pedidoOriginal[o]);
+        return r;
+    }
+
+    public Set<Integer> corredoresOriginais(Collection<Integer> corredores) {
+        Set<Integer> r = new HashSet<>();
+        for (int a : corredores) r.add(corredorOriginal[a]);
+        return r;
+    }
+
+    // Espalhamento médio dos ids de item dentro de cada pedido/corredor (maior - menor), para o log
+    public static double espalhamento(List<Map<Integer, Integer>> linhas) {
+        long soma = 0;
+        int n = 0;
+        for (Map<Integer, Integer> linha : linhas) {
+            if (linha.isEmpty()) continue;
+            int menor = Integer.MAX_VALUE, maior = Integer.MIN_VALUE;
+            for (int i : linha.keySet()) {
+                menor = Math.min(menor, i);
+                maior = Math.max(maior, i);
+            }
+            soma += maior - menor;
+            n++;
+        }
+        return n == 0 ? 0.0 : (double) soma / n;
+    }
+}
@@ -0,0 +1,81 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Relatório de escala: gera uma instância sintética por fator de escala (InstanceGenerator,
+// pedidos, itens e corredores multiplicados pelo fator) e mede leitura, pré-processamento
+// e solve completo com o orçamento dado, uma escala por vez.
+public class ScalingReport {
+
+    private final SolverConfig config;
+    private final InstanceGenerator.Parametros base;
+    private final double[] escalas;
+    private final long orcamentoMs;
+
+    public ScalingReport(SolverConfig config, InstanceGenerator.Parametros base, double[] escalas, long orcamentoMs) {
+        this.config = config;
+        this.base = base;
+        this.escalas = escalas;
+        this.orcamentoMs = orcamentoMs;
+    }
+
+    public void executar(String diretorioInstancias, String arquivoCsv) throws IOException {
+        new File(diretorioInstancias).mkdirs();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivoCsv))) {
+            writer.write("escala,pedidos,itens,corredores,bytes,geracao_ms,leitura_ms,pre_ms,solve_ms,"
+                + "tempo_melhor_ms,objetivo,heap_mb");
+            writer.newLine();
+            for (double escala : escalas) {
+                String linha = medir(escala, diretorioInstancias);
+                writer.write(linha);
+                writer.newLine();
+                writer.flush();
+                System.out.println("[ESCALA] " + linha);
+            }
+        }
+        System.out.println("[ESCALA] Relatório escrito em " + arquivoCsv);
+    }
+
+    private String medir(double escala, String diretorioInstancias) throws IOException {
+        InstanceGenerator.Parametros p = base.escalado(escala);
+        File arquivo = new File(diretorioInstancias, String.format(Locale.ROOT, "sintetica_x%s.txt",
+            escala == Math.rint(escala) ? String.valueOf((long) escala) : String.valueOf(escala)));
+        long inicio = System.nanoTime();
+        InstanceGenerator.gerar(p, arquivo.getPath());
+        long geracaoMs = (System.nanoTime() - inicio) / 1_000_000L;
+
+        inicio = System.nanoTime();
+        Challenge challenge = new Challenge();
+        challenge.readInput(arquivo.getPath());
+        long leituraMs = (System.nanoTime() - inicio) / 1_000_000L;
+
+        inicio = System.nanoTime();
+        PreprocessingPipeline.executar(challenge.getOrders(), challenge.getAisles(), challenge.getnItems(),
+            config.threads);
+        long preMs = (System.nanoTime() - inicio) / 1_000_000L;
+
+        SolverConfig configEscala = config.copia();
+        configEscala.tempoMaximoMs = orcamentoMs;
+        configEscala.telemetria = "";
+        configEscala.depuracao = "";
+        StopWatch stopWatch = StopWatch.createStarted();
+        ChallengeSolver solver = new ChallengeSolver(challenge.getOrders(), challenge.getAisles(),
+            challenge.getnItems(), challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), configEscala);
+        ChallengeSolution solucao = solver.solve(stopWatch);
+        long solveMs = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        double objetivo = solver.isSolutionFeasible(solucao) ? solver.computeObjectiveFunction(solucao) : 0.0;
+        Runtime rt = Runtime.getRuntime();
+        long heapMb = (rt.totalMemory() - rt.freeMemory()) >> 20;
+
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d,%d,%d,%.4f,%d",
+            escala, p.pedidos, p.itens, p.corredores, arquivo.length(), geracaoMs, leituraMs, preMs, solveMs,
+            solver.getTempoMelhorMs(), objetivo, heapMb);
+    }
+}
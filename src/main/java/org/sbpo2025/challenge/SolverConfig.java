@@ -0,0 +1,178 @@
+package org.sbpo2025.challenge;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+// Opções do solver, lidas das propriedades do sistema (-Dsbpo.<nome>=valor).
+// Com -Dsbpo.config=<arquivo>, as opções do arquivo (mesmo formato, ex.: gerado pelo
+// AutoTuner) são lidas primeiro e as propriedades do sistema têm precedência sobre elas.
+public class SolverConfig {
+
+    // Arquivo de telemetria (JSON lines); vazio desativa
+    public String telemetria = "";
+
+    // Tempo total do solve em ms
+    public long tempoMaximoMs = 600000;
+
+    // Threads do solver MIP por subproblema; 0 deixa o solver escolher
+    public int threads = 0;
+
+    // Modo lote: solves simultâneos; 0 escolhe pelo número de núcleos
+    public int lote = 0;
+
+    // Modo multi-onda: número máximo de ondas (0 até esgotar o backlog) e tempo por onda em ms
+    public int ondas = 0;
+    public long tempoOndaMs = 60000;
+
+    // Estratégia das fases: fração dos corredores de menor capacidade fixados (CI) em cada
+    // fase (a primeira é a fase 1; depois delas roda uma fase só com os inválidos fixados)
+    public double[] fracoes = {0.8, 0.6, 0.4, 0.2};
+
+    // Reserva no fim do orçamento (limitada a 10% do tempo total) e tempo restante mínimo
+    // para começar ou continuar uma varredura, em ms
+    public long margemSegurancaMs = 5000;
+    public long corteFaseMs = 1000;
+
+    // Da fase 2 em diante, varre L crescente antes do decrescente
+    public boolean crescentePrimeiro = false;
+
+    // Formulação do subproblema (WaveModel.Formulacao)
+    public WaveModel.Formulacao formulacao = WaveModel.Formulacao.AGREGADA;
+
+    // Tamanho do conjunto elite do path relinking em segundo plano; 0 desliga
+    public int elite = 10;
+
+    // Amostras do previsor da faixa de L (LRangePredictor); a janela prevista é resolvida
+    // antes da varredura. 0 desliga
+    public int previsaoL = 0;
+
+    // Kernel search nos subproblemas de L fixo: número de baldes de corredores resolvidos depois
+    // do kernel (KernelSearch); 0 resolve o modelo completo
+    public int kernel = 0;
+
+    // Resolve as componentes conexas do grafo pedido–item–corredor em paralelo e combina as
+    // ondas (ComponentDecomposition); instâncias conexas seguem o solve normal
+    public boolean componentes = false;
+
+    // Renumera itens, pedidos e corredores por Cuthill–McKee reverso antes do solve
+    public boolean renumerar = false;
+
+    // Threads heurísticas que trocam incumbentes com o MIP durante o solve (callback); 0 desliga
+    public int portfolio = 0;
+
+    // Diretório dos artefatos de depuração (modelos LP por fase e L, pré-processamento); vazio desativa.
+    // No máximo depuracaoMaxModelos modelos, com pelo menos depuracaoIntervaloMs entre dois deles
+    public String depuracao = "";
+    public int depuracaoMaxModelos = 20;
+    public long depuracaoIntervaloMs = 1000;
+
+    public static SolverConfig doSistema() {
+        Properties p = new Properties();
+        String arquivo = System.getProperty("sbpo.config", "");
+        if (!arquivo.isEmpty()) {
+            try (Reader r = new FileReader(arquivo)) {
+                p.load(r);
+            } catch (IOException e) {
+                System.err.println("Erro lendo a configuração " + arquivo + " - " + e.getMessage());
+            }
+        }
+        p.putAll(System.getProperties());
+        return de(p);
+    }
+
+    public static SolverConfig de(Properties p) {
+        SolverConfig config = new SolverConfig();
+        config.telemetria = p.getProperty("sbpo.telemetria", config.telemetria);
+        config.tempoMaximoMs = longo(p, "sbpo.tempoMaximoMs", config.tempoMaximoMs);
+        config.threads = inteiro(p, "sbpo.threads", config.threads);
+        config.lote = inteiro(p, "sbpo.lote", config.lote);
+        config.ondas = inteiro(p, "sbpo.ondas", config.ondas);
+        config.tempoOndaMs = longo(p, "sbpo.tempoOndaMs", config.tempoOndaMs);
+        config.fracoes = fracoes(p.getProperty("sbpo.fracoes"), config.fracoes);
+        config.margemSegurancaMs = longo(p, "sbpo.margemSegurancaMs", config.margemSegurancaMs);
+        config.corteFaseMs = longo(p, "sbpo.corteFaseMs", config.corteFaseMs);
+        config.crescentePrimeiro = Boolean.parseBoolean(
+            p.getProperty("sbpo.crescentePrimeiro", String.valueOf(config.crescentePrimeiro)));
+        config.formulacao = WaveModel.Formulacao.valueOf(
+            p.getProperty("sbpo.formulacao", config.formulacao.name()).trim().toUpperCase(Locale.ROOT));
+        config.elite = inteiro(p, "sbpo.elite", config.elite);
+        config.previsaoL = inteiro(p, "sbpo.previsaoL", config.previsaoL);
+        config.kernel = inteiro(p, "sbpo.kernel", config.kernel);
+        config.componentes = Boolean.parseBoolean(
+            p.getProperty("sbpo.componentes", String.valueOf(config.componentes)));
+        config.renumerar = Boolean.parseBoolean(p.getProperty("sbpo.renumerar", String.valueOf(config.renumerar)));
+        config.portfolio = inteiro(p, "sbpo.portfolio", config.portfolio);
+        config.depuracao = p.getProperty("sbpo.depuracao", config.depuracao);
+        config.depuracaoMaxModelos = inteiro(p, "sbpo.depuracaoMaxModelos", config.depuracaoMaxModelos);
+        config.depuracaoIntervaloMs = longo(p, "sbpo.depuracaoIntervaloMs", config.depuracaoIntervaloMs);
+        return config;
+    }
+
+    // Grava as opções de estratégia no formato lido por sbpo.config
+    public void escreverEstrategia(Writer w) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("sbpo.fracoes", textoFracoes());
+        p.setProperty("sbpo.margemSegurancaMs", String.valueOf(margemSegurancaMs));
+        p.setProperty("sbpo.corteFaseMs", String.valueOf(corteFaseMs));
+        p.setProperty("sbpo.crescentePrimeiro", String.valueOf(crescentePrimeiro));
+        p.store(w, "Estratégia do solver (carregar com -Dsbpo.config=<arquivo>)");
+    }
+
+    public String estrategia() {
+        return "fracoes=" + textoFracoes() + " margem=" + margemSegurancaMs + "ms corte=" + corteFaseMs
+            + "ms " + (crescentePrimeiro ? "crescente primeiro" : "decrescente primeiro");
+    }
+
+    private String textoFracoes() {
+        return Arrays.stream(fracoes).mapToObj(f -> String.format(Locale.ROOT, "%.2f", f))
+            .collect(Collectors.joining(","));
+    }
+
+    private static int inteiro(Properties p, String nome, int padrao) {
+        String v = p.getProperty(nome);
+        return v == null ? padrao : Integer.parseInt(v.trim());
+    }
+
+    private static long longo(Properties p, String nome, long padrao) {
+        String v = p.getProperty(nome);
+        return v == null ? padrao : Long.parseLong(v.trim());
+    }
+
+    // "0.8,0.6,0.4,0.2"; vazio = nenhuma fase com CI reduzido
+    private static double[] fracoes(String v, double[] padrao) {
+        if (v == null) return padrao;
+        if (v.isBlank()) return new double[0];
+        return Arrays.stream(v.split(",")).mapToDouble(s -> Double.parseDouble(s.trim())).toArray();
+    }
+
+    public SolverConfig copia() {
+        SolverConfig c = new SolverConfig();
+        c.telemetria = telemetria;
+        c.tempoMaximoMs = tempoMaximoMs;
+        c.threads = threads;
+        c.lote = lote;
+        c.ondas = ondas;
+        c.tempoOndaMs = tempoOndaMs;
+        c.fracoes = fracoes.clone();
+        c.margemSegurancaMs = margemSegurancaMs;
+        c.corteFaseMs = corteFaseMs;
+        c.crescentePrimeiro = crescentePrimeiro;
+        c.formulacao = formulacao;
+        c.elite = elite;
+        c.previsaoL = previsaoL;
+        c.kernel = kernel;
+        c.componentes = componentes;
+        c.renumerar = renumerar;
+        c.portfolio = portfolio;
+        c.depuracao = depuracao;
+        c.depuracaoMaxModelos = depuracaoMaxModelos;
+        c.depuracaoIntervaloMs = depuracaoIntervaloMs;
+        return c;
+    }
+}
@@ -0,0 +1,155 @@
+package org.sbpo2025.challenge;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Modo servidor: mantém a JVM (classes carregadas, JIT aquecido), o pool das requisições e
+// o ForkJoinPool do pré-processamento entre chamadas. Escuta só em localhost.
+//
+//   POST /solve?tempoMs=30000   corpo: instância no formato de entrada
+//        -> 200 com a solução no formato de saída; cabeçalho X-Objetivo com a razão
+//        tempoMs precisa ser positivo e é limitado a sbpo.tempoMaximoMs do servidor
+//   GET  /saude                  -> 200 "ok"
+public class SolverServer {
+
+    private static final int BUFFER_INICIAL = 1 << 20;
+
+    private final SolverConfig config;
+    private final int paralelos;
+    private final int threadsPorSolve;
+    private final AtomicLong requisicoes = new AtomicLong();
+    private HttpServer servidor;
+    private ExecutorService pool;
+    private ForkJoinPool poolPreprocessamento;
+
+    // Buffer de leitura reaproveitado por thread do pool (cresce conforme as instâncias)
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[BUFFER_INICIAL]);
+
+    public SolverServer(SolverConfig config) {
+        this.config = config;
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        this.paralelos = config.lote > 0 ? config.lote : Math.max(1, nucleos / 4);
+        this.threadsPorSolve = config.threads > 0 ? config.threads : Math.max(1, nucleos / paralelos);
+    }
+
+    public void iniciar(int porta) throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 0);
+        pool = Executors.newFixedThreadPool(paralelos);
+        poolPreprocessamento = new ForkJoinPool(paralelos * threadsPorSolve);
+        servidor.setExecutor(pool);
+        servidor.createContext("/solve", this::resolver);
+        servidor.createContext("/saude", troca -> responder(troca, 200, "ok\n", Double.NaN));
+        servidor.start();
+        System.out.println("[SERVIDOR] Escutando em http://localhost:" + servidor.getAddress().getPort()
+            + " (" + paralelos + " solves simultâneos, " + threadsPorSolve + " threads cada)");
+    }
+
+    public void parar() {
+        servidor.stop(0);
+        pool.shutdown();
+        poolPreprocessamento.shutdown();
+    }
+
+    private void resolver(HttpExchange troca) throws IOException {
+        try {
+            if (!"POST".equals(troca.getRequestMethod())) {
+                responder(troca, 405, "Use POST com a instância no corpo\n", Double.NaN);
+                return;
+            }
+            StopWatch stopWatch = StopWatch.createStarted();
+            long id = requisicoes.incrementAndGet();
+
+            SolverConfig configRequisicao = config.copia();
+            configRequisicao.threads = threadsPorSolve;
+            String tempo = parametro(troca, "tempoMs");
+            if (tempo != null) {
+                long tempoMs = Long.parseLong(tempo);
+                if (tempoMs <= 0) throw new IllegalArgumentException("tempoMs deve ser positivo: " + tempo);
+                configRequisicao.tempoMaximoMs = Math.min(tempoMs, config.tempoMaximoMs);
+            }
+            if (!configRequisicao.telemetria.isEmpty()) {
+                configRequisicao.telemetria = configRequisicao.telemetria + "." + id + ".jsonl";
+            }
+
+            Challenge challenge = new Challenge();
+            int tamanho = lerCorpo(troca.getRequestBody());
+            challenge.readInput(buffers.get(), tamanho);
+
+            ChallengeSolver solver = new ChallengeSolver(
+                challenge.getOrders(), challenge.getAisles(), challenge.getnItems(),
+                challenge.getWaveSizeLB(), challenge.getWaveSizeUB(), configRequisicao);
+            solver.usarPoolPreprocessamento(poolPreprocessamento);
+            ChallengeSolution solucao = solver.solve(stopWatch);
+
+            StringWriter texto = new StringWriter();
+            try (BufferedWriter writer = new BufferedWriter(texto)) {
+                Challenge.writeSolution(solucao, writer);
+            }
+            double objetivo = solver.isSolutionFeasible(solucao) ? solver.computeObjectiveFunction(solucao) : 0.0;
+            System.out.println("[SERVIDOR] Requisição " + id + ": objetivo " + objetivo
+                + " em " + stopWatch.getTime(TimeUnit.MILLISECONDS) + "ms");
+            responder(troca, 200, texto.toString(), objetivo);
+        } catch (IllegalArgumentException e) {
+            responder(troca, 400, "Entrada inválida: " + e.getMessage() + "\n", Double.NaN);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            responder(troca, 500, "Erro: " + e + "\n", Double.NaN);
+        }
+    }
+
+    // Lê o corpo inteiro no buffer da thread, aumentando-o se necessário
+    private int lerCorpo(InputStream corpo) throws IOException {
+        byte[] buffer = buffers.get();
+        int tamanho = 0;
+        int lidos;
+        while ((lidos = corpo.read(buffer, tamanho, buffer.length - tamanho)) != -1) {
+            tamanho += lidos;
+            if (tamanho == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                buffers.set(buffer);
+            }
+        }
+        return tamanho;
+    }
+
+    private static String parametro(HttpExchange troca, String nome) {
+        String query = troca.getRequestURI().getRawQuery();
+        if (query == null) return null;
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0 && par.substring(0, igual).equals(nome)) {
+                return par.substring(igual + 1);
+            }
+        }
+        return null;
+    }
+
+    private static void responder(HttpExchange troca, int codigo, String corpo, double objetivo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        if (!Double.isNaN(objetivo)) {
+            troca.getResponseHeaders().set("X-Objetivo", String.format(Locale.ROOT, "%.6f", objetivo));
+        }
+        troca.sendResponseHeaders(codigo, bytes.length);
+        try (OutputStream out = troca.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Telemetria estruturada do solver: um registro JSON por linha, escrito por uma
+// thread própria. O caminho quente só faz um offer() na fila e nunca espera por I/O;
+// se a fila estiver cheia o evento é descartado e contado.
+public class SolverTelemetry implements AutoCloseable {
+
+    // Instância que ignora todos os eventos (telemetria desligada)
+    public static final SolverTelemetry DESATIVADA = new SolverTelemetry();
+
+    private static final int CAPACIDADE_FILA = 4096;
+    private static final Object[] FIM = new Object[0];
+
+    private final BlockingQueue<Object[]> fila;
+    private final Thread escritor;
+    private final AtomicLong descartados = new AtomicLong();
+    private final long inicioNs = System.nanoTime();
+
+    private SolverTelemetry() {
+        this.fila = null;
+        this.escritor = null;
+    }
+
+    private SolverTelemetry(BufferedWriter writer) {
+        this.fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+        this.escritor = new Thread(() -> escrever(writer), "sbpo-telemetria");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // Abre a telemetria no arquivo dado; caminho vazio (ou erro de abertura) desativa
+    public static SolverTelemetry abrir(String caminho) {
+        if (caminho == null || caminho.isEmpty()) {
+            return DESATIVADA;
+        }
+        try {
+            return new SolverTelemetry(new BufferedWriter(new FileWriter(caminho)));
+        } catch (IOException e) {
+            System.err.println("Telemetria desativada: erro abrindo " + caminho);
+            return DESATIVADA;
+        }
+    }
+
+    public boolean ativa() {
+        return fila != null;
+    }
+
+    // Registra um evento do tipo dado; campos são pares nome, valor
+    public void registrar(String tipo, Object... campos) {
+        if (fila == null) return;
+        Object[] evento = new Object[campos.length + 2];
+        evento[0] = tipo;
+        evento[1] = (System.nanoTime() - inicioNs) / 1_000_000L;
+        System.arraycopy(campos, 0, evento, 2, campos.length);
+        if (!fila.offer(evento)) {
+            descartados.incrementAndGet();
+        }
+    }
+
+    // Um registro por subproblema (L, CI) resolvido ou respondido pelo cache
+    public void subproblema(String fase, int L, int tamanhoCI, ChallengeSolver.OptimizationResult result,
+                            boolean doCache, double incumbente) {
+        if (fila == null) return;
+        registrar("subproblema",
+                "fase", fase,
+                "L", L,
+                "ci", tamanhoCI,
+                "linhas", result.getRows(),
+                "colunas", result.getCols(),
+                "nnz", result.getNnz(),
+                "construcao_ms", result.getBuildMs(),
+                "solve_ms", result.getSolveMs(),
+                "nos", result.getNodes(),
+                "status", result.getStatus().name(),
+                "cache", doCache,
+                "objetivo", result.getObjectiveValue(),
+                "limitante", result.getBound(),
+                "incumbente", incumbente);
+    }
+
+    @Override
+    public void close() {
+        if (fila == null) return;
+        try {
+            fila.put(FIM);
+            escritor.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (descartados.get() > 0) {
+            System.err.println("Telemetria: " + descartados.get() + " eventos descartados (fila cheia)");
+        }
+    }
+
+    private void escrever(BufferedWriter writer) {
+        List<Object[]> lote = new ArrayList<>();
+        StringBuilder sb = new StringBuilder(256);
+        try (writer) {
+            while (true) {
+                lote.add(fila.take());
+                fila.drainTo(lote);
+                for (Object[] evento : lote) {
+                    if (evento == FIM) return;
+                    sb.setLength(0);
+                    paraJson(evento, sb);
+                    writer.write(sb.toString());
+                    writer.newLine();
+                }
+                lote.clear();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Telemetria: erro de escrita - " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void paraJson(Object[] evento, StringBuilder sb) {
+        sb.append("{\"evento\":");
+        valor(evento[0], sb);
+        sb.append(",\"t_ms\":").append(evento[1]);
+        for (int k = 2; k + 1 < evento.length; k += 2) {
+            sb.append(",\"").append(evento[k]).append("\":");
+            valor(evento[k + 1], sb);
+        }
+        sb.append('}');
+    }
+
+    private static void valor(Object v, StringBuilder sb) {
+        if (v == null) {
+            sb.append("null");
+        } else if (v instanceof Double || v instanceof Float) {
+            double x = ((Number) v).doubleValue();
+            if (Double.isNaN(x) || Double.isInfinite(x)) sb.append("null");
+            else sb.append(x);
+        } else if (v instanceof Number || v instanceof Boolean) {
+            sb.append(v);
+        } else {
+            sb.append('"');
+            String s = v.toString();
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch == '"' || ch == '\\') sb.append('\\').append(ch);
+                else if (ch < 0x20) sb.append(String.format("\\u%04x", (int) ch));
+                else sb.append(ch);
+            }
+            sb.append('"');
+        }
+    }
+}
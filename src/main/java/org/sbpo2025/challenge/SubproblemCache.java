@@ -0,0 +1,136 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cache dos resultados dos subproblemas (L, CI) resolvidos pelo runModel.
+//
+// Um subproblema com L fixo e conjunto CI de corredores fixados em zero é uma
+// restrição de qualquer subproblema com o mesmo L e CI menor. Então um resultado
+// anterior (ótimo, infactível ou limitante provado) com CI_antigo contido em CI_novo
+// também limita o novo subproblema, e o solve pode ser pulado quando esse limite
+// já impede melhorar o CB atual.
+//
+// Na formulação RAZAO o número de corredores é uma faixa [L, Lmax]: um resultado de uma
+// faixa também limita qualquer faixa contida nela (com CI igual ou maior), então a
+// varredura de L de uma fase resolve o modelo da razão uma vez e os L seguintes caem no cache.
+public class SubproblemCache {
+
+    // Resultado guardado de um subproblema
+    private static class Entrada {
+        final int L, Lmax;        // Faixa do número de corredores (L = Lmax com L fixo)
+        final BitSet fixados;     // Corredores fixados em zero (CI)
+        final long assinatura;    // Impressão digital de 64 bits de CI (teste rápido de inclusão)
+        final int CB;             // CB usado na restrição de produção do solve
+        final ChallengeSolver.OptimizationResult.Status status;
+        final double objetivo;
+        final double limitante;
+
+        Entrada(int L, int Lmax, BitSet fixados, long assinatura, int CB, ChallengeSolver.OptimizationResult result) {
+            this.L = L;
+            this.Lmax = Lmax;
+            this.fixados = fixados;
+            this.assinatura = assinatura;
+            this.CB = CB;
+            this.status = result.getStatus();
+            this.objetivo = result.getObjectiveValue();
+            this.limitante = result.getBound();
+        }
+    }
+
+    private final int NA;
+    private final Map<Integer, List<Entrada>> porL = new HashMap<>();
+    private final List<Entrada> faixas = new ArrayList<>();
+    private int acertos = 0;
+    private int falhas = 0;
+
+    public SubproblemCache(int NA) {
+        this.NA = NA;
+    }
+
+    // Retorna um resultado equivalente ao solve de (L, CI, CB) se o cache já o responde, ou null
+    public ChallengeSolver.OptimizationResult consultar(int L, List<Integer> CI, int CB) {
+        return consultar(porL.getOrDefault(L, Collections.emptyList()), L, L, CI, CB);
+    }
+
+    // RAZAO: o mesmo para o número de corredores em [L, Lmax]
+    public ChallengeSolver.OptimizationResult consultarFaixa(int L, int Lmax, List<Integer> CI, int CB) {
+        return consultar(faixas, L, Lmax, CI, CB);
+    }
+
+    // Guarda o resultado de um solve de (L, CI, CB)
+    public void registrar(int L, List<Integer> CI, int CB, ChallengeSolver.OptimizationResult result) {
+        if (semProva(result)) return;
+        BitSet fixados = paraBitSet(CI);
+        porL.computeIfAbsent(L, k -> new ArrayList<>())
+                .add(new Entrada(L, L, fixados, assinatura(fixados), CB, result));
+    }
+
+    // RAZAO: guarda o resultado de um solve com o número de corredores em [L, Lmax]
+    public void registrarFaixa(int L, int Lmax, List<Integer> CI, int CB, ChallengeSolver.OptimizationResult result) {
+        if (semProva(result)) return;
+        BitSet fixados = paraBitSet(CI);
+        faixas.add(new Entrada(L, Lmax, fixados, assinatura(fixados), CB, result));
+    }
+
+    private ChallengeSolver.OptimizationResult consultar(List<Entrada> entradas, int L, int Lmax,
+                                                        List<Integer> CI, int CB) {
+        BitSet fixados = paraBitSet(CI);
+        long assinatura = assinatura(fixados);
+
+        for (Entrada e : entradas) {
+            // A faixa da entrada precisa conter a atual
+            if (e.L > L || e.Lmax < Lmax) continue;
+            // CI da entrada precisa estar contido no CI atual
+            if ((e.assinatura & ~assinatura) != 0) continue;
+            BitSet resto = (BitSet) e.fixados.clone();
+            resto.andNot(fixados);
+            if (!resto.isEmpty()) continue;
+
+            // Infactível com CB menor ou igual continua infactível
+            boolean infactivel = e.status == ChallengeSolver.OptimizationResult.Status.INFEASIBLE && e.CB <= CB;
+            // Limitante abaixo de CB + 1/Lmax: a restrição de produção (>= CB*L + 1) não pode ser
+            // atendida com nenhum número de corredores da faixa. Só vale se a entrada foi resolvida
+            // com CB menor ou igual (modelo no máximo tão restrito)
+            boolean semMelhora = e.status != ChallengeSolver.OptimizationResult.Status.INFEASIBLE
+                    && e.CB <= CB && e.limitante * Lmax < (double) CB * Lmax + 1 - 1e-6;
+            if (infactivel || semMelhora) {
+                acertos++;
+                return new ChallengeSolver.OptimizationResult(0.0, Collections.emptyList(), Collections.emptyList(),
+                        ChallengeSolver.OptimizationResult.Status.INFEASIBLE, Double.NEGATIVE_INFINITY);
+            }
+        }
+        falhas++;
+        return null;
+    }
+
+    // Nada provado, nada a guardar
+    private static boolean semProva(ChallengeSolver.OptimizationResult result) {
+        return result.getStatus() == ChallengeSolver.OptimizationResult.Status.UNKNOWN
+                && Double.isInfinite(result.getBound());
+    }
+
+    public int getAcertos() { return acertos; }
+    public int getFalhas() { return falhas; }
+
+    private BitSet paraBitSet(List<Integer> CI) {
+        BitSet bits = new BitSet(NA);
+        for (int a : CI) {
+            if (a >= 0 && a < NA) bits.set(a);
+        }
+        return bits;
+    }
+
+    // Cada corredor liga um bit (hash) da assinatura; A ⊆ B implica assinatura(A) ⊆ assinatura(B)
+    private static long assinatura(BitSet bits) {
+        long assinatura = 0L;
+        for (int a = bits.nextSetBit(0); a >= 0; a = bits.nextSetBit(a + 1)) {
+            assinatura |= 1L << ((a * 0x9E3779B9) >>> 26);
+        }
+        return assinatura;
+    }
+}
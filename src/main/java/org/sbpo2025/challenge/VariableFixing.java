@@ -0,0 +1,234 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Fixação de variáveis por L, acumulada ao longo da varredura e das fases de CI.
+//
+// As fixações de cada L são deduzidas no modelo mais frouxo que o solve usa (CI = aux),
+// então valem para todas as fases (CI maior só restringe) e para todo CB maior (o alvo
+// só sobe). Duas regras, todas fixando em zero:
+//
+//  - sondagem nas linhas de capacidade: p_o = 1 exige, para cada item, q_oi <= soma das
+//    L maiores capacidades dos corredores vivos; c_a = 1 exige todos os pedidos de fff_a
+//    (linha 3.4), então c_a cai se algum deles caiu ou se eles somam mais que UB.
+//    Repetido até não mudar nada.
+//  - custo reduzido da relaxação linear: com a relaxação ótima z e uma variável em zero
+//    com custo reduzido r, qualquer solução com ela em 1 vale no máximo z - |r|; se isso
+//    fica abaixo do alvo (CB*L + 1)/L, ela cai. A relaxação só é refeita quando o CB do
+//    L mudou desde a última vez.
+public class VariableFixing {
+
+    private static final double EPS = 1e-6;
+
+    // Fixações de um L
+    public static final class Fixacoes {
+        public final BitSet pedidos = new BitSet();
+        public final BitSet corredores = new BitSet();
+        public boolean inviavel;          // Nenhuma onda com L corredores supera o alvo
+        public int porCustoReduzido;
+        public int porSondagem;
+        int cbRelaxacao = -1;             // CB usado na última relaxação
+        MipBackend.Relaxacao relaxacao;   // Última relaxação (CI = aux: limita também as fases)
+        boolean sondado;                  // Sondagem já no ponto fixo para as fixações atuais
+
+        public int total() {
+            return pedidos.cardinality() + corredores.cardinality();
+        }
+
+        // Relaxação ótima mais recente de L (null se nenhuma terminou), reaproveitada pela KernelSearch
+        public MipBackend.Relaxacao relaxacaoOtima() {
+            return relaxacao != null && relaxacao.status == ChallengeSolver.OptimizationResult.Status.OPTIMAL
+                && relaxacao.custoReduzido != null ? relaxacao : null;
+        }
+    }
+
+    private final int NO, NA, NI, LB, UB;
+    private final int[] F;
+    private final List<List<List<Integer>>> A;
+    private final List<List<List<Integer>>> O;
+    private final List<List<Integer>> Ia;
+    private final List<List<Integer>> Io;
+    private final List<? extends Collection<Integer>> G;
+    private final List<? extends Collection<Integer>> fff;
+    private final List<Integer> CIBase;
+    private final List<Integer> ITEM_N;
+    private final Set<Integer> O_N;
+    private final BitSet invalidos = new BitSet();
+    private final BitSet pedidosExcluidos = new BitSet();
+
+    // Corredores de cada item em ordem decrescente de capacidade
+    private final int[][] corredoresItem;
+    private final int[][] capItem;
+
+    private final Map<Integer, Fixacoes> porL = new HashMap<>();
+
+    public VariableFixing(int NO, int NA, int NI, int LB, int UB, int[] F,
+                          List<List<List<Integer>>> A, List<List<List<Integer>>> O,
+                          List<List<Integer>> Ia, List<List<Integer>> Io,
+                          List<? extends Collection<Integer>> G, List<? extends Collection<Integer>> fff, Set<Integer> aux) {
+        this.NO = NO;
+        this.NA = NA;
+        this.NI = NI;
+        this.LB = LB;
+        this.UB = UB;
+        this.F = F;
+        this.A = A;
+        this.O = O;
+        this.Ia = Ia;
+        this.Io = Io;
+        this.G = G;
+        this.fff = fff;
+        this.CIBase = new ArrayList<>(aux);
+        this.ITEM_N = Preprocessing.calcularItemN(Ia, CIBase);
+        this.O_N = Preprocessing.calcularON(Io, ITEM_N);
+        for (int a : aux) invalidos.set(a);
+        for (int o : O_N) pedidosExcluidos.set(o);
+
+        corredoresItem = new int[NI][];
+        capItem = new int[NI][];
+        for (int i = 0; i < NI; i++) {
+            List<int[]> pares = new ArrayList<>();
+            for (int a : Ia.get(i)) {
+                if (invalidos.get(a)) continue;
+                int q = Preprocessing.buscarValor(A.get(a), i);
+                if (q > 0) pares.add(new int[]{a, q});
+            }
+            pares.sort(Comparator.comparingInt((int[] p) -> -p[1]));
+            corredoresItem[i] = new int[pares.size()];
+            capItem[i] = new int[pares.size()];
+            for (int k = 0; k < pares.size(); k++) {
+                corredoresItem[i][k] = pares.get(k)[0];
+                capItem[i][k] = pares.get(k)[1];
+            }
+        }
+    }
+
+    public Fixacoes fixacoes(int L) {
+        return porL.computeIfAbsent(L, k -> new Fixacoes());
+    }
+
+    // Atualiza as fixações de L para o CB atual; a relaxação roda no máximo por tempoLimite segundos
+    public Fixacoes atualizar(int L, int CB, double tempoLimite, int threads) {
+        Fixacoes f = fixacoes(L);
+        if (f.inviavel) return f;
+
+        if (!f.sondado) {
+            f.porSondagem += sondar(L, f);
+            f.sondado = true;
+        }
+        if (f.inviavel || CB <= f.cbRelaxacao) return f;
+        f.cbRelaxacao = CB;
+
+        WaveModel modelo = WaveModel.construir(CB, LB, UB, NO, NA, NI, L, F, A, Ia, O, Io,
+            CIBase, G, fff, ITEM_N, O_N);
+        aplicar(modelo, f);
+        MipBackend.Relaxacao r = MipBackend.padrao().relaxar(modelo, tempoLimite, threads);
+        f.relaxacao = r;
+        if (r.status == ChallengeSolver.OptimizationResult.Status.INFEASIBLE) {
+            f.inviavel = true;
+            return f;
+        }
+        if (r.status != ChallengeSolver.OptimizationResult.Status.OPTIMAL || r.custoReduzido == null) {
+            return f;
+        }
+
+        double alvo = ((double) CB * L + 1) / L;
+        int novas = 0;
+        for (int o = 0; o < NO; o++) {
+            if (modelo.ub[modelo.pedido(o)] == 0) continue;
+            if (r.x[modelo.pedido(o)] < EPS
+                    && r.objetivo - Math.abs(r.custoReduzido[modelo.pedido(o)]) < alvo - EPS) {
+                f.pedidos.set(o);
+                novas++;
+            }
+        }
+        for (int a = 0; a < NA; a++) {
+            if (modelo.ub[modelo.corredor(a)] == 0) continue;
+            if (r.x[modelo.corredor(a)] < EPS
+                    && r.objetivo - Math.abs(r.custoReduzido[modelo.corredor(a)]) < alvo - EPS) {
+                f.corredores.set(a);
+                novas++;
+            }
+        }
+        f.porCustoReduzido += novas;
+        if (novas > 0) f.porSondagem += sondar(L, f);
+        return f;
+    }
+
+    // Limite superior zero nas variáveis fixadas de L
+    public void aplicar(WaveModel modelo, Fixacoes f) {
+        for (int o = f.pedidos.nextSetBit(0); o >= 0; o = f.pedidos.nextSetBit(o + 1)) {
+            modelo.ub[modelo.pedido(o)] = 0;
+        }
+        for (int a = f.corredores.nextSetBit(0); a >= 0; a = f.corredores.nextSetBit(a + 1)) {
+            modelo.ub[modelo.corredor(a)] = 0;
+        }
+    }
+
+    // Sondagem nas linhas de capacidade até o ponto fixo; retorna quantas variáveis fixou
+    private int sondar(int L, Fixacoes f) {
+        int fixadas = 0;
+        int[] suprimento = new int[NI];
+        while (true) {
+            int vivos = 0;
+            for (int a = 0; a < NA; a++) {
+                if (!invalidos.get(a) && !f.corredores.get(a)) vivos++;
+            }
+            if (vivos < L) {
+                f.inviavel = true;
+                return fixadas;
+            }
+
+            // Maior oferta possível de cada item com L corredores vivos
+            for (int i = 0; i < NI; i++) {
+                int soma = 0;
+                int usados = 0;
+                for (int k = 0; k < corredoresItem[i].length && usados < L; k++) {
+                    if (f.corredores.get(corredoresItem[i][k])) continue;
+                    soma += capItem[i][k];
+                    usados++;
+                }
+                suprimento[i] = soma;
+            }
+
+            int rodada = 0;
+            for (int o = 0; o < NO; o++) {
+                if (f.pedidos.get(o) || pedidosExcluidos.get(o)) continue;
+                boolean cabe = F[o] <= UB;
+                for (List<Integer> par : O.get(o)) {
+                    if (!cabe) break;
+                    cabe = par.get(1) <= suprimento[par.get(0)];
+                }
+                if (!cabe) {
+                    f.pedidos.set(o);
+                    rodada++;
+                }
+            }
+            for (int a = 0; a < NA; a++) {
+                if (invalidos.get(a) || f.corredores.get(a)) continue;
+                long unidades = 0;
+                boolean vivo = true;
+                for (int o : fff.get(a)) {
+                    if (f.pedidos.get(o) || pedidosExcluidos.get(o)) {
+                        vivo = false;
+                        break;
+                    }
+                    unidades += F[o];
+                }
+                if (!vivo || unidades > UB) {
+                    f.corredores.set(a);
+                    rodada++;
+                }
+            }
+            if (rodada == 0) return fixadas;
+            fixadas += rodada;
+        }
+    }
+}
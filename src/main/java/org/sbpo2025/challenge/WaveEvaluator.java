@@ -0,0 +1,60 @@
+package org.sbpo2025.challenge;
+
+import java.util.Collection;
+import java.util.List;
+
+// Avaliação de ondas sem solver: oferta de um conjunto de corredores e empacotamento
+// guloso de pedidos nessa oferta. Usado pelas heurísticas que montam ondas viáveis.
+public final class WaveEvaluator {
+
+    private WaveEvaluator() {
+    }
+
+    // Oferta de cada item somada nos corredores dados (corredores removidos não contam)
+    public static int[] oferta(Collection<Integer> corredores, List<List<List<Integer>>> A, int NI) {
+        int[] oferta = new int[NI];
+        for (int a : corredores) {
+            adicionarCorredor(oferta, A.get(a), NI);
+        }
+        return oferta;
+    }
+
+    public static void adicionarCorredor(int[] oferta, List<List<Integer>> corredor, int NI) {
+        if (Preprocessing.isInvalidAisle(corredor)) return;
+        for (List<Integer> par : corredor) {
+            int item = par.get(0);
+            if (item < NI && par.get(1) > 0) oferta[item] += par.get(1);
+        }
+    }
+
+    // Pedido cabe na oferta restante?
+    public static boolean cabe(List<List<Integer>> pedido, int[] oferta) {
+        for (List<Integer> par : pedido) {
+            if (oferta[par.get(0)] < par.get(1)) return false;
+        }
+        return true;
+    }
+
+    public static void consumir(List<List<Integer>> pedido, int[] oferta, int sinal) {
+        for (List<Integer> par : pedido) {
+            oferta[par.get(0)] -= sinal * par.get(1);
+        }
+    }
+
+    // Percorre os candidatos na ordem dada e fica com cada pedido que cabe na oferta restante
+    // e em UB. Consome a oferta e acrescenta os escolhidos; retorna as unidades da onda.
+    public static int empacotar(List<Integer> candidatos, List<List<List<Integer>>> O, int[] F,
+                                int[] oferta, int UB, List<Integer> escolhidos) {
+        int unidades = 0;
+        for (int o : candidatos) {
+            if (unidades + F[o] > UB) continue;
+            List<List<Integer>> pedido = O.get(o);
+            if (cabe(pedido, oferta)) {
+                consumir(pedido, oferta, 1);
+                unidades += F[o];
+                escolhidos.add(o);
+            }
+        }
+        return unidades;
+    }
+}
@@ -0,0 +1,579 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Modelo do subproblema com L fixo, independente de solver.
+// Variáveis: p_o (pedidos) nos índices 0..NO-1 e c_a (corredores) em NO..NO+NA-1.
+// Linhas esparsas em formato CSR; o MipBackend traduz para o solver escolhido.
+public class WaveModel {
+
+    public static final char LE = 'L';
+    public static final char GE = 'G';
+    public static final char EQ = 'E';
+
+    // Variantes da formulação (sbpo.formulacao):
+    // AGREGADA    - ligação pedidos-corredores agregada (3.2 e 3.4) e L fixo
+    // DESAGREGADA - uma linha p_o (=, >=) c_a por pedido de G_a / fff_a, mais p_o <= soma dos
+    //               c_a que têm cada item do pedido; mesmo conjunto inteiro, relaxação mais forte
+    // RAZAO       - desagregada com o número de corredores como variável inteira y em [L, Lmax]
+    //               e objetivo sum F_o p_o - λ y, resolvido por Dinkelbach (resolverRazao)
+    public enum Formulacao { AGREGADA, DESAGREGADA, RAZAO }
+
+    final int NO;
+    final int NA;
+    final int L;
+
+    // Variáveis
+    int nVars;
+    double[] obj;
+    double[] lb;
+    double[] ub;
+    boolean[] inteira;
+    String[] nomes;
+
+    // Linhas (CSR)
+    int nLinhas;
+    int[] inicio = new int[16];
+    int[] indices = new int[64];
+    double[] coefs = new double[64];
+    char[] sentido = new char[16];
+    double[] rhs = new double[16];
+
+    long construcaoNs;
+
+    // Linhas de capacidade de item (3.6) descartadas por serem triviais, repetidas ou implicadas
+    int linhasCapacidadeRemovidas;
+
+    // Índice da variável y (número de corredores) na formulação RAZAO; -1 com L fixo
+    int indiceL = -1;
+
+    // Linha sum F_o p_o >= CB * L + 1 (3.5) com L fixo; o kernel search sobe o rhs a cada melhora
+    int linhaIncumbente = -1;
+
+    // Início do MIP: valores de p e c (as NO + NA primeiras variáveis) de uma onda conhecida; null sem início
+    double[] inicioMip;
+
+    public WaveModel(int NO, int NA, int L) {
+        this.NO = NO;
+        this.NA = NA;
+        this.L = L;
+        int n = NO + NA;
+        obj = new double[n];
+        lb = new double[n];
+        ub = new double[n];
+        inteira = new boolean[n];
+        nomes = new String[n];
+        for (int o = 0; o < NO; o++) adicionarVariavel("p_" + o, 0, 1, true, 0);
+        for (int a = 0; a < NA; a++) adicionarVariavel("c_" + a, 0, 1, true, 0);
+    }
+
+    // Cópia para exportação: objetivo, limites e rhs próprios (o que KernelSearch e resolverRazao
+    // alteram durante o solve); linhas, nomes e tipos são compartilhados, já que não mudam depois
+    // da construção
+    private WaveModel(WaveModel m) {
+        NO = m.NO;
+        NA = m.NA;
+        L = m.L;
+        nVars = m.nVars;
+        obj = Arrays.copyOf(m.obj, m.nVars);
+        lb = Arrays.copyOf(m.lb, m.nVars);
+        ub = Arrays.copyOf(m.ub, m.nVars);
+        inteira = m.inteira;
+        nomes = m.nomes;
+        nLinhas = m.nLinhas;
+        inicio = m.inicio;
+        indices = m.indices;
+        coefs = m.coefs;
+        sentido = m.sentido;
+        rhs = Arrays.copyOf(m.rhs, m.nLinhas);
+        construcaoNs = m.construcaoNs;
+        linhasCapacidadeRemovidas = m.linhasCapacidadeRemovidas;
+        indiceL = m.indiceL;
+        linhaIncumbente = m.linhaIncumbente;
+        inicioMip = m.inicioMip;
+    }
+
+    WaveModel copia() {
+        return new WaveModel(this);
+    }
+
+    public int pedido(int o) { return o; }
+    public int corredor(int a) { return NO + a; }
+
+    public int adicionarVariavel(String nome, double lb, double ub, boolean inteira, double obj) {
+        int j = nVars++;
+        if (j >= this.obj.length) {
+            int cap = Math.max(j + 1, this.obj.length * 2);
+            this.obj = Arrays.copyOf(this.obj, cap);
+            this.lb = Arrays.copyOf(this.lb, cap);
+            this.ub = Arrays.copyOf(this.ub, cap);
+            this.inteira = Arrays.copyOf(this.inteira, cap);
+            this.nomes = Arrays.copyOf(this.nomes, cap);
+        }
+        this.obj[j] = obj;
+        this.lb[j] = lb;
+        this.ub[j] = ub;
+        this.inteira[j] = inteira;
+        this.nomes[j] = nome;
+        return j;
+    }
+
+    // Adiciona a linha sum(coef[k] * x[idx[k]]) <sentido> rhs com os n primeiros termos
+    public void adicionarLinha(int[] idx, double[] coef, int n, char sentido, double rhs) {
+        if (nLinhas + 1 >= inicio.length) {
+            int cap = inicio.length * 2;
+            inicio = Arrays.copyOf(inicio, cap);
+            this.sentido = Arrays.copyOf(this.sentido, cap);
+            this.rhs = Arrays.copyOf(this.rhs, cap);
+        }
+        int base = inicio[nLinhas];
+        if (base + n > indices.length) {
+            int cap = Math.max(base + n, indices.length * 2);
+            indices = Arrays.copyOf(indices, cap);
+            coefs = Arrays.copyOf(coefs, cap);
+        }
+        System.arraycopy(idx, 0, indices, base, n);
+        System.arraycopy(coef, 0, coefs, base, n);
+        this.sentido[nLinhas] = sentido;
+        this.rhs[nLinhas] = rhs;
+        nLinhas++;
+        inicio[nLinhas] = base + n;
+    }
+
+    public int getNumVariaveis() { return nVars; }
+    public int getNumLinhas() { return nLinhas; }
+    public int getNnz() { return inicio[nLinhas]; }
+    public long getConstrucaoMs() { return construcaoNs / 1_000_000L; }
+    public int getLinhasCapacidadeRemovidas() { return linhasCapacidadeRemovidas; }
+
+    // Monta o resultado a partir dos valores das variáveis (null se não há solução)
+    public ChallengeSolver.OptimizationResult resultado(double[] x, double objetivo,
+                                                       ChallengeSolver.OptimizationResult.Status status,
+                                                       double limitante) {
+        List<Integer> selectedOrders = new ArrayList<>();
+        List<Integer> selectedAisles = new ArrayList<>();
+        if (x != null) {
+            for (int o = 0; o < NO; o++) {
+                if (x[pedido(o)] > 0.9) selectedOrders.add(o);
+            }
+            for (int a = 0; a < NA; a++) {
+                if (x[corredor(a)] > 0.9) selectedAisles.add(a);
+            }
+        }
+        return new ChallengeSolver.OptimizationResult(objetivo, selectedOrders, selectedAisles, status, limitante);
+    }
+
+    // Dinkelbach no modelo RAZAO: resolve com λ = CB do modelo e repete com λ = razão da onda
+    // achada enquanto ela melhora. Com o último MIP ótimo, a razão da melhor onda é ótima no
+    // intervalo de L; senão o limitante é λ + (limitante paramétrico) / L mínimo.
+    public ChallengeSolver.OptimizationResult resolverRazao(MipBackend backend, double timeLimit, int threads) {
+        long fimNs = System.nanoTime() + (long) (timeLimit * 1e9);
+        double lambdaInicial = -obj[indiceL];
+        double lambda = lambdaInicial;
+        double lambdaUltimo = lambda;      // λ do último MIP resolvido
+        boolean convergiu = false;         // Último MIP ótimo sem razão acima de λ
+        ChallengeSolver.OptimizationResult melhor = null;
+        ChallengeSolver.OptimizationResult ultimo = null;
+        long nos = 0;
+        long construcaoMs = 0, solveMs = 0;
+        try {
+            while (true) {
+                double restante = (fimNs - System.nanoTime()) / 1e9;
+                if (restante <= 0) break;
+                obj[indiceL] = -lambda;
+                lambdaUltimo = lambda;
+                ultimo = backend.resolver(this, restante, threads);
+                nos += ultimo.getNodes();
+                construcaoMs += ultimo.getBuildMs();
+                solveMs += ultimo.getSolveMs();
+                if (ultimo.getSelectedAisles().isEmpty()) break;
+
+                double unidades = 0;
+                for (int o : ultimo.getSelectedOrders()) unidades += obj[pedido(o)];
+                double razao = unidades / ultimo.getSelectedAisles().size();
+                if (melhor == null || razao > melhor.getObjectiveValue()) {
+                    melhor = new ChallengeSolver.OptimizationResult(razao, ultimo.getSelectedOrders(),
+                        ultimo.getSelectedAisles());
+                }
+                if (razao <= lambda + 1e-9) {
+                    convergiu = ultimo.getStatus() == ChallengeSolver.OptimizationResult.Status.OPTIMAL;
+                    break;
+                }
+                lambda = razao;
+            }
+        } finally {
+            obj[indiceL] = -lambdaInicial;
+        }
+
+        // Ótimo só quando o último MIP provou que nenhuma onda passa de λ; senão o limitante
+        // paramétrico do último MIP: sum F_o p_o - λ y <= B com y >= L dá razão <= λ + B / L
+        ChallengeSolver.OptimizationResult.Status status;
+        double limitante;
+        if (ultimo == null) {
+            status = ChallengeSolver.OptimizationResult.Status.UNKNOWN;
+            limitante = Double.POSITIVE_INFINITY;
+        } else if (convergiu) {
+            status = ChallengeSolver.OptimizationResult.Status.OPTIMAL;
+            limitante = melhor.getObjectiveValue();
+        } else if (melhor == null) {
+            status = ultimo.getStatus();
+            limitante = status == ChallengeSolver.OptimizationResult.Status.INFEASIBLE
+                ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        } else {
+            status = ChallengeSolver.OptimizationResult.Status.FEASIBLE;
+            double b = ultimo.getBound();
+            limitante = Double.isFinite(b)
+                ? lambdaUltimo + Math.max(0.0, b) / Math.max(1.0, lb[indiceL])
+                : Double.POSITIVE_INFINITY;
+        }
+        List<Integer> pedidos = melhor != null ? melhor.getSelectedOrders() : new ArrayList<>();
+        List<Integer> corredores = melhor != null ? melhor.getSelectedAisles() : new ArrayList<>();
+        double objetivo = melhor != null ? melhor.getObjectiveValue() : 0.0;
+        return new ChallengeSolver.OptimizationResult(objetivo, pedidos, corredores, status, limitante)
+            .withModelStats(getNumLinhas(), nVars, getNnz(), construcaoMs, solveMs)
+            .withNodes(nos);
+    }
+
+    // Ponto com p_o = 1 nos pedidos e c_a = 1 nos corredores dados (demais variáveis em zero)
+    public double[] ponto(int[] pedidos, int[] corredores) {
+        double[] x = new double[nVars];
+        for (int o : pedidos) x[pedido(o)] = 1;
+        for (int a : corredores) x[corredor(a)] = 1;
+        return x;
+    }
+
+    // Dá a onda como início do MIP; as demais variáveis ficam para o solver completar, e a onda
+    // pode violar a linha do incumbente (o solver tenta repará-la)
+    public void definirInicio(Collection<Integer> pedidos, Collection<Integer> corredores) {
+        double[] x = ponto(pedidos.stream().mapToInt(Integer::intValue).toArray(),
+            corredores.stream().mapToInt(Integer::intValue).toArray());
+        inicioMip = Arrays.copyOf(x, NO + NA);
+    }
+
+    // x respeita limites e todas as linhas (tolerância 1e-6)?
+    public boolean viavel(double[] x) {
+        for (int j = 0; j < nVars; j++) {
+            if (x[j] < lb[j] - 1e-6 || x[j] > ub[j] + 1e-6) return false;
+        }
+        for (int r = 0; r < nLinhas; r++) {
+            double soma = 0;
+            for (int k = inicio[r]; k < inicio[r + 1]; k++) soma += coefs[k] * x[indices[k]];
+            if (sentido[r] != GE && soma > rhs[r] + 1e-6) return false;
+            if (sentido[r] != LE && soma < rhs[r] - 1e-6) return false;
+        }
+        return true;
+    }
+
+    // Escreve o modelo no formato LP (o mesmo que o exportModel do CPLEX lê)
+    public void escreverLP(Writer w) throws IOException {
+        StringBuilder sb = new StringBuilder(256);
+        w.write("\\ L = " + L + "\nMaximize\n obj:");
+        for (int j = 0; j < nVars; j++) {
+            if (obj[j] != 0) termo(sb, obj[j], nomes[j]);
+            if (sb.length() > 200) { w.write(sb.toString()); sb.setLength(0); w.write("\n"); }
+        }
+        w.write(sb.toString());
+        w.write("\nSubject To\n");
+        for (int r = 0; r < nLinhas; r++) {
+            sb.setLength(0);
+            sb.append(" r").append(r).append(':');
+            for (int k = inicio[r]; k < inicio[r + 1]; k++) {
+                termo(sb, coefs[k], nomes[indices[k]]);
+                if (sb.length() > 200) { w.write(sb.toString()); sb.setLength(0); sb.append('\n'); }
+            }
+            sb.append(sentido[r] == LE ? " <= " : sentido[r] == GE ? " >= " : " = ").append(numero(rhs[r])).append('\n');
+            w.write(sb.toString());
+        }
+        w.write("Bounds\n");
+        for (int j = 0; j < nVars; j++) {
+            w.write(" " + numero(lb[j]) + " <= " + nomes[j] + " <= " + numero(ub[j]) + "\n");
+        }
+        w.write("Generals\n");
+        for (int j = 0; j < nVars; j++) {
+            if (inteira[j]) w.write(" " + nomes[j] + "\n");
+        }
+        w.write("End\n");
+    }
+
+    // Compara a linha de capacidade (idx, coef) com as já adicionadas de mesmo suporte. Retorna
+    // true se ela foi absorvida: implicada por uma delas ou gravada no lugar da que ela implica.
+    private boolean reduzirCapacidade(Suportes suportes, int[] idx, double[] coef, int n) {
+        long h = n;
+        for (int k = 0; k < n; k++) h = h * 0x9E3779B97F4A7C15L + idx[k];
+        for (int s = suportes.primeira(h); s >= 0; s = suportes.proxima(s)) {
+            int r = suportes.linha[s];
+            int base = inicio[r];
+            if (inicio[r + 1] - base != n) continue;
+            boolean mesmoSuporte = true;
+            for (int k = 0; k < n && mesmoSuporte; k++) mesmoSuporte = indices[base + k] == idx[k];
+            if (!mesmoSuporte) continue;
+            if (implica(coefs, base, coef, 0, n)) {
+                linhasCapacidadeRemovidas++;
+                return true;
+            }
+            if (implica(coef, 0, coefs, base, n)) {
+                System.arraycopy(coef, 0, coefs, base, n);
+                linhasCapacidadeRemovidas++;
+                return true;
+            }
+        }
+        suportes.adicionar(h, nLinhas);
+        return false;
+    }
+
+    // Tabela de hash aberta (suporte -> linhas com esse hash), sem objetos por entrada
+    private static final class Suportes {
+        final long[] chave;
+        final int[] cabeca;      // Por posição da tabela: última entrada com a chave, -1 vazia
+        int[] linha = new int[16];
+        int[] seguinte = new int[16];
+        int n;
+        final int mascara;
+
+        Suportes(int esperadas) {
+            int cap = Integer.highestOneBit(Math.max(2, esperadas) * 2 - 1) * 2;
+            chave = new long[cap];
+            cabeca = new int[cap];
+            Arrays.fill(cabeca, -1);
+            mascara = cap - 1;
+        }
+
+        private int posicao(long h) {
+            int p = (int) (h ^ (h >>> 32)) & mascara;
+            while (cabeca[p] >= 0 && chave[p] != h) p = (p + 1) & mascara;
+            return p;
+        }
+
+        int primeira(long h) {
+            return cabeca[posicao(h)];
+        }
+
+        int proxima(int s) {
+            return seguinte[s];
+        }
+
+        void adicionar(long h, int r) {
+            if (n == linha.length) {
+                linha = Arrays.copyOf(linha, n * 2);
+                seguinte = Arrays.copyOf(seguinte, n * 2);
+            }
+            int p = posicao(h);
+            chave[p] = h;
+            linha[n] = r;
+            seguinte[n] = cabeca[p];
+            cabeca[p] = n++;
+        }
+    }
+
+    // Com x >= 0, a linha a (sum a_k x_k <= 0) implica a linha b de mesmo suporte se existe α > 0
+    // com b_k <= α a_k em todo k: max b/a nos a_k > 0 (pedidos) <= min b/a nos a_k < 0 (corredores)
+    private static boolean implica(double[] a, int ia, double[] b, int ib, int n) {
+        double maxPositivos = 0;
+        double minNegativos = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < n; k++) {
+            double ak = a[ia + k], bk = b[ib + k];
+            if (ak == 0) {
+                if (bk > 0) return false;
+            } else if (ak > 0) {
+                maxPositivos = Math.max(maxPositivos, bk / ak);
+            } else {
+                minNegativos = Math.min(minNegativos, bk / ak);
+            }
+        }
+        return minNegativos > 0 && maxPositivos <= minNegativos * (1 + 1e-12);
+    }
+
+    // p_o (sentido) c_a
+    private static void ligar(WaveModel m, int o, int a, char sentido) {
+        m.adicionarLinha(new int[]{m.pedido(o), m.corredor(a)}, new double[]{1.0, -1.0}, 2, sentido, 0);
+    }
+
+    private static void termo(StringBuilder sb, double coef, String nome) {
+        sb.append(coef < 0 ? " - " : " + ");
+        if (Math.abs(coef) != 1) sb.append(numero(Math.abs(coef))).append(' ');
+        sb.append(nome);
+    }
+
+    private static String numero(double v) {
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? String.valueOf((long) v) : String.valueOf(v);
+    }
+
+    // Modelo do runModel: maximizar sum(F_o p_o)/L com exatamente L corredores
+    public static WaveModel construir(
+        double CB, int LB, int UB,
+        int NO, int NA, int NI, int L,
+        int[] F,
+        List<List<List<Integer>>> A,
+        List<List<Integer>> Ia,
+        List<List<List<Integer>>> O,
+        List<List<Integer>> Io,
+        List<Integer> CI,
+        List<? extends Collection<Integer>> G,
+        List<? extends Collection<Integer>> fff,
+        List<Integer> ITEM_N,
+        Set<Integer> O_N) {
+        return construir(CB, LB, UB, NO, NA, NI, L, F, A, Ia, O, Io, CI, G, fff, ITEM_N, O_N,
+            Formulacao.AGREGADA, L);
+    }
+
+    // Modelo na formulação dada. Lmax só vale para RAZAO.
+    public static WaveModel construir(
+        double CB, int LB, int UB,
+        int NO, int NA, int NI, int L,
+        int[] F,
+        List<List<List<Integer>>> A,
+        List<List<Integer>> Ia,
+        List<List<List<Integer>>> O,
+        List<List<Integer>> Io,
+        List<Integer> CI,
+        List<? extends Collection<Integer>> G,
+        List<? extends Collection<Integer>> fff,
+        List<Integer> ITEM_N,
+        Set<Integer> O_N,
+        Formulacao formulacao, int Lmax) {
+
+        long inicioNs = System.nanoTime();
+        WaveModel m = new WaveModel(NO, NA, L);
+        int[] idx = new int[NO + NA + 1];
+        double[] coef = new double[NO + NA + 1];
+        boolean desagregada = formulacao != Formulacao.AGREGADA;
+        boolean razao = formulacao == Formulacao.RAZAO;
+
+        // 2. Função objetivo (RAZAO: sum F_o p_o - λ y, com λ = CB)
+        for (int o = 0; o < NO; o++) {
+            m.obj[m.pedido(o)] = razao ? F[o] : (double) F[o] / L;
+        }
+        if (razao) {
+            m.indiceL = m.adicionarVariavel("y", L, Math.max(L, Lmax), true, -CB);
+        }
+
+        // 3.1 Corredores fixos
+        for (int a : CI) {
+            if (a < NA) m.ub[m.corredor(a)] = 0;
+        }
+
+        // 3.2 Relação pedidos-corredores: sum p_o = |G_a| c_a (desagregada: p_o = c_a)
+        for (int i = 0; i < G.size(); i++) {
+            Collection<Integer> group = G.get(i);
+            if (desagregada && i < NA) {
+                for (int o : group) ligar(m, o, i, EQ);
+            } else if (!group.isEmpty() && i < NA) {
+                int n = 0;
+                for (int o : group) {
+                    idx[n] = m.pedido(o);
+                    coef[n++] = 1.0;
+                }
+                idx[n] = m.corredor(i);
+                coef[n++] = -group.size();
+                m.adicionarLinha(idx, coef, n, EQ, 0);
+            }
+        }
+
+        // 3.3 Pedidos excluídos
+        for (int o : O_N) {
+            if (o < NO) m.ub[m.pedido(o)] = 0;
+        }
+
+        // 3.4 Restrição fff: sum p_o >= |fff_a| c_a (desagregada: p_o >= c_a)
+        for (int i = 0; i < fff.size(); i++) {
+            Collection<Integer> group = fff.get(i);
+            if (desagregada) {
+                for (int o : group) ligar(m, o, i, GE);
+            } else if (!group.isEmpty()) {
+                int n = 0;
+                for (int o : group) {
+                    idx[n] = m.pedido(o);
+                    coef[n++] = 1.0;
+                }
+                idx[n] = m.corredor(i);
+                coef[n++] = -group.size();
+                m.adicionarLinha(idx, coef, n, GE, 0);
+            }
+        }
+
+        // 3.5 Limites de produção
+        for (int o = 0; o < NO; o++) {
+            idx[o] = m.pedido(o);
+            coef[o] = F[o];
+        }
+        if (razao) {
+            // sum F_o p_o - CB y >= 1
+            idx[NO] = m.indiceL;
+            coef[NO] = -CB;
+            m.adicionarLinha(idx, coef, NO + 1, GE, 1);
+        } else {
+            m.linhaIncumbente = m.nLinhas;
+            m.adicionarLinha(idx, coef, NO, GE, CB * L + 1);
+        }
+        m.adicionarLinha(idx, coef, NO, GE, LB);
+        m.adicionarLinha(idx, coef, NO, LE, UB);
+
+        // 3.6 Capacidade dos itens: sum(qtd_pedido * p_o) <= sum(cap_corredor * c_a)
+        // Itens com o mesmo suporte (pedidos e corredores) geram linhas comparáveis: uma linha
+        // implicada por outra já adicionada é descartada, e uma que implica a já adicionada
+        // toma o lugar dela. Linhas sem pedidos são sempre atendidas e também ficam de fora.
+        Set<Integer> itensExcluidos = new HashSet<>(ITEM_N);
+        Suportes suportes = new Suportes(NI);
+        for (int i = 0; i < NI; i++) {
+            if (!itensExcluidos.contains(i)) {
+                int n = 0;
+                for (int o : Io.get(i)) {  // Pedidos que usam o item i
+                    idx[n] = m.pedido(o);
+                    coef[n++] = Preprocessing.buscarValor(O.get(o), i);
+                }
+                if (n == 0) {
+                    m.linhasCapacidadeRemovidas++;
+                    continue;
+                }
+                for (int a : Ia.get(i)) {  // Corredores que contêm o item i
+                    idx[n] = m.corredor(a);
+                    coef[n++] = -Preprocessing.buscarValor(A.get(a), i);
+                }
+                if (!m.reduzirCapacidade(suportes, idx, coef, n)) {
+                    m.adicionarLinha(idx, coef, n, LE, 0);
+                }
+            }
+        }
+
+        // 3.6b (desagregada) Cada item de um pedido escolhido precisa de um corredor que o tenha:
+        // p_o <= sum c_a, a em Ia(i)
+        if (desagregada) {
+            for (int o = 0; o < NO; o++) {
+                if (O_N.contains(o)) continue;
+                for (List<Integer> par : O.get(o)) {
+                    int n = 0;
+                    idx[n] = m.pedido(o);
+                    coef[n++] = 1.0;
+                    for (int a : Ia.get(par.get(0))) {
+                        idx[n] = m.corredor(a);
+                        coef[n++] = -1.0;
+                    }
+                    m.adicionarLinha(idx, coef, n, LE, 0);
+                }
+            }
+        }
+
+        // 3.7 Número de corredores (RAZAO: sum c_a = y)
+        for (int a = 0; a < NA; a++) {
+            idx[a] = m.corredor(a);
+            coef[a] = 1.0;
+        }
+        if (razao) {
+            idx[NA] = m.indiceL;
+            coef[NA] = -1.0;
+            m.adicionarLinha(idx, coef, NA + 1, EQ, 0);
+        } else {
+            m.adicionarLinha(idx, coef, NA, EQ, L);
+        }
+
+        m.construcaoNs = System.nanoTime() - inicioNs;
+        return m;
+    }
+}